@@ -32,6 +32,8 @@
 
 package org.scijava;
 
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URL;
@@ -45,13 +47,17 @@ import org.scijava.event.ContextDisposingEvent;
 import org.scijava.event.EventHandler;
 import org.scijava.event.EventService;
 import org.scijava.log.LogService;
+import org.scijava.plugin.Injector;
 import org.scijava.plugin.Parameter;
+import org.scijava.plugin.ParameterField;
 import org.scijava.plugin.PluginIndex;
 import org.scijava.service.Service;
 import org.scijava.service.ServiceHelper;
 import org.scijava.service.ServiceIndex;
 import org.scijava.util.ClassUtils;
 import org.scijava.util.Query;
+import org.scijava.util.StartupTrace;
+import org.scijava.util.StartupTrace.Span;
 import org.scijava.util.Types;
 
 /**
@@ -75,6 +81,33 @@ public class Context implements Disposable {
 	 */
 	public static final String STRICT_PROPERTY = "scijava.context.strict";
 
+	/**
+	 * System property indicating whether the context should initialize
+	 * independent services concurrently. If this property is set to "true" then
+	 * services are loaded in parallel, as described at
+	 * {@link ServiceHelper#setParallel(boolean)}. Otherwise, they are loaded one
+	 * at a time.
+	 */
+	public static final String PARALLEL_PROPERTY = "scijava.context.parallel";
+
+	/**
+	 * System property indicating whether the context should create services on
+	 * demand. If this property is set to "true" then each service is only
+	 * created when first requested, as described at
+	 * {@link ServiceHelper#setLazy(boolean)}. Otherwise, all services are
+	 * created along with the context.
+	 */
+	public static final String LAZY_PROPERTY = "scijava.context.lazy";
+
+	/**
+	 * System property naming a file to which the context should write a trace
+	 * of its creation. If this property is set, then the timings of plugin
+	 * discovery, index parsing, class loading and service creation are recorded
+	 * as a {@link StartupTrace}, which is written to the given file as JSON in
+	 * the Chrome trace event format once the context is created.
+	 */
+	public static final String TRACE_PROPERTY = "scijava.context.trace";
+
 	// -- Fields --
 
 	/** Index of the application context's services. */
@@ -100,6 +133,12 @@ public class Context implements Disposable {
 	 */
 	private boolean strict;
 
+	/**
+	 * Helper which creates services on demand, or null if all services were
+	 * created along with the context.
+	 */
+	private ServiceHelper lazyServiceHelper;
+
 	/**
 	 * Creates a new SciJava application context with all available services.
 	 *
@@ -271,14 +310,24 @@ public class Context implements Disposable {
 		serviceIndex = new ServiceIndex();
 
 		this.pluginIndex = pluginIndex == null ? new PluginIndex() : pluginIndex;
-		this.pluginIndex.discover();
 
 		setStrict(strict);
 
-		if (!serviceClasses.isEmpty()) {
-			final ServiceHelper serviceHelper = //
-				new ServiceHelper(this, serviceClasses, strict);
-			serviceHelper.loadServices();
+		final StartupTrace trace = startTrace();
+		try (final Span span = StartupTrace.trace("context", "Context")) {
+			this.pluginIndex.discover();
+
+			if (!serviceClasses.isEmpty()) {
+				final ServiceHelper serviceHelper = //
+					new ServiceHelper(this, serviceClasses, strict);
+				serviceHelper.setParallel(parallel());
+				serviceHelper.setLazy(lazy());
+				serviceHelper.loadServices();
+				if (serviceHelper.isLazy()) lazyServiceHelper = serviceHelper;
+			}
+		}
+		finally {
+			if (trace != null) finishTrace(trace);
 		}
 	}
 
@@ -300,6 +349,28 @@ public class Context implements Disposable {
 		this.strict = strict;
 	}
 
+	/**
+	 * Gets whether this context creates its services on demand.
+	 *
+	 * @see #LAZY_PROPERTY
+	 */
+	public boolean isLazy() {
+		return lazyServiceHelper != null;
+	}
+
+	/**
+	 * Gets the classes of the services which this context has not created yet,
+	 * because they were not needed so far. Services which have been created are
+	 * available from the {@link #getServiceIndex() service index}.
+	 *
+	 * @return the pending service classes; always empty unless the context is
+	 *         {@link #isLazy() lazy}
+	 */
+	public List<Class<? extends Service>> getPendingServices() {
+		if (lazyServiceHelper == null) return Collections.emptyList();
+		return lazyServiceHelper.getPendingServices();
+	}
+
 	/**
 	 * Gets the service of the given class.
 	 *
@@ -338,6 +409,7 @@ public class Context implements Disposable {
 	 * service.
 	 */
 	public <S extends Service> S getService(final Class<S> c) {
+		if (lazyServiceHelper != null) return lazyServiceHelper.getService(c);
 		return serviceIndex.getService(c);
 	}
 
@@ -373,16 +445,18 @@ public class Context implements Disposable {
 	 *           which is not available from this context.
 	 */
 	public void inject(final Object o) {
-		// Ensure parameter fields and event handler methods are cached for this
-		// object.
+		final Injector<?> injector = Injector.of(o.getClass());
+
+		// Ensure parameter fields (unless known to a generated injector) and event
+		// handler methods are cached for this object.
 		final Query query = new Query();
-		query.put(Parameter.class, Field.class);
+		if (!injector.isGenerated()) query.put(Parameter.class, Field.class);
 		query.put(EventHandler.class, Method.class);
 		ClassUtils.cacheAnnotatedObjects(o.getClass(), query);
 
 		// iterate over all @Parameter annotated fields
-		final List<Field> fields = getParameterFields(o);
-		for (final Field f : fields) {
+		final List<ParameterField> fields = getParameterFields(injector);
+		for (final ParameterField f : fields) {
 			inject(f, o);
 		}
 
@@ -414,9 +488,19 @@ public class Context implements Disposable {
 
 	@Override
 	public void dispose() {
-		final EventService eventService = getService(EventService.class);
+		// NB: Avoid creating services on demand merely to dispose them.
+		final EventService eventService = serviceIndex.getService(
+			EventService.class);
 		if (eventService != null) eventService.publish(new ContextDisposingEvent());
 
+		if (lazyServiceHelper != null) {
+			final LogService log = serviceIndex.getService(LogService.class);
+			if (log != null && log.isDebug()) {
+				log.debug("Created " + serviceIndex.size() + " services on demand; " +
+					"never needed: " + lazyServiceHelper.getPendingServices());
+			}
+		}
+
 		// NB: Dispose services in reverse order.
 		// This may or may not actually be necessary, but seems safer, since
 		// dependent services will be disposed *before* their dependencies.
@@ -442,9 +526,9 @@ public class Context implements Disposable {
 
 	// -- Helper methods --
 
-	private List<Field> getParameterFields(final Object o) {
+	private List<ParameterField> getParameterFields(final Injector<?> injector) {
 		try {
-			return ClassUtils.getAnnotatedFields(o.getClass(), Parameter.class);
+			return injector.getParameterFields();
 		}
 		catch (final Throwable t) {
 			handleSafely(t);
@@ -452,13 +536,11 @@ public class Context implements Disposable {
 		return Collections.emptyList();
 	}
 
-	private void inject(final Field f, final Object o) {
+	private void inject(final ParameterField f, final Object o) {
 		try {
-			f.setAccessible(true); // expose private fields
-
 			final Class<?> type = f.getType();
 			if (Service.class.isAssignableFrom(type)) {
-				final Service existingService = (Service) ClassUtils.getValue(f, o);
+				final Service existingService = (Service) f.get(o);
 				if (strict && existingService != null) {
 					throw new IllegalStateException("Context already injected: " + //
 						f.getDeclaringClass().getName() + "#" + f.getName());
@@ -469,7 +551,7 @@ public class Context implements Disposable {
 				final Class<? extends Service> serviceType =
 					(Class<? extends Service>) type;
 				final Service service = getService(serviceType);
-				if (service == null && f.getAnnotation(Parameter.class).required()) {
+				if (service == null && f.isRequired()) {
 					throw new IllegalArgumentException(//
 						createMissingServiceMessage(serviceType));
 				}
@@ -478,10 +560,10 @@ public class Context implements Disposable {
 					throw new IllegalStateException("Mismatched context: " + //
 						f.getDeclaringClass().getName() + "#" + f.getName());
 				}
-				ClassUtils.setValue(f, o, service);
+				f.set(o, service);
 			}
 			else if (Context.class.isAssignableFrom(type) && type.isInstance(this)) {
-				final Context existingContext = (Context) ClassUtils.getValue(f, o);
+				final Context existingContext = (Context) f.get(o);
 				if (strict && existingContext != null) {
 					throw new IllegalStateException("Context already injected: " + //
 						f.getDeclaringClass().getName() + "#" + f.getName());
@@ -493,11 +575,11 @@ public class Context implements Disposable {
 				}
 
 				// populate Context parameter
-				ClassUtils.setValue(f, o, this);
+				f.set(o, this);
 			}
 			else if (!type.isPrimitive()) {
 				// the parameter is some other object; if it is non-null, we recurse
-				final Object value = ClassUtils.getValue(f, o);
+				final Object value = f.get(o);
 				if (value != null) inject(value);
 			}
 		}
@@ -508,6 +590,13 @@ public class Context implements Disposable {
 
 	private void subscribeToEvents(final Object o) {
 		try {
+			if (lazyServiceHelper != null && //
+				ClassUtils.getAnnotatedMethods(o.getClass(), EventHandler.class)
+					.isEmpty())
+			{
+				// NB: Do not create the event service if it is not needed.
+				return;
+			}
 			final EventService eventService = getService(EventService.class);
 			if (eventService != null) eventService.subscribe(o);
 		}
@@ -570,4 +659,42 @@ public class Context implements Disposable {
 		return !"false".equals(System.getProperty(STRICT_PROPERTY));
 	}
 
+	private static boolean parallel() {
+		return "true".equals(System.getProperty(PARALLEL_PROPERTY));
+	}
+
+	/**
+	 * Activates a new startup trace if one was requested via
+	 * {@link #TRACE_PROPERTY}, unless another one is already active on this
+	 * thread (e.g., because this context is being created by another one).
+	 *
+	 * @return the new trace, or null if none
+	 */
+	private static StartupTrace startTrace() {
+		if (System.getProperty(TRACE_PROPERTY) == null) return null;
+		if (StartupTrace.getActive() != null) return null;
+		final StartupTrace trace = new StartupTrace();
+		StartupTrace.setActive(trace);
+		return trace;
+	}
+
+	/** Deactivates the given startup trace, and writes it out. */
+	private void finishTrace(final StartupTrace trace) {
+		StartupTrace.setActive(null);
+		final String path = System.getProperty(TRACE_PROPERTY);
+		if (path == null) return;
+		try {
+			trace.writeJSON(new File(path));
+		}
+		catch (final IOException exc) {
+			final LogService log = serviceIndex.getService(LogService.class);
+			if (log != null) log.error("Cannot write startup trace: " + path, exc);
+			else exc.printStackTrace();
+		}
+	}
+
+	private static boolean lazy() {
+		return "true".equals(System.getProperty(LAZY_PROPERTY));
+	}
+
 }
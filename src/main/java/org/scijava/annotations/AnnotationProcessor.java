@@ -40,6 +40,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.nio.file.NoSuchFileException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -52,6 +53,7 @@ import javax.annotation.processing.AbstractProcessor;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.RoundEnvironment;
 import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.AnnotationMirror;
@@ -72,11 +74,17 @@ import org.scijava.annotations.AbstractIndexWriter.StreamFactory;
 
 /**
  * The annotation processor for use with Java 8 and earlier.
+ * <p>
+ * Besides writing the annotation indices, it generates an
+ * {@code org.scijava.plugin.Injector} for each plugin class, as described at
+ * {@link InjectorWriter}.
+ * </p>
  * 
  * @author Johannes Schindelin
  */
 @SupportedSourceVersion(SourceVersion.RELEASE_8)
 @SupportedAnnotationTypes("*")
+@SupportedOptions(InjectorWriter.OPTION)
 public class AnnotationProcessor extends AbstractProcessor {
 
 	private RoundEnvironment roundEnv;
@@ -93,6 +101,7 @@ public class AnnotationProcessor extends AbstractProcessor {
 		}
 		try {
 			writer.write(writer);
+			writeInjectors(elements);
 		}
 		catch (final IOException e) {
 			final ByteArrayOutputStream out = new ByteArrayOutputStream();
@@ -109,6 +118,29 @@ public class AnnotationProcessor extends AbstractProcessor {
 		return false;
 	}
 
+	/**
+	 * Generates the injectors of the plugin classes, unless disabled via the
+	 * {@value InjectorWriter#OPTION} option.
+	 *
+	 * @see InjectorWriter
+	 */
+	private void writeInjectors(final Set<? extends TypeElement> elements)
+		throws IOException
+	{
+		final InjectorWriter injectors = new InjectorWriter(processingEnv);
+		if (!injectors.isEnabled()) return;
+		for (final TypeElement element : elements) {
+			if (!element.getQualifiedName().contentEquals(InjectorWriter.PLUGIN)) {
+				continue;
+			}
+			for (final Element annotated : roundEnv.getElementsAnnotatedWith(
+				element))
+			{
+				injectors.write(annotated);
+			}
+		}
+	}
+
 	private class Writer extends AbstractIndexWriter implements StreamFactory {
 
 		private final Map<String, List<Element>> originatingElements =
@@ -234,7 +266,7 @@ public class AnnotationProcessor extends AbstractProcessor {
 				return filer.getResource(StandardLocation.CLASS_OUTPUT, "",
 					Index.INDEX_PREFIX + annotationName).openInputStream();
 			}
-			catch (final FileNotFoundException e) {
+			catch (final FileNotFoundException | NoSuchFileException e) {
 				return null;
 			}
 		}
@@ -35,14 +35,20 @@ package org.scijava.annotations;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
+import org.scijava.util.StartupTrace;
+import org.scijava.util.StartupTrace.Span;
+
 /**
  * Makes the annotation indexes accessible.
  * <p>
@@ -100,122 +106,125 @@ public class Index<A extends Annotation> implements Iterable<IndexItem<A>> {
 		this.loader = loader;
 	}
 
-	private class IndexItemIterator implements Iterator<IndexItem<A>> {
-
-		private Enumeration<URL> urls;
-		private IndexReader indexReader;
-		private IndexItem<A> next;
-		private Set<URL> seen;
+	@Override
+	public Iterator<IndexItem<A>> iterator() {
+		final List<IndexItem<A>> items = new ArrayList<>();
+		for (final List<Map<String, Object>> maps : readIndexes()) {
+			for (final Map<String, Object> map : maps) {
+				final String className = (String) map.get("class");
+				@SuppressWarnings("unchecked")
+				final Map<Object, Object> values =
+					(Map<Object, Object>) map.get("values");
+				items.add(new IndexItem<>(annotation, loader, className, values));
+			}
+		}
+		return Collections.unmodifiableList(items).iterator();
+	}
 
-		private Map<String, URL> legacyURLs;
+	// -- Helper methods --
 
-		public IndexItemIterator(final Class<A> annotation) {
-			seen = new HashSet<>();
-			try {
-				legacyURLs = new LinkedHashMap<>();
-				final Enumeration<URL> legacy =
-					loader.getResources(LEGACY_INDEX_PREFIX + annotation.getName());
-				final int legacySuffixLength =
-					LEGACY_INDEX_PREFIX.length() + annotation.getName().length();
-				while (legacy.hasMoreElements()) {
-					final URL url = legacy.nextElement();
-					final String string = url.toString();
-					final String key =
-						string.substring(0, string.length() - legacySuffixLength) +
-							INDEX_PREFIX + annotation.getName();
-					legacyURLs.put(key, url);
-				}
-				if (legacyURLs.isEmpty()) {
-					legacyURLs = null;
-				}
+	/**
+	 * Reads the entries of all index resources for the annotation, in class
+	 * path order.
+	 * <p>
+	 * Resources with an up-to-date entry in the {@link IndexCache} (if enabled)
+	 * are not parsed at all; the remaining ones are parsed in parallel.
+	 * </p>
+	 */
+	private List<List<Map<String, Object>>> readIndexes() {
+		final List<URL> urls = new ArrayList<>();
+		final Set<URL> legacy = new HashSet<>();
+		try {
+			final Map<String, URL> legacyURLs = new LinkedHashMap<>();
+			final Enumeration<URL> legacyResources =
+				loader.getResources(LEGACY_INDEX_PREFIX + annotation.getName());
+			final int legacySuffixLength =
+				LEGACY_INDEX_PREFIX.length() + annotation.getName().length();
+			while (legacyResources.hasMoreElements()) {
+				final URL url = legacyResources.nextElement();
+				final String string = url.toString();
+				final String key =
+					string.substring(0, string.length() - legacySuffixLength) +
+						INDEX_PREFIX + annotation.getName();
+				legacyURLs.put(key, url);
+			}
 
-				urls = loader.getResources(INDEX_PREFIX + annotation.getName());
-				readNext();
+			final Set<URL> seen = new HashSet<>();
+			final Enumeration<URL> resources =
+				loader.getResources(INDEX_PREFIX + annotation.getName());
+			while (resources.hasMoreElements()) {
+				final URL url = resources.nextElement();
+				if (!seen.add(url)) continue;
+				legacyURLs.remove(url.toString());
+				urls.add(url);
 			}
-			catch (final IOException e) {
-				e.printStackTrace();
+			for (final URL url : legacyURLs.values()) {
+				urls.add(url);
+				legacy.add(url);
 			}
 		}
+		catch (final IOException e) {
+			e.printStackTrace();
+		}
 
-		private void readNext() throws IOException {
-			for (;;) {
-				if (indexReader == null) {
-					try {
-						indexReader = getNextReader();
-					} catch (IOException e) {
-						e.printStackTrace();
-						continue;
-					}
-					if (indexReader == null) {
-						urls = null;
-						next = null;
-						return;
-					}
+		final IndexCache cache = IndexCache.open(annotation);
+		@SuppressWarnings("unchecked")
+		final List<Map<String, Object>>[] results = new List[urls.size()];
+		final List<Integer> misses = new ArrayList<>();
+		for (int i = 0; i < results.length; i++) {
+			results[i] = cache == null ? null : cache.get(urls.get(i));
+			if (results[i] == null) misses.add(i);
+		}
+		final List<Runnable> reads = new ArrayList<>();
+		for (final int i : misses) {
+			reads.add(StartupTrace.bind(() -> {
+				final URL url = urls.get(i);
+				final List<Map<String, Object>> maps = new ArrayList<>();
+				if (read(url, legacy.contains(url), maps) && cache != null) {
+					cache.put(url, maps);
 				}
+				results[i] = maps;
+			}));
+		}
+		reads.parallelStream().forEach(Runnable::run);
+		if (cache != null) cache.save();
+		return Arrays.asList(results);
+	}
+
+	/**
+	 * Reads the entries of the given index resource.
+	 * 
+	 * @return true if the whole resource was read successfully
+	 */
+	private static boolean read(final URL url, final boolean legacy,
+		final List<Map<String, Object>> maps)
+	{
+		IndexReader indexReader = null;
+		try (final Span span = StartupTrace.trace("index", url.toString())) {
+			indexReader = legacy ? //
+				IndexReader.getLegacyReader(url.openStream()) : //
+				new IndexReader(url.openStream());
+			while (true) {
 				@SuppressWarnings("unchecked")
 				final Map<String, Object> map =
 					(Map<String, Object>) indexReader.next();
-				if (map != null) {
-					final String className = (String) map.get("class");
-					@SuppressWarnings("unchecked")
-					final Map<Object, Object> values =
-						(Map<Object, Object>) map.get("values");
-					next = new IndexItem<>(annotation, loader, className, values);
-					return;
-				}
-				indexReader.close();
-				indexReader = null;
+				if (map == null) return true;
+				maps.add(map);
 			}
 		}
-
-		private IndexReader getNextReader() throws IOException {
-			if (urls == null) {
-				return null;
-			}
-			while (urls.hasMoreElements()) {
-				final URL url = urls.nextElement();
-				if (seen.contains(url)) continue;
-				if (legacyURLs != null) {
-					legacyURLs.remove(url.toString());
-				}
-				seen.add(url);
-				return new IndexReader(url.openStream());
-			}
-			if (legacyURLs != null && !legacyURLs.isEmpty()) {
-				final Entry<String, URL> entry =
-					legacyURLs.entrySet().iterator().next();
-				legacyURLs.remove(entry.getKey());
-				return IndexReader.getLegacyReader(entry.getValue().openStream());
-			}
-			return null;
-		}
-
-		@Override
-		public boolean hasNext() {
-			return next != null;
+		catch (final IOException e) {
+			e.printStackTrace();
+			return false;
 		}
-
-		@Override
-		public IndexItem<A> next() {
-			final IndexItem<A> result = next;
-			try {
-				readNext();
-			}
-			catch (final IOException e) {
-				e.printStackTrace();
-				next = null;
+		finally {
+			if (indexReader != null) {
+				try {
+					indexReader.close();
+				}
+				catch (final IOException e) {
+					e.printStackTrace();
+				}
 			}
-			return result;
-		}
-
-		@Override
-		public void remove() {
-			throw new UnsupportedOperationException();
 		}
 	}
-
-	@Override
-	public Iterator<IndexItem<A>> iterator() {
-		return new IndexItemIterator(annotation);
-	}
 }
@@ -0,0 +1,409 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.annotations;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent binary cache of parsed annotation indexes.
+ * <p>
+ * Parsing the JSON annotation indexes of every JAR file on the class path is
+ * a noticeable part of application startup. This cache stores the parsed
+ * index entries of each index resource in a compact binary format, keyed by
+ * the resource's URL and validated against the modification time and size of
+ * the class path element (JAR file or index file) it comes from. The whole
+ * cache file is protected by a checksum; a cache file which fails to verify
+ * is simply ignored and rewritten.
+ * </p>
+ * <p>
+ * The cache is disabled by default. To enable it, set the
+ * {@code scijava.annotations.cache} system property to the directory in which
+ * the cache files should be stored.
+ * </p>
+ */
+class IndexCache {
+
+	/** System property specifying the directory of the cache files. */
+	static final String CACHE_DIR_PROPERTY = "scijava.annotations.cache";
+
+	private static final int MAGIC = 0x53434958; // "SCIX"
+	private static final int VERSION = 1;
+
+	private static final byte STRING = 'S';
+	private static final byte LONG = 'J';
+	private static final byte DOUBLE = 'D';
+	private static final byte BOOLEAN = 'Z';
+	private static final byte LIST = '[';
+	private static final byte MAP = '{';
+
+	private final File file;
+
+	/** Cache entries as read from disk. */
+	private final Map<String, Entry> stored = new LinkedHashMap<>();
+
+	/** Cache entries as they should be written back to disk. */
+	private final Map<String, Entry> current = new LinkedHashMap<>();
+
+	private boolean dirty;
+
+	private IndexCache(final File file) {
+		this.file = file;
+	}
+
+	/**
+	 * Opens the index cache for the given annotation.
+	 * 
+	 * @return the cache, or null if caching is disabled
+	 */
+	static IndexCache open(final Class<?> annotation) {
+		final String dir = System.getProperty(CACHE_DIR_PROPERTY);
+		if (dir == null || dir.isEmpty()) return null;
+		final IndexCache cache =
+			new IndexCache(new File(dir, annotation.getName() + ".cache"));
+		cache.read();
+		return cache;
+	}
+
+	/**
+	 * Gets the cached entries of the given index resource.
+	 * 
+	 * @return freshly deserialized entries, or null if the resource is not
+	 *         cached or its cache entry is out of date
+	 */
+	synchronized List<Map<String, Object>> get(final URL url) {
+		final String key = url.toString();
+		final Entry entry = stored.get(key);
+		if (entry == null) return null;
+		final File source = source(url);
+		if (source == null || source.lastModified() != entry.lastModified ||
+			source.length() != entry.length)
+		{
+			return null;
+		}
+		try {
+			final List<Map<String, Object>> items = deserialize(entry.data);
+			current.put(key, entry);
+			return items;
+		}
+		catch (final IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the entries of the given index resource.
+	 * <p>
+	 * The entries are serialized immediately, so they may safely be modified
+	 * after this method returns.
+	 * </p>
+	 */
+	synchronized void put(final URL url, final List<Map<String, Object>> items) {
+		final File source = source(url);
+		if (source == null) return;
+		final long lastModified = source.lastModified();
+		if (lastModified == 0) return;
+		try {
+			current.put(url.toString(), new Entry(lastModified, source.length(),
+				serialize(items)));
+			dirty = true;
+		}
+		catch (final IOException e) {
+			// NB: The entries contain values we cannot serialize; do not cache.
+		}
+	}
+
+	/** Writes the cache back to disk, if anything changed. */
+	synchronized void save() {
+		if (!dirty && current.keySet().equals(stored.keySet())) return;
+		final File dir = file.getParentFile();
+		if (dir != null && !dir.isDirectory() && !dir.mkdirs()) return;
+		File tmp = null;
+		try {
+			final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			final DataOutputStream body = new DataOutputStream(bytes);
+			body.writeInt(current.size());
+			for (final Map.Entry<String, Entry> e : current.entrySet()) {
+				body.writeUTF(e.getKey());
+				body.writeLong(e.getValue().lastModified);
+				body.writeLong(e.getValue().length);
+				body.writeInt(e.getValue().data.length);
+				body.write(e.getValue().data);
+			}
+			body.close();
+			final byte[] data = bytes.toByteArray();
+
+			tmp = File.createTempFile(file.getName(), ".tmp", dir);
+			try (final OutputStream fos = new FileOutputStream(tmp);
+					final DataOutputStream out = new DataOutputStream(fos))
+			{
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeLong(checksum(data));
+				out.writeInt(data.length);
+				out.write(data);
+			}
+			try {
+				Files.move(tmp.toPath(), file.toPath(),
+					StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (final AtomicMoveNotSupportedException e) {
+				Files.move(tmp.toPath(), file.toPath(),
+					StandardCopyOption.REPLACE_EXISTING);
+			}
+			tmp = null;
+			stored.clear();
+			stored.putAll(current);
+			dirty = false;
+		}
+		catch (final IOException e) {
+			// NB: The cache is only an optimization; ignore write failures.
+		}
+		finally {
+			if (tmp != null) tmp.delete();
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Reads the cache file, ignoring it if it is missing or corrupt. */
+	private void read() {
+		if (!file.isFile()) return;
+		try (final DataInputStream in =
+			new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file
+				.toPath()))))
+		{
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) return;
+			final long checksum = in.readLong();
+			final byte[] data = new byte[in.readInt()];
+			in.readFully(data);
+			if (checksum(data) != checksum) return;
+
+			final DataInputStream body =
+				new DataInputStream(new ByteArrayInputStream(data));
+			final int count = body.readInt();
+			final Map<String, Entry> entries = new LinkedHashMap<>();
+			for (int i = 0; i < count; i++) {
+				final String key = body.readUTF();
+				final long lastModified = body.readLong();
+				final long length = body.readLong();
+				final byte[] entryData = new byte[body.readInt()];
+				body.readFully(entryData);
+				entries.put(key, new Entry(lastModified, length, entryData));
+			}
+			stored.putAll(entries);
+		}
+		catch (final IOException | RuntimeException e) {
+			// NB: Treat an unreadable cache file like a missing one.
+		}
+	}
+
+	/**
+	 * Gets the class path element from which the given index resource
+	 * originates: either the JAR file containing it, or the index file itself.
+	 * 
+	 * @return the file, or null if the resource is not backed by a local file
+	 */
+	private static File source(final URL url) {
+		try {
+			URL fileURL = url;
+			if ("jar".equals(url.getProtocol())) {
+				final String path = url.getPath();
+				final int bang = path.indexOf("!/");
+				if (bang < 0) return null;
+				fileURL = new URL(path.substring(0, bang));
+			}
+			if (!"file".equals(fileURL.getProtocol())) return null;
+			return new File(fileURL.toURI());
+		}
+		catch (final MalformedURLException | URISyntaxException
+				| IllegalArgumentException e)
+		{
+			return null;
+		}
+	}
+
+	private static long checksum(final byte[] data) {
+		final CRC32 crc = new CRC32();
+		crc.update(data, 0, data.length);
+		return crc.getValue();
+	}
+
+	private static byte[] serialize(final List<Map<String, Object>> items)
+		throws IOException
+	{
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		final DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(items.size());
+		for (final Map<String, Object> item : items) {
+			writeValue(out, item);
+		}
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static List<Map<String, Object>> deserialize(final byte[] data)
+		throws IOException
+	{
+		final DataInputStream in =
+			new DataInputStream(new ByteArrayInputStream(data));
+		final int count = in.readInt();
+		final List<Map<String, Object>> items = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			items.add((Map<String, Object>) readValue(in));
+		}
+		return items;
+	}
+
+	private static void writeValue(final DataOutputStream out,
+		final Object value) throws IOException
+	{
+		if (value instanceof String) {
+			out.writeByte(STRING);
+			final byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+		else if (value instanceof Long) {
+			out.writeByte(LONG);
+			out.writeLong((Long) value);
+		}
+		else if (value instanceof Double) {
+			out.writeByte(DOUBLE);
+			out.writeDouble((Double) value);
+		}
+		else if (value instanceof Boolean) {
+			out.writeByte(BOOLEAN);
+			out.writeBoolean((Boolean) value);
+		}
+		else if (value instanceof List) {
+			final List<?> list = (List<?>) value;
+			out.writeByte(LIST);
+			out.writeInt(list.size());
+			for (final Object element : list) {
+				writeValue(out, element);
+			}
+		}
+		else if (value instanceof Map) {
+			final Map<?, ?> map = (Map<?, ?>) value;
+			out.writeByte(MAP);
+			out.writeInt(map.size());
+			for (final Map.Entry<?, ?> e : map.entrySet()) {
+				if (!(e.getKey() instanceof String)) {
+					throw new IOException("Unsupported key: " + e.getKey());
+				}
+				writeValue(out, e.getKey());
+				writeValue(out, e.getValue());
+			}
+		}
+		else {
+			throw new IOException("Unsupported value: " + value);
+		}
+	}
+
+	private static Object readValue(final DataInputStream in)
+		throws IOException
+	{
+		final byte type = in.readByte();
+		switch (type) {
+			case STRING:
+				final byte[] bytes = new byte[in.readInt()];
+				in.readFully(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			case LONG:
+				return in.readLong();
+			case DOUBLE:
+				return in.readDouble();
+			case BOOLEAN:
+				return in.readBoolean();
+			case LIST:
+				final int size = in.readInt();
+				final List<Object> list = new ArrayList<>(size);
+				for (int i = 0; i < size; i++) {
+					list.add(readValue(in));
+				}
+				return list;
+			case MAP:
+				final int count = in.readInt();
+				// NB: IndexItem caches adapted values in these maps, so they
+				// must be mutable and keyed by Object.
+				final Map<Object, Object> map = new LinkedHashMap<>();
+				for (int i = 0; i < count; i++) {
+					final Object key = readValue(in);
+					map.put(key, readValue(in));
+				}
+				return map;
+			default:
+				throw new IOException("Unknown value type: " + type);
+		}
+	}
+
+	// -- Helper classes --
+
+	/** A cached index resource, together with its validation stamp. */
+	private static class Entry {
+
+		private final long lastModified;
+		private final long length;
+		private final byte[] data;
+
+		private Entry(final long lastModified, final long length,
+			final byte[] data)
+		{
+			this.lastModified = lastModified;
+			this.length = length;
+			this.data = data;
+		}
+	}
+
+}
@@ -0,0 +1,297 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.annotations;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+
+/**
+ * Generates the {@code org.scijava.plugin.Injector} of a plugin class, which
+ * instantiates the class and accesses its {@code @Parameter} fields without
+ * reflection.
+ * <p>
+ * The generated injector lives in the same package as the plugin class, so it
+ * can access public, protected and package-private members declared in that
+ * package directly. Private fields, static or final fields, and fields of
+ * primitive or inaccessible types fall back to reflective access. No injector is generated for
+ * classes which cannot be instantiated from the package, e.g. abstract
+ * classes or classes without an accessible no-argument constructor.
+ * </p>
+ * <p>
+ * Only the fields declared by the plugin class itself are compiled into its
+ * injector. Inherited fields are obtained at runtime from the injector of the
+ * superclass, since the superclass may come from another library, whose
+ * fields can change independently of the plugin.
+ * </p>
+ */
+class InjectorWriter {
+
+	/** Annotation marking the classes for which to generate injectors. */
+	static final String PLUGIN = "org.scijava.plugin.Plugin";
+
+	/** Annotation marking the fields handled by the injectors. */
+	static final String PARAMETER = "org.scijava.plugin.Parameter";
+
+	/** Must match {@code org.scijava.plugin.Injector#SUFFIX}. */
+	static final String SUFFIX = "$$Injector";
+
+	/** Annotation processor option which disables generation when "false". */
+	static final String OPTION = "scijava.injectors";
+
+	private static final String INJECTOR = "org.scijava.plugin.Injector";
+	private static final String FIELD = "org.scijava.plugin.ParameterField";
+
+	private final ProcessingEnvironment env;
+	private final Elements utils;
+	private final Types typeUtils;
+
+	InjectorWriter(final ProcessingEnvironment env) {
+		this.env = env;
+		utils = env.getElementUtils();
+		typeUtils = env.getTypeUtils();
+	}
+
+	/** Gets whether injector generation is enabled. */
+	boolean isEnabled() {
+		return !"false".equals(env.getOptions().get(OPTION));
+	}
+
+	/**
+	 * Generates the injector of the given element, if it is a class which the
+	 * injector can instantiate.
+	 */
+	void write(final Element element) throws IOException {
+		if (element.getKind() != ElementKind.CLASS) return;
+		final TypeElement type = (TypeElement) element;
+		if (!isInstantiable(type)) return;
+
+		final PackageElement pkg = utils.getPackageOf(type);
+		final String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName()
+			.toString();
+		final String binaryName = utils.getBinaryName(type).toString();
+		final String injectorName = binaryName + SUFFIX;
+		final String simpleName = packageName.isEmpty() ? injectorName
+			: injectorName.substring(packageName.length() + 1);
+		final String typeName = type.getQualifiedName().toString();
+
+		final List<VariableElement> fields = new ArrayList<>();
+		for (final VariableElement field : ElementFilter.fieldsIn(type
+			.getEnclosedElements()))
+		{
+			if (getParameter(field) != null) fields.add(field);
+		}
+
+		final JavaFileObject file = env.getFiler().createSourceFile(injectorName,
+			type);
+		try (final PrintWriter out = new PrintWriter(file.openWriter())) {
+			if (!packageName.isEmpty()) {
+				out.println("package " + packageName + ";");
+				out.println();
+			}
+			out.println("/** Generated by " + AnnotationProcessor.class.getName() +
+				" for {@link " + typeName + "}. */");
+			out.println("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })");
+			out.println("public final class " + simpleName + " extends " +
+				INJECTOR + "<" + typeName + "> {");
+			out.println();
+			out.println("\tprivate final java.util.List<" + FIELD + "> declared;");
+			out.println();
+			out.println("\tprivate volatile java.util.List<" + FIELD + "> fields;");
+			out.println();
+			out.println("\tpublic " + simpleName + "() {");
+			out.println("\t\tsuper(" + typeName + ".class);");
+			out.println("\t\tfinal " + FIELD + "[] f = new " + FIELD + "[" + fields
+				.size() + "];");
+			for (int i = 0; i < fields.size(); i++) {
+				writeField(out, "\t\tf[" + i + "] = ", fields.get(i), pkg);
+			}
+			out.println("\t\tdeclared = java.util.Collections.unmodifiableList(" +
+				"java.util.Arrays.asList(f));");
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic " + typeName + " newInstance() {");
+			out.println("\t\treturn new " + typeName + "();");
+			out.println("\t}");
+			out.println();
+			out.println("\t@Override");
+			out.println("\tpublic java.util.List<" + FIELD +
+				"> getParameterFields() {");
+			out.println("\t\tif (fields == null) fields = withInherited(declared);");
+			out.println("\t\treturn fields;");
+			out.println("\t}");
+			out.println();
+			out.println("}");
+		}
+	}
+
+	// -- Helper methods --
+
+	private void writeField(final PrintWriter out, final String prefix,
+		final VariableElement field, final PackageElement pkg)
+	{
+		final TypeElement declaring = (TypeElement) field.getEnclosingElement();
+		final String declaringName = declaring.getQualifiedName().toString();
+		final String name = field.getSimpleName().toString();
+		if (!isDirectlyAccessible(field, pkg)) {
+			out.println(prefix + "field(" + declaringName + ".class, \"" + name +
+				"\");");
+			return;
+		}
+		final String fieldType = typeUtils.erasure(field.asType()).toString();
+		final String target = "((" + declaringName + ") o)." + name;
+		out.println(prefix + "new " + FIELD + "(" + declaringName + ".class, \"" +
+			name + "\", " + fieldType + ".class, " + isRequired(field) + ") {");
+		out.println("\t\t\t@Override");
+		out.println("\t\t\tpublic Object get(final Object o) {");
+		out.println("\t\t\t\treturn " + target + ";");
+		out.println("\t\t\t}");
+		out.println("\t\t\t@Override");
+		out.println("\t\t\tpublic void set(final Object o, final Object v) {");
+		out.println("\t\t\t\t" + target + " = (" + fieldType + ") v;");
+		out.println("\t\t\t}");
+		out.println("\t\t};");
+	}
+
+	/**
+	 * Gets whether the generated injector can call the class's no-argument
+	 * constructor.
+	 */
+	private boolean isInstantiable(final TypeElement type) {
+		final Set<Modifier> modifiers = type.getModifiers();
+		if (modifiers.contains(Modifier.ABSTRACT)) return false;
+		if (type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(
+			Modifier.STATIC)) return false;
+		if (!isAccessible(type)) return false;
+		for (final ExecutableElement ctor : ElementFilter.constructorsIn(type
+			.getEnclosedElements()))
+		{
+			if (ctor.getParameters().isEmpty() && !ctor.getModifiers().contains(
+				Modifier.PRIVATE) && ctor.getThrownTypes().isEmpty()) return true;
+		}
+		return false;
+	}
+
+	/** Gets whether the given field can be accessed from the given package. */
+	private boolean isDirectlyAccessible(final VariableElement field,
+		final PackageElement pkg)
+	{
+		final Set<Modifier> modifiers = field.getModifiers();
+		if (modifiers.contains(Modifier.PRIVATE) || //
+			modifiers.contains(Modifier.STATIC) || //
+			modifiers.contains(Modifier.FINAL)) return false;
+		final TypeElement declaring = (TypeElement) field.getEnclosingElement();
+		if (!isAccessible(declaring, pkg)) return false;
+		if (!modifiers.contains(Modifier.PUBLIC) && //
+			!utils.getPackageOf(declaring).equals(pkg)) return false;
+		TypeMirror fieldType = typeUtils.erasure(field.asType());
+		while (fieldType.getKind() == TypeKind.ARRAY) {
+			fieldType = ((ArrayType) fieldType).getComponentType();
+		}
+		if (fieldType.getKind() != TypeKind.DECLARED) return false;
+		return isAccessible((TypeElement) ((DeclaredType) fieldType).asElement(),
+			pkg);
+	}
+
+	/** Gets whether the given class is accessible from its own package. */
+	private boolean isAccessible(final TypeElement type) {
+		return isAccessible(type, utils.getPackageOf(type));
+	}
+
+	/**
+	 * Gets whether the given class (and any class enclosing it) is accessible
+	 * from the given package.
+	 */
+	private boolean isAccessible(final TypeElement type,
+		final PackageElement pkg)
+	{
+		final boolean samePackage = utils.getPackageOf(type).equals(pkg);
+		Element e = type;
+		while (e instanceof TypeElement) {
+			final TypeElement t = (TypeElement) e;
+			final Set<Modifier> modifiers = t.getModifiers();
+			if (modifiers.contains(Modifier.PRIVATE)) return false;
+			if (!samePackage && !modifiers.contains(Modifier.PUBLIC)) return false;
+			if (t.getNestingKind() != NestingKind.TOP_LEVEL && //
+				t.getNestingKind() != NestingKind.MEMBER) return false;
+			e = t.getEnclosingElement();
+		}
+		return true;
+	}
+
+	private AnnotationMirror getParameter(final Element element) {
+		for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			final TypeElement annotation = (TypeElement) mirror.getAnnotationType()
+				.asElement();
+			if (annotation.getQualifiedName().contentEquals(PARAMETER)) return mirror;
+		}
+		return null;
+	}
+
+	private boolean isRequired(final VariableElement field) {
+		final AnnotationMirror parameter = getParameter(field);
+		for (final Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : parameter
+			.getElementValues().entrySet())
+		{
+			if (entry.getKey().getSimpleName().contentEquals("required")) {
+				return Boolean.TRUE.equals(entry.getValue().getValue());
+			}
+		}
+		return true;
+	}
+
+}
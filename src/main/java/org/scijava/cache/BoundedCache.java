@@ -0,0 +1,510 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A thread-safe, in-memory cache bounded by entry count and/or total weight,
+ * with configurable {@link EvictionPolicy}, optional time-to-live expiry, and
+ * hit/miss/eviction statistics.
+ * <p>
+ * Concurrent {@link #get(Object, Callable)} calls which miss on the same key
+ * invoke the value loader only once; the other callers wait for, and share,
+ * its result.
+ * </p>
+ * <p>
+ * Unlike {@link DefaultCacheService}, this cache holds strong references to
+ * its keys and values; entries are discarded only according to the configured
+ * bounds.
+ * </p>
+ */
+public class BoundedCache {
+
+	// -- Fields --
+
+	/** Cache entries, in access order. */
+	private final LinkedHashMap<Object, Node> entries = new LinkedHashMap<>(16,
+		0.75f, true);
+
+	/** Entries grouped by access count; maintained for LFU only. */
+	private final TreeMap<Long, LinkedHashSet<Node>> frequencies =
+		new TreeMap<>();
+
+	/** Value loads currently in progress, for single-flight loading. */
+	private final Map<Object, FutureTask<?>> loading = new HashMap<>();
+
+	/** Access frequency estimates; maintained for TinyLFU only. */
+	private FrequencySketch sketch;
+
+	private EvictionPolicy policy;
+	private long maximumSize = Long.MAX_VALUE;
+	private long maximumWeight = Long.MAX_VALUE;
+	private Weigher weigher = Weigher.SINGLETON;
+	private long expireAfterWriteNanos;
+
+	private long totalWeight;
+
+	private long hitCount;
+	private long missCount;
+	private long loadCount;
+	private long loadFailureCount;
+	private long evictionCount;
+
+	public BoundedCache() {
+		this(EvictionPolicy.LRU);
+	}
+
+	public BoundedCache(final EvictionPolicy policy) {
+		setEvictionPolicy(policy);
+	}
+
+	// -- BoundedCache methods --
+
+	/**
+	 * Gets the value associated with the given key.
+	 *
+	 * @return The cached value, or null if there is no live entry for the key.
+	 */
+	public synchronized Object get(final Object key) {
+		final Node node = lookup(key);
+		if (node == null) {
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		return node.value;
+	}
+
+	/**
+	 * Gets the value associated with the given key, obtaining it from the given
+	 * loader if there is no live entry. If other threads are already loading
+	 * the same key, waits for their result instead of invoking the loader
+	 * again. Non-null loaded values are stored in the cache.
+	 *
+	 * @throws ExecutionException If the loader throws an exception, or the
+	 *           current thread is interrupted while waiting for another thread's
+	 *           load.
+	 */
+	@SuppressWarnings("unchecked")
+	public <V> V get(final Object key, final Callable<V> valueLoader)
+		throws ExecutionException
+	{
+		final FutureTask<V> task;
+		final boolean owner;
+		synchronized (this) {
+			final Object value = get(key);
+			if (value != null) return (V) value;
+			final FutureTask<?> pending = loading.get(key);
+			if (pending == null) {
+				task = new FutureTask<>(valueLoader);
+				loading.put(key, task);
+				owner = true;
+			}
+			else {
+				task = (FutureTask<V>) pending;
+				owner = false;
+			}
+		}
+
+		if (owner) task.run();
+
+		boolean success = false;
+		try {
+			final V value = task.get();
+			success = true;
+			return value;
+		}
+		catch (final InterruptedException exc) {
+			Thread.currentThread().interrupt();
+			throw new ExecutionException(exc);
+		}
+		finally {
+			if (owner) loaded(key, task, success);
+		}
+	}
+
+	/**
+	 * Stores the given value in the cache, evicting other entries as needed. A
+	 * null value removes any existing entry for the key.
+	 */
+	public synchronized void put(final Object key, final Object value) {
+		final Node old = entries.remove(key);
+		if (old != null) unlink(old);
+		if (value == null) return;
+
+		final long weight = weigher.weigh(key, value);
+		if (weight < 0) {
+			throw new IllegalArgumentException("Negative weight: " + weight);
+		}
+		if (sketch != null) sketch.increment(key);
+		if (weight > maximumWeight) {
+			// NB: The entry could never fit.
+			evictionCount++;
+			return;
+		}
+
+		final Node node = new Node(key, value, weight);
+		if (expireAfterWriteNanos > 0) {
+			node.expiresAt = System.nanoTime() + expireAfterWriteNanos;
+		}
+		entries.put(key, node);
+		totalWeight += weight;
+		if (policy == EvictionPolicy.LFU) bucket(node.frequency).add(node);
+		evict(node);
+	}
+
+	/** Removes the entry for the given key, if any. */
+	public synchronized void remove(final Object key) {
+		final Node node = entries.remove(key);
+		if (node != null) unlink(node);
+	}
+
+	/** Removes all entries from the cache. Statistics are retained. */
+	public synchronized void clear() {
+		entries.clear();
+		frequencies.clear();
+		totalWeight = 0;
+	}
+
+	/** Removes all expired entries from the cache. */
+	public synchronized void cleanUp() {
+		if (expireAfterWriteNanos <= 0) return;
+		final long now = System.nanoTime();
+		final Iterator<Node> iter = entries.values().iterator();
+		while (iter.hasNext()) {
+			final Node node = iter.next();
+			if (!node.isExpired(now)) continue;
+			iter.remove();
+			unlink(node);
+			evictionCount++;
+		}
+	}
+
+	/** Gets the number of entries currently in the cache. */
+	public synchronized long size() {
+		return entries.size();
+	}
+
+	/** Gets the total weight of the entries currently in the cache. */
+	public synchronized long weight() {
+		return totalWeight;
+	}
+
+	/** Gets a snapshot of the cache's statistics. */
+	public synchronized CacheStats stats() {
+		return new CacheStats(hitCount, missCount, loadCount, loadFailureCount,
+			evictionCount);
+	}
+
+	public synchronized EvictionPolicy getEvictionPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Sets the eviction policy. Since the bookkeeping differs between policies,
+	 * changing the policy clears the cache.
+	 */
+	public synchronized void setEvictionPolicy(final EvictionPolicy policy) {
+		if (policy == null) throw new NullPointerException("Null policy");
+		if (policy == this.policy) return;
+		clear();
+		this.policy = policy;
+		sketch = policy == EvictionPolicy.TINY_LFU ? //
+			new FrequencySketch(maximumSize) : null;
+	}
+
+	public synchronized long getMaximumSize() {
+		return maximumSize;
+	}
+
+	/** Sets the maximum number of entries, evicting entries as needed. */
+	public synchronized void setMaximumSize(final long maximumSize) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("Negative size: " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		if (sketch != null) sketch = new FrequencySketch(maximumSize);
+		evict(null);
+	}
+
+	public synchronized long getMaximumWeight() {
+		return maximumWeight;
+	}
+
+	/**
+	 * Sets the maximum total weight of all entries, as computed by the
+	 * {@link #setWeigher(Weigher) weigher}, evicting entries as needed.
+	 */
+	public synchronized void setMaximumWeight(final long maximumWeight) {
+		if (maximumWeight < 0) {
+			throw new IllegalArgumentException("Negative weight: " + maximumWeight);
+		}
+		this.maximumWeight = maximumWeight;
+		evict(null);
+	}
+
+	public synchronized Weigher getWeigher() {
+		return weigher;
+	}
+
+	/**
+	 * Sets the weigher used to compute entry weights. Since the weights of
+	 * existing entries would no longer be consistent, changing the weigher
+	 * clears the cache.
+	 */
+	public synchronized void setWeigher(final Weigher weigher) {
+		if (weigher == null) throw new NullPointerException("Null weigher");
+		clear();
+		this.weigher = weigher;
+	}
+
+	/** Gets the time to live of entries in the given unit, or 0 if unlimited. */
+	public synchronized long getExpireAfterWrite(final TimeUnit unit) {
+		return unit.convert(expireAfterWriteNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Sets how long entries live after they are stored. Affects only entries
+	 * stored after the call.
+	 *
+	 * @param duration The time to live, or 0 for no expiry.
+	 * @param unit The unit of the duration.
+	 */
+	public synchronized void setExpireAfterWrite(final long duration,
+		final TimeUnit unit)
+	{
+		if (duration < 0) {
+			throw new IllegalArgumentException("Negative duration: " + duration);
+		}
+		expireAfterWriteNanos = unit.toNanos(duration);
+	}
+
+	// -- Helper methods --
+
+	/** Finds the live entry for the given key, recording the access. */
+	private Node lookup(final Object key) {
+		if (sketch != null) sketch.increment(key);
+		final Node node = entries.get(key);
+		if (node == null) return null;
+		if (expireAfterWriteNanos > 0 && node.isExpired(System.nanoTime())) {
+			entries.remove(key);
+			unlink(node);
+			evictionCount++;
+			return null;
+		}
+		if (policy == EvictionPolicy.LFU) {
+			unbucket(node);
+			node.frequency++;
+			bucket(node.frequency).add(node);
+		}
+		return node;
+	}
+
+	/** Completes a value load started by {@link #get(Object, Callable)}. */
+	private synchronized void loaded(final Object key, final FutureTask<?> task,
+		final boolean success)
+	{
+		loading.remove(key);
+		loadCount++;
+		if (!success) {
+			loadFailureCount++;
+			return;
+		}
+		try {
+			put(key, task.get());
+		}
+		catch (final InterruptedException | ExecutionException exc) {
+			// NB: Cannot happen; the task has already completed successfully.
+			throw new IllegalStateException(exc);
+		}
+	}
+
+	/**
+	 * Evicts entries until the cache is within its bounds.
+	 *
+	 * @param candidate The newly added entry, or null if none.
+	 */
+	private void evict(Node candidate) {
+		while (entries.size() > maximumSize || totalWeight > maximumWeight) {
+			Node victim = victim(candidate);
+			if (victim == null) victim = candidate;
+			else if (candidate != null && sketch != null && //
+				sketch.frequency(candidate.key) <= sketch.frequency(victim.key))
+			{
+				// NB: TinyLFU admission; the candidate is not worth keeping.
+				victim = candidate;
+			}
+			entries.remove(victim.key);
+			unlink(victim);
+			evictionCount++;
+			if (victim == candidate) candidate = null;
+		}
+	}
+
+	/** Chooses the entry to evict next, excluding the given candidate. */
+	private Node victim(final Node candidate) {
+		if (policy == EvictionPolicy.LFU) {
+			for (final LinkedHashSet<Node> bucket : frequencies.values()) {
+				for (final Node node : bucket) {
+					if (node != candidate) return node;
+				}
+			}
+			return null;
+		}
+		for (final Node node : entries.values()) {
+			if (node != candidate) return node;
+		}
+		return null;
+	}
+
+	/** Updates the bookkeeping for an entry removed from {@link #entries}. */
+	private void unlink(final Node node) {
+		totalWeight -= node.weight;
+		if (policy == EvictionPolicy.LFU) unbucket(node);
+	}
+
+	private LinkedHashSet<Node> bucket(final long frequency) {
+		LinkedHashSet<Node> bucket = frequencies.get(frequency);
+		if (bucket == null) {
+			bucket = new LinkedHashSet<>();
+			frequencies.put(frequency, bucket);
+		}
+		return bucket;
+	}
+
+	private void unbucket(final Node node) {
+		final LinkedHashSet<Node> bucket = frequencies.get(node.frequency);
+		if (bucket == null) return;
+		bucket.remove(node);
+		if (bucket.isEmpty()) frequencies.remove(node.frequency);
+	}
+
+	// -- Helper classes --
+
+	/** A cache entry. */
+	private static class Node {
+
+		private final Object key;
+		private final Object value;
+		private final long weight;
+		private long expiresAt;
+		private long frequency = 1;
+
+		private Node(final Object key, final Object value, final long weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+
+		private boolean isExpired(final long now) {
+			return expiresAt != 0 && now - expiresAt >= 0;
+		}
+	}
+
+	/**
+	 * A count-min sketch of 4-bit access counters, which halves all counters
+	 * periodically so that the estimates favor recent history.
+	 */
+	private static class FrequencySketch {
+
+		private static final int DEPTH = 4;
+		private static final int MAX_COUNT = 15;
+		private static final int[] SEEDS = { //
+			0x97cb3127, 0xb7b64f47, 0x3b3ea1b5, 0x8a2f4c6d };
+
+		private final int[][] table;
+		private final int mask;
+		private final int sampleSize;
+		private int additions;
+
+		private FrequencySketch(final long capacity) {
+			int width = 16;
+			final long target = Math.min(capacity, 1 << 24);
+			while (width < target) {
+				width <<= 1;
+			}
+			table = new int[DEPTH][width];
+			mask = width - 1;
+			sampleSize = 10 * width;
+		}
+
+		private void increment(final Object key) {
+			final int hash = Objects.hashCode(key);
+			boolean added = false;
+			for (int i = 0; i < DEPTH; i++) {
+				final int index = index(hash, i);
+				if (table[i][index] < MAX_COUNT) {
+					table[i][index]++;
+					added = true;
+				}
+			}
+			if (added && ++additions >= sampleSize) reset();
+		}
+
+		private int frequency(final Object key) {
+			final int hash = Objects.hashCode(key);
+			int frequency = MAX_COUNT;
+			for (int i = 0; i < DEPTH; i++) {
+				frequency = Math.min(frequency, table[i][index(hash, i)]);
+			}
+			return frequency;
+		}
+
+		private int index(final int hash, final int row) {
+			int h = hash * SEEDS[row];
+			h ^= h >>> 16;
+			return h & mask;
+		}
+
+		private void reset() {
+			for (final int[] row : table) {
+				for (int i = 0; i < row.length; i++) {
+					row[i] >>>= 1;
+				}
+			}
+			additions /= 2;
+		}
+	}
+
+}
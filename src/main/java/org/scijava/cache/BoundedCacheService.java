@@ -0,0 +1,102 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
+import org.scijava.Priority;
+import org.scijava.plugin.Plugin;
+import org.scijava.service.AbstractService;
+import org.scijava.service.Service;
+
+/**
+ * {@link CacheService} implementation backed by a {@link BoundedCache}, which
+ * is thread-safe, bounded, and loads missing values only once under
+ * concurrent access.
+ * <p>
+ * By default, the cache holds at most {@link #DEFAULT_MAXIMUM_SIZE} entries
+ * with {@link EvictionPolicy#LRU} eviction; use {@link #getCache()} to
+ * configure weights, eviction policy and expiry, and to query statistics.
+ * </p>
+ */
+@Plugin(type = Service.class, priority = Priority.LOW)
+public class BoundedCacheService extends AbstractService implements
+	CacheService
+{
+
+	/** Default bound on the number of cache entries. */
+	public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+
+	private BoundedCache cache;
+
+	// -- BoundedCacheService methods --
+
+	/** Gets the cache backing this service, e.g. to configure it. */
+	public BoundedCache getCache() {
+		return cache;
+	}
+
+	/** Gets a snapshot of the cache's statistics. */
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	// -- CacheService methods --
+
+	@Override
+	public void put(final Object key, final Object value) {
+		cache.put(key, value);
+	}
+
+	@Override
+	public Object get(final Object key) {
+		return cache.get(key);
+	}
+
+	@Override
+	public <V> V get(final Object key, final Callable<V> valueLoader)
+		throws ExecutionException
+	{
+		return cache.get(key, valueLoader);
+	}
+
+	// -- Service methods --
+
+	@Override
+	public void initialize() {
+		cache = new BoundedCache();
+		cache.setMaximumSize(DEFAULT_MAXIMUM_SIZE);
+	}
+
+}
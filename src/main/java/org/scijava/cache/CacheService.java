@@ -62,13 +62,23 @@ public interface CacheService extends SciJavaService {
 	 *          for the given key.
 	 * @return The cached object, or if the object is not in the cache the result
 	 *         of the value loader.
-	 * @throws ExecutionException
+	 * @throws ExecutionException If the value loader throws an exception.
 	 */
 	@SuppressWarnings("unchecked")
 	default <V> V get(final Object key, final Callable<V> valueLoader)
 		throws ExecutionException
 	{
-		return (V)get(key);
+		final V cached = (V) get(key);
+		if (cached != null) return cached;
+		final V value;
+		try {
+			value = valueLoader.call();
+		}
+		catch (final Exception exc) {
+			throw new ExecutionException(exc);
+		}
+		if (value != null) put(key, value);
+		return value;
 	}
 
 }
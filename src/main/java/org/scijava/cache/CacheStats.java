@@ -0,0 +1,100 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.cache;
+
+/**
+ * Immutable snapshot of the statistics of a {@link BoundedCache}.
+ */
+public class CacheStats {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long loadCount;
+	private final long loadFailureCount;
+	private final long evictionCount;
+
+	public CacheStats(final long hitCount, final long missCount,
+		final long loadCount, final long loadFailureCount,
+		final long evictionCount)
+	{
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.loadCount = loadCount;
+		this.loadFailureCount = loadFailureCount;
+		this.evictionCount = evictionCount;
+	}
+
+	/** Gets the number of lookups which found a live entry. */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/** Gets the number of lookups which did not find a live entry. */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/** Gets the number of times a value loader was invoked. */
+	public long getLoadCount() {
+		return loadCount;
+	}
+
+	/** Gets the number of value loader invocations which threw an exception. */
+	public long getLoadFailureCount() {
+		return loadFailureCount;
+	}
+
+	/**
+	 * Gets the number of entries discarded due to capacity limits or expiry,
+	 * including new entries rejected by the admission policy.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/** Gets the ratio of hits to lookups, or 1 if there were no lookups. */
+	public double getHitRate() {
+		final long requests = hitCount + missCount;
+		return requests == 0 ? 1 : (double) hitCount / requests;
+	}
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		return "hits=" + hitCount + ", misses=" + missCount + ", loads=" +
+			loadCount + ", loadFailures=" + loadFailureCount + ", evictions=" +
+			evictionCount;
+	}
+
+}
@@ -32,6 +32,7 @@
 
 package org.scijava.cache;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -42,6 +43,8 @@ import org.scijava.service.Service;
 
 /**
  * Trivial {@link CacheService} implementation. Wraps a {@link WeakHashMap}
+ *
+ * @see BoundedCacheService
  */
 @Plugin(type = Service.class, priority = Priority.VERY_LOW)
 public class DefaultCacheService extends AbstractService implements
@@ -64,6 +67,6 @@ public class DefaultCacheService extends AbstractService implements
 
 	@Override
 	public void initialize() {
-		map = new WeakHashMap<>();
+		map = Collections.synchronizedMap(new WeakHashMap<>());
 	}
 }
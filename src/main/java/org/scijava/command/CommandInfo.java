@@ -52,6 +52,7 @@ import org.scijava.module.ModuleException;
 import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleItem;
 import org.scijava.module.event.ModulesUpdatedEvent;
+import org.scijava.plugin.Injector;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.plugin.PluginInfo;
@@ -311,7 +312,7 @@ public class CommandInfo extends PluginInfo<Command> implements ModuleInfo {
 		try {
 			final Class<?> commandClass = loadClass();
 			if (Module.class.isAssignableFrom(commandClass)) {
-				return (Module) commandClass.newInstance();
+				return (Module) Injector.of(commandClass).newInstance();
 			}
 		}
 		catch (final InstantiableException e) {
@@ -33,23 +33,83 @@
 package org.scijava.convert;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.scijava.event.EventHandler;
 import org.scijava.plugin.AbstractHandlerService;
+import org.scijava.plugin.PluginInfo;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsListEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.util.ConversionUtils;
 
 /**
  * Abstract superclass for {@link ConvertService} implementations. Sets this
  * service as the active delegate service in {@link ConversionUtils}.
+ * <p>
+ * Converter lookups are cached by (source class, destination type). Most
+ * converters decide based on those two types alone; converters which override
+ * the object-based {@code canConvert} methods may also inspect the source
+ * object itself, so those are asked again on every cache hit, and the cached
+ * result is only used if they still decide the same way. The cache holds at
+ * most {@value #MAX_CACHED_LOOKUPS} entries, and is discarded whenever converter
+ * plugins are added or removed.
+ * </p>
  *
  * @author Mark Hiner
  */
 public abstract class AbstractConvertService extends AbstractHandlerService<ConversionRequest, Converter<?, ?>>
 		implements ConvertService {
 
+	/** Maximum number of cached lookups before the cache is discarded. */
+	private static final int MAX_CACHED_LOOKUPS = 1024;
+
+	/**
+	 * Whether a converter class decides based on the source's class alone,
+	 * i.e. does not override any of the object-based {@code canConvert} methods
+	 * of {@link AbstractConverter}.
+	 */
+	private static final ClassValue<Boolean> CLASS_BASED =
+		new ClassValue<Boolean>()
+		{
+
+			@Override
+			protected Boolean computeValue(final Class<?> type) {
+				if (!AbstractConverter.class.isAssignableFrom(type)) return false;
+				try {
+					return inherited(type, "supports", ConversionRequest.class) &&
+						inherited(type, "canConvert", ConversionRequest.class) &&
+						inherited(type, "canConvert", Object.class, Type.class) &&
+						inherited(type, "canConvert", Object.class, Class.class);
+				}
+				catch (final NoSuchMethodException exc) {
+					return false;
+				}
+			}
+
+			private boolean inherited(final Class<?> type, final String name,
+				final Class<?>... params) throws NoSuchMethodException
+			{
+				return type.getMethod(name, params)
+					.getDeclaringClass() == AbstractConverter.class;
+			}
+
+		};
+
+	/** Cache of converter lookups, keyed on (source class, destination type). */
+	private final ConcurrentMap<ConverterKey, Lookup> converterCache =
+		new ConcurrentHashMap<>();
+
+	/** The converter list against which {@link #converterCache} was built. */
+	private volatile List<Converter<?, ?>> cachedInstances;
+
 	// -- ConversionService methods --
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	@Override
@@ -62,6 +122,41 @@ public abstract class AbstractConvertService extends AbstractHandlerService<Conv
 		return ConversionRequest.class;
 	}
 
+	@Override
+	public Converter<?, ?> getHandler(final ConversionRequest request) {
+		final ConverterKey key = ConverterKey.of(request);
+		// NB: Requests without a source type (or without a destination type)
+		// are rare, and handled by the NullConverter; do not cache them.
+		if (key == null) return super.getHandler(request);
+
+		final List<Converter<?, ?>> instances = getInstances();
+		if (instances != cachedInstances) {
+			converterCache.clear();
+			cachedInstances = instances;
+		}
+
+		final Lookup cached = converterCache.get(key);
+		if (cached != null) {
+			if (cached.holds(request)) return cached.handler;
+			// NB: An object-based converter decided differently for this source
+			// object than for the one the lookup was cached from.
+			return super.getHandler(request);
+		}
+
+		final List<Converter<?, ?>> skipped = new ArrayList<>();
+		Converter<?, ?> handler = null;
+		for (final Converter<?, ?> converter : instances) {
+			if (converter.supports(request)) {
+				handler = converter;
+				break;
+			}
+			if (!CLASS_BASED.get(converter.getClass())) skipped.add(converter);
+		}
+		if (converterCache.size() >= MAX_CACHED_LOOKUPS) converterCache.clear();
+		converterCache.put(key, new Lookup(handler, skipped));
+		return handler;
+	}
+
 	@Override
 	public Converter<?, ?> getHandler(final Object src, final Class<?> dest) {
 		return getHandler(new ConversionRequest(src, dest));
@@ -163,8 +258,30 @@ public abstract class AbstractConvertService extends AbstractHandlerService<Conv
 		ConversionUtils.setDelegateService(this, getPriority());
 	}
 
+	// -- Event handlers --
+
+	@EventHandler
+	protected void onEvent(final PluginsAddedEvent evt) {
+		invalidateIfConverters(evt);
+	}
+
+	@EventHandler
+	protected void onEvent(final PluginsRemovedEvent evt) {
+		invalidateIfConverters(evt);
+	}
+
 	// -- Helper methods --
 
+	/** Discards cached lookups if any of the affected plugins is a converter. */
+	private void invalidateIfConverters(final PluginsListEvent evt) {
+		for (final PluginInfo<?> info : evt.getItems()) {
+			if (Converter.class.isAssignableFrom(info.getPluginType())) {
+				converterCache.clear();
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Test two classes; if they match, a third class is added to the provided
 	 * set of classes.
@@ -173,4 +290,73 @@ public abstract class AbstractConvertService extends AbstractHandlerService<Conv
 		if (c1 == c2)
 			classes.add(toAdd);
 	}
+
+	// -- Helper classes --
+
+	/** Key of the converter cache: a (source, destination) type pair. */
+	private static final class ConverterKey {
+
+		private final Type src;
+		private final Type dest;
+
+		private ConverterKey(final Type src, final Type dest) {
+			this.src = src;
+			this.dest = dest;
+		}
+
+		private static ConverterKey of(final ConversionRequest request) {
+			// NB: Converters decide based on the source object's class when an
+			// object is given, and on the declared source type otherwise.
+			final Object srcObject = request.sourceObject();
+			final Type src = srcObject == null ? request.sourceType() : //
+				srcObject.getClass();
+			final Type dest = request.destType();
+			if (src == null || dest == null) return null;
+			return new ConverterKey(src, dest);
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof ConverterKey)) return false;
+			final ConverterKey that = (ConverterKey) o;
+			return src.equals(that.src) && dest.equals(that.dest);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * src.hashCode() + dest.hashCode();
+		}
+	}
+
+	/**
+	 * A cached converter lookup, together with the object-based converters
+	 * whose decisions it depends on.
+	 */
+	private static final class Lookup {
+
+		/** The selected converter, or null if no converter matched. */
+		private final Converter<?, ?> handler;
+
+		/** Object-based converters which came before, and declined. */
+		private final Converter<?, ?>[] skipped;
+
+		/** Whether {@link #handler} must be asked again on each hit. */
+		private final boolean recheck;
+
+		private Lookup(final Converter<?, ?> handler,
+			final List<Converter<?, ?>> skipped)
+		{
+			this.handler = handler;
+			this.skipped = skipped.toArray(new Converter<?, ?>[skipped.size()]);
+			recheck = handler != null && !CLASS_BASED.get(handler.getClass());
+		}
+
+		/** Whether this lookup is also the correct one for the given request. */
+		private boolean holds(final ConversionRequest request) {
+			for (final Converter<?, ?> converter : skipped) {
+				if (converter.supports(request)) return false;
+			}
+			return !recheck || handler.supports(request);
+		}
+	}
 }
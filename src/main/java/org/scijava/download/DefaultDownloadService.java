@@ -32,12 +32,22 @@
 
 package org.scijava.download;
 
+import java.io.EOFException;
+import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.scijava.io.handle.BufferedDataHandle;
 import org.scijava.io.handle.DataHandle;
 import org.scijava.io.handle.DataHandleService;
 import org.scijava.io.handle.DataHandles;
+import org.scijava.io.location.FileLocation;
 import org.scijava.io.location.Location;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -45,9 +55,17 @@ import org.scijava.service.AbstractService;
 import org.scijava.service.Service;
 import org.scijava.task.Task;
 import org.scijava.task.TaskService;
+import org.scijava.thread.ThreadService;
 
 /**
  * Default implementation of {@link DownloadService}.
+ * <p>
+ * Chunked downloads (see {@link #download(Location, Location, int)}) are
+ * supported for {@link FileLocation} destinations: the chunks are written
+ * directly into the destination file at their offsets, and progress is
+ * recorded in a journal file next to it, which is removed once the download
+ * completes.
+ * </p>
  *
  * @author Curtis Rueden
  */
@@ -56,12 +74,18 @@ public class DefaultDownloadService extends AbstractService implements
 	DownloadService
 {
 
+	/** Number of bytes a chunk advances between journal updates. */
+	private static final long CHECKPOINT_SIZE = 1024 * 1024;
+
 	@Parameter
 	private DataHandleService dataHandleService;
 
 	@Parameter
 	private TaskService taskService;
 
+	@Parameter
+	private ThreadService threadService;
+
 	@Override
 	public Download download(final Location source, final Location destination) {
 		final Task task = taskService.createTask("Download");
@@ -93,23 +117,27 @@ public class DefaultDownloadService extends AbstractService implements
 
 		final Task task = taskService.createTask("Download");
 		return new DefaultDownload(source, destination, task, () -> {
-			final Location cached = cache.cachedLocation(source);
 			try (
 				final DataHandle<Location> sourceHandle = dataHandleService.create(source);
-				final DataHandle<Location> cachedHandle = dataHandleService.create(cached);
 				final DataHandle<Location> destHandle = dataHandleService.create(destination)
 			)
 			{
-				if (isCachedHandleValid(source, cache, sourceHandle, cachedHandle)) {
-					// The data is cached; download from the cached source instead.
-					task.setStatusMessage("Retrieving " + source.getURI());
-					DataHandles.copy(cachedHandle, destHandle, task);
+				final boolean hit;
+				try (final DataHandle<Location> cachedHandle = //
+					dataHandleService.create(cache.cachedLocation(source)))
+				{
+					hit = isCachedHandleValid(source, cache, sourceHandle, cachedHandle);
+					if (hit) {
+						// The data is cached; download from the cached source instead.
+						task.setStatusMessage("Retrieving " + source.getURI());
+						DataHandles.copy(cachedHandle, destHandle, task);
+					}
 				}
-				else {
+				cache.accessed(source, hit);
+				if (!hit) {
 					// Data is not yet cached; write to the destination _and_ the cache.
 					task.setStatusMessage("Downloading + caching " + source.getURI());
-					DataHandles.copy(sourceHandle, //
-						new MultiWriteHandle(cachedHandle, destHandle), task);
+					copyAndCache(source, cache, sourceHandle, destHandle, task);
 				}
 			}
 			catch (final IOException exc) {
@@ -121,8 +149,165 @@ public class DefaultDownloadService extends AbstractService implements
 		});
 	}
 
+	@Override
+	public Download download(final Location source, final Location destination,
+		final int chunks)
+	{
+		if (chunks < 2 || !(destination instanceof FileLocation)) {
+			return download(source, destination);
+		}
+		final Task task = taskService.createTask("Download");
+		return new DefaultDownload(source, destination, task, () -> {
+			try (final DataHandle<Location> in = dataHandleService.create(source)) {
+				final long length = in.length();
+				if (length <= 0 || !in.isRandomAccess()) {
+					// NB: The length is unknown, or each chunk would have to transfer
+					// everything before it; a sequential copy is all we can do.
+					try (final DataHandle<Location> out = dataHandleService.create(
+						destination))
+					{
+						task.setStatusMessage("Downloading " + source.getURI());
+						DataHandles.copy(in, out, task);
+					}
+					return;
+				}
+				final File destFile = ((FileLocation) destination).getFile();
+				final URI uri = source.getURI();
+				final DownloadJournal journal = new DownloadJournal(DownloadJournal
+					.journalFile(destFile), uri == null ? "" + source : uri.toString(),
+					length, in.checksum(), in.lastModified(), chunks);
+				downloadChunks(source, destination, destFile, journal, task);
+			}
+			catch (final IOException exc) {
+				// NB: The journal is kept, so that a retry can resume.
+				throw new RuntimeException(exc);
+			}
+		});
+	}
+
 	// -- Helper methods --
 
+	private void downloadChunks(final Location source,
+		final Location destination, final File destFile,
+		final DownloadJournal journal, final Task task) throws IOException
+	{
+		final boolean resumed = destFile.exists() && journal.restore();
+		task.setStatusMessage((resumed ? "Resuming " : "Downloading ") +
+			source.getURI());
+
+		final long length = journal.end(journal.chunks() - 1);
+		try (final DataHandle<Location> out = dataHandleService.create(
+			destination))
+		{
+			if (out.length() != length) out.setLength(length);
+		}
+
+		final AtomicLong progress = new AtomicLong(journal.totalDone());
+		task.setProgressMaximum(length);
+		task.setProgressValue(progress.get());
+
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int c = 0; c < journal.chunks(); c++) {
+			final int chunk = c;
+			futures.add(threadService.run(() -> {
+				downloadChunk(source, destination, journal, chunk, progress, task);
+				return null;
+			}));
+		}
+		try {
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		}
+		catch (final InterruptedException exc) {
+			futures.forEach(f -> f.cancel(true));
+			throw new IOException(exc);
+		}
+		catch (final ExecutionException exc) {
+			futures.forEach(f -> f.cancel(true));
+			final Throwable cause = exc.getCause();
+			if (cause instanceof IOException) throw (IOException) cause;
+			throw new IOException(cause);
+		}
+		if (!task.isCanceled()) journal.delete();
+	}
+
+	/** Copies the remainder of one chunk from the source to the destination. */
+	private void downloadChunk(final Location source,
+		final Location destination, final DownloadJournal journal,
+		final int chunk, final AtomicLong progress, final Task task)
+		throws IOException
+	{
+		final long start = journal.start(chunk);
+		final long end = journal.end(chunk);
+		long pos = start + journal.done(chunk);
+		if (pos >= end) return;
+
+		try (final DataHandle<Location> in = dataHandleService.create(source);
+				final DataHandle<Location> out = dataHandleService.create(
+					destination))
+		{
+			in.seek(pos);
+			out.seek(pos);
+			final byte[] buffer = new byte[64 * 1024];
+			long checkpoint = pos;
+			while (pos < end) {
+				if (task.isCanceled()) break;
+				final int r = in.read(buffer, 0, (int) Math.min(buffer.length,
+					end - pos));
+				if (r <= 0) throw new EOFException("Source ended at " + pos +
+					" instead of " + end);
+				out.write(buffer, 0, r);
+				pos += r;
+				task.setProgressValue(progress.addAndGet(r));
+				if (pos - checkpoint >= CHECKPOINT_SIZE) {
+					flush(out);
+					journal.update(chunk, pos - start);
+					checkpoint = pos;
+				}
+			}
+			flush(out);
+			journal.update(chunk, pos - start);
+		}
+	}
+
+	private void flush(final DataHandle<Location> handle) throws IOException {
+		if (handle instanceof BufferedDataHandle) {
+			((BufferedDataHandle<?>) handle).flush();
+		}
+	}
+
+	/**
+	 * Copies the source data to the destination, and at the same time into a
+	 * staging location of the cache, which is committed once the copy is done.
+	 */
+	private void copyAndCache(final Location source, final LocationCache cache,
+		final DataHandle<Location> sourceHandle,
+		final DataHandle<Location> destHandle, final Task task) throws IOException
+	{
+		final Location staged = cache.stagingLocation(source);
+		try {
+			try (final DataHandle<Location> stagedHandle = //
+				dataHandleService.create(staged))
+			{
+				DataHandles.copy(sourceHandle, //
+					new MultiWriteHandle(stagedHandle, destHandle), task);
+			}
+			if (task.isCanceled()) {
+				// NB: Never publish partial data to the cache.
+				cache.discard(source, staged);
+				return;
+			}
+			cache.commit(source, staged);
+		}
+		catch (final IOException | RuntimeException exc) {
+			cache.discard(source, staged);
+			throw exc;
+		}
+		final String checksum = sourceHandle.checksum();
+		if (checksum != null) cache.saveChecksum(source, checksum);
+	}
+
 	private boolean isCachedHandleValid(final Location source,
 		final LocationCache cache, final DataHandle<Location> sourceHandle,
 		final DataHandle<Location> cachedHandle) throws IOException
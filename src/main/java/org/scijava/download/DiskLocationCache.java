@@ -33,7 +33,22 @@
 package org.scijava.download;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.scijava.io.location.FileLocation;
 import org.scijava.io.location.Location;
@@ -42,16 +57,51 @@ import org.scijava.util.FileUtils;
 
 /**
  * A file-based implementation of {@link LocationCache}.
+ * <p>
+ * Cached files are named after the SHA-256 hash of their source's URI. Fresh
+ * data is written to a private staging file and then renamed into place, and
+ * the cache is kept below its {@link #getMaxSize() maximum size} by evicting
+ * the least recently accessed entries. Bookkeeping is guarded by a lock file,
+ * so that several JVMs may safely share the same cache directory.
+ * </p>
  *
  * @author Curtis Rueden
  */
 public class DiskLocationCache implements LocationCache {
 
+	/** Default maximum total size of the cached data, in bytes. */
+	public static final long DEFAULT_MAX_SIZE = 4L * 1024 * 1024 * 1024;
+
+	private static final String DATA_SUFFIX = ".data";
+	private static final String CHECKSUM_SUFFIX = ".checksum";
+	private static final String STAGING_SUFFIX = ".tmp";
+	private static final String INDEX_FILE = "access.index";
+	private static final String LOCK_FILE = "cache.lock";
+
+	/** Age after which abandoned staging files are cleaned up. */
+	private static final long STALE_STAGING_AGE = 24 * 60 * 60 * 1000;
+
+	/**
+	 * Guards the lock file within this JVM. A {@link FileLock} is held on behalf
+	 * of the whole JVM, so threads must not contend for it among themselves.
+	 */
+	private static final Object LOCK = new Object();
+
 	private File baseDir = new File(System.getProperty("user.home") +
 		File.separator + ".scijava" + File.separator + "cache" + File.separator);
 
 	private boolean cacheFileLocations;
 
+	private long maxSize = DEFAULT_MAX_SIZE;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong commits = new AtomicLong();
+	private final AtomicLong discards = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final AtomicLong committedBytes = new AtomicLong();
+	private final AtomicLong evictedBytes = new AtomicLong();
+
 	// -- DiskLocationCache methods --
 
 	public File getBaseDirectory() {
@@ -75,6 +125,42 @@ public class DiskLocationCache implements LocationCache {
 		cacheFileLocations = enabled;
 	}
 
+	/** Gets the maximum total size of the cached data, in bytes. */
+	public long getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Sets the maximum total size of the cached data, in bytes. When a commit
+	 * pushes the cache over this size, the least recently accessed entries are
+	 * evicted until it fits again.
+	 */
+	public void setMaxSize(final long maxSize) {
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("Negative max size: " + maxSize);
+		}
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Gets the statistics of this cache instance. Hits and misses count
+	 * {@link #accessed accesses}.
+	 */
+	public DiskLocationCacheStats getStats() {
+		return new DiskLocationCacheStats(hits.get(), misses.get(), //
+			commits.get(), discards.get(), evictions.get(), committedBytes.get(),
+			evictedBytes.get());
+	}
+
+	/** Gets the total size of the data currently in the cache, in bytes. */
+	public long size() {
+		long size = 0;
+		for (final File data : dataFiles()) {
+			size += data.length();
+		}
+		return size;
+	}
+
 	// -- LocationCache methods --
 
 	@Override
@@ -88,9 +174,7 @@ public class DiskLocationCache implements LocationCache {
 
 	@Override
 	public Location cachedLocation(final Location source) {
-		if (!canCache(source)) {
-			throw new IllegalArgumentException("Uncacheable source: " + source);
-		}
+		checkCacheable(source);
 		return new FileLocation(cachedData(source));
 	}
 
@@ -106,21 +190,208 @@ public class DiskLocationCache implements LocationCache {
 		throws IOException
 	{
 		final File cachedChecksum = cachedChecksum(source);
-		FileUtils.writeFile(cachedChecksum, DigestUtils.bytes(checksum));
+		final File tmp = stagingFile(cachedChecksum);
+		FileUtils.writeFile(tmp, DigestUtils.bytes(checksum));
+		move(tmp, cachedChecksum);
+	}
+
+	@Override
+	public Location stagingLocation(final Location source) {
+		checkCacheable(source);
+		return new FileLocation(stagingFile(cachedData(source)));
+	}
+
+	@Override
+	public void commit(final Location source, final Location staged)
+		throws IOException
+	{
+		final File data = cachedData(source);
+		final File tmp = ((FileLocation) staged).getFile();
+		final String key = key(source);
+		final long length = tmp.length();
+		locked(() -> {
+			// NB: Any checksum belongs to the data being replaced.
+			cachedChecksum(source).delete();
+			move(tmp, data);
+			final Properties index = loadIndex();
+			index.setProperty(key, "" + System.currentTimeMillis());
+			evict(index, key);
+			saveIndex(index);
+		});
+		commits.incrementAndGet();
+		committedBytes.addAndGet(length);
+	}
+
+	@Override
+	public void discard(final Location source, final Location staged) {
+		((FileLocation) staged).getFile().delete();
+		discards.incrementAndGet();
+	}
+
+	@Override
+	public void accessed(final Location source, final boolean hit) {
+		(hit ? hits : misses).incrementAndGet();
+		if (!hit) return; // NB: A commit will follow, which records the access.
+		final String key = key(source);
+		try {
+			locked(() -> {
+				final Properties index = loadIndex();
+				index.setProperty(key, "" + System.currentTimeMillis());
+				saveIndex(index);
+			});
+		}
+		catch (final IOException exc) {
+			// NB: The access index only guides eviction; losing an update is
+			// harmless, so we do not let it fail the caller.
+		}
 	}
 
 	// -- Helper methods --
 
+	private void checkCacheable(final Location source) {
+		if (!canCache(source)) {
+			throw new IllegalArgumentException("Uncacheable source: " + source);
+		}
+	}
+
 	private File cachedData(final Location source) {
-		return cachedFile(source, ".data");
+		return cachedFile(source, DATA_SUFFIX);
 	}
 
 	private File cachedChecksum(final Location source) {
-		return cachedFile(source, ".checksum");
+		return cachedFile(source, CHECKSUM_SUFFIX);
 	}
 
 	private File cachedFile(final Location source, final String suffix) {
-		final String hexCode = Integer.toHexString(source.hashCode());
-		return new File(getBaseDirectory(), hexCode + suffix);
+		return new File(getBaseDirectory(), key(source) + suffix);
+	}
+
+	/** Gets the collision-free cache key of the given source. */
+	private String key(final Location source) {
+		final byte[] uri = DigestUtils.bytes(source.getURI().toString());
+		return DigestUtils.hex(DigestUtils.digest("SHA-256", uri));
+	}
+
+	/** Gets a fresh staging file, private to the caller, for the given file. */
+	private File stagingFile(final File file) {
+		return new File(file.getParentFile(), file.getName() + "." + //
+			UUID.randomUUID() + STAGING_SUFFIX);
+	}
+
+	private File[] dataFiles() {
+		final File[] files = getBaseDirectory().listFiles((dir, name) -> name
+			.endsWith(DATA_SUFFIX));
+		return files == null ? new File[0] : files;
+	}
+
+	/**
+	 * Evicts the least recently accessed entries until the cache fits within
+	 * its maximum size. The entry with the given key is never evicted.
+	 */
+	private void evict(final Properties index, final String keep) {
+		final List<File> candidates = new ArrayList<>();
+		long size = 0;
+		for (final File data : dataFiles()) {
+			size += data.length();
+			if (!key(data).equals(keep)) candidates.add(data);
+		}
+		candidates.sort((a, b) -> Long.compare(lastAccess(index, a), //
+			lastAccess(index, b)));
+		for (final File data : candidates) {
+			if (size <= maxSize) break;
+			final long length = data.length();
+			if (!data.delete()) continue;
+			new File(data.getParentFile(), key(data) + CHECKSUM_SUFFIX).delete();
+			index.remove(key(data));
+			size -= length;
+			evictions.incrementAndGet();
+			evictedBytes.addAndGet(length);
+		}
+
+		// Clean up staging files abandoned by crashed writers.
+		final long staleTime = System.currentTimeMillis() - STALE_STAGING_AGE;
+		final File[] staging = getBaseDirectory().listFiles((dir, name) -> name
+			.endsWith(STAGING_SUFFIX));
+		if (staging == null) return;
+		for (final File file : staging) {
+			if (file.lastModified() < staleTime) file.delete();
+		}
+	}
+
+	private static String key(final File data) {
+		final String name = data.getName();
+		return name.substring(0, name.length() - DATA_SUFFIX.length());
+	}
+
+	private static long lastAccess(final Properties index, final File data) {
+		final String time = index.getProperty(key(data));
+		if (time != null) {
+			try {
+				return Long.parseLong(time);
+			}
+			catch (final NumberFormatException exc) {
+				// NB: Fall back to the modification time below.
+			}
+		}
+		return data.lastModified();
+	}
+
+	private Properties loadIndex() {
+		final Properties index = new Properties();
+		final File file = new File(getBaseDirectory(), INDEX_FILE);
+		if (!file.isFile()) return index;
+		try (final InputStream in = new FileInputStream(file)) {
+			index.load(in);
+		}
+		catch (final IOException | IllegalArgumentException exc) {
+			// NB: A damaged index only costs us the eviction order.
+			index.clear();
+		}
+		return index;
+	}
+
+	private void saveIndex(final Properties index) throws IOException {
+		final File file = new File(getBaseDirectory(), INDEX_FILE);
+		final File tmp = stagingFile(file);
+		try (final OutputStream out = new FileOutputStream(tmp)) {
+			index.store(out, "SciJava cache access times");
+		}
+		move(tmp, file);
+	}
+
+	/**
+	 * Runs the given operation while holding the cache directory's lock, which
+	 * excludes other threads as well as other JVMs.
+	 */
+	private void locked(final LockedOperation op) throws IOException {
+		synchronized (LOCK) {
+			final File lockFile = new File(getBaseDirectory(), LOCK_FILE);
+			try (final FileChannel channel = FileChannel.open(lockFile.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+					final FileLock lock = channel.lock())
+			{
+				op.run();
+			}
+		}
+	}
+
+	private static void move(final File source, final File target)
+		throws IOException
+	{
+		try {
+			Files.move(source.toPath(), target.toPath(),
+				StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (final AtomicMoveNotSupportedException exc) {
+			Files.move(source.toPath(), target.toPath(),
+				StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	// -- Helper classes --
+
+	private interface LockedOperation {
+
+		void run() throws IOException;
 	}
 }
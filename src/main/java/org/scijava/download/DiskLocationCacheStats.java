@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.download;
+
+/**
+ * Immutable snapshot of the statistics of a {@link DiskLocationCache}.
+ */
+public class DiskLocationCacheStats {
+
+	private final long hitCount;
+	private final long missCount;
+	private final long commitCount;
+	private final long discardCount;
+	private final long evictionCount;
+	private final long committedBytes;
+	private final long evictedBytes;
+
+	public DiskLocationCacheStats(final long hitCount, final long missCount,
+		final long commitCount, final long discardCount, final long evictionCount,
+		final long committedBytes, final long evictedBytes)
+	{
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.commitCount = commitCount;
+		this.discardCount = discardCount;
+		this.evictionCount = evictionCount;
+		this.committedBytes = committedBytes;
+		this.evictedBytes = evictedBytes;
+	}
+
+	/** Gets the number of accesses which found the data in the cache. */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/** Gets the number of accesses which did not find the data in the cache. */
+	public long getMissCount() {
+		return missCount;
+	}
+
+	/** Gets the number of staging locations committed into the cache. */
+	public long getCommitCount() {
+		return commitCount;
+	}
+
+	/** Gets the number of staging locations discarded without committing. */
+	public long getDiscardCount() {
+		return discardCount;
+	}
+
+	/** Gets the number of entries evicted to keep within the maximum size. */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	/** Gets the total size of the data committed into the cache, in bytes. */
+	public long getCommittedBytes() {
+		return committedBytes;
+	}
+
+	/** Gets the total size of the data evicted from the cache, in bytes. */
+	public long getEvictedBytes() {
+		return evictedBytes;
+	}
+
+	/** Gets the ratio of hits to accesses, or 1 if there were no accesses. */
+	public double getHitRate() {
+		final long requests = hitCount + missCount;
+		return requests == 0 ? 1 : (double) hitCount / requests;
+	}
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		return "hits=" + hitCount + ", misses=" + missCount + ", commits=" +
+			commitCount + ", discards=" + discardCount + ", evictions=" +
+			evictionCount + ", committedBytes=" + committedBytes +
+			", evictedBytes=" + evictedBytes;
+	}
+
+}
@@ -0,0 +1,191 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.download;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Date;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Records the progress of a chunked download, so that an interrupted download
+ * can resume where it left off.
+ * <p>
+ * The journal is a small properties file stored next to the destination file.
+ * It identifies the source by URI, length, checksum and modification time,
+ * and records how many bytes of each chunk have been written. A journal whose
+ * source identity does not match the current source is discarded.
+ * </p>
+ */
+class DownloadJournal {
+
+	/** Suffix appended to the destination file name to name the journal. */
+	static final String SUFFIX = ".download";
+
+	private final File file;
+	private final String source;
+	private final long length;
+	private final String checksum;
+	private final long lastModified;
+	private final long[] done;
+
+	DownloadJournal(final File file, final String source, final long length,
+		final String checksum, final Date lastModified, final int chunks)
+	{
+		this.file = file;
+		this.source = source;
+		this.length = length;
+		this.checksum = checksum;
+		this.lastModified = lastModified == null ? 0 : lastModified.getTime();
+		done = new long[chunks];
+	}
+
+	/** Gets the journal file for the given destination file. */
+	static File journalFile(final File destination) {
+		return new File(destination.getPath() + SUFFIX);
+	}
+
+	// -- DownloadJournal methods --
+
+	/** Gets the number of chunks into which the download is split. */
+	int chunks() {
+		return done.length;
+	}
+
+	/** Gets the offset of the first byte of the given chunk. */
+	long start(final int chunk) {
+		return chunk * length / done.length;
+	}
+
+	/** Gets the offset just past the last byte of the given chunk. */
+	long end(final int chunk) {
+		return (chunk + 1) * length / done.length;
+	}
+
+	/** Gets the number of bytes of the given chunk written so far. */
+	synchronized long done(final int chunk) {
+		return done[chunk];
+	}
+
+	/** Gets the number of bytes written so far, over all chunks. */
+	synchronized long totalDone() {
+		long total = 0;
+		for (final long d : done) {
+			total += d;
+		}
+		return total;
+	}
+
+	/**
+	 * Restores the progress recorded in the journal file, if it exists and
+	 * describes the same source and chunking.
+	 *
+	 * @return true iff progress was restored
+	 */
+	synchronized boolean restore() {
+		if (!file.isFile()) return false;
+		final Properties props = new Properties();
+		try (final InputStream in = new FileInputStream(file)) {
+			props.load(in);
+		}
+		catch (final IOException exc) {
+			return false;
+		}
+		if (!Objects.equals(source, props.getProperty("source")) || //
+			!Objects.equals("" + length, props.getProperty("length")) || //
+			!Objects.equals(checksum == null ? "" : checksum, //
+				props.getProperty("checksum")) || //
+			!Objects.equals("" + lastModified, props.getProperty("lastModified")) ||
+			!Objects.equals("" + done.length, props.getProperty("chunks")))
+		{
+			return false;
+		}
+		final long[] restored = new long[done.length];
+		try {
+			for (int c = 0; c < done.length; c++) {
+				restored[c] = Long.parseLong(props.getProperty("chunk." + c, "0"));
+				if (restored[c] < 0 || restored[c] > end(c) - start(c)) return false;
+			}
+		}
+		catch (final NumberFormatException exc) {
+			return false;
+		}
+		System.arraycopy(restored, 0, done, 0, done.length);
+		return true;
+	}
+
+	/**
+	 * Records that the given number of bytes of a chunk have been written, and
+	 * persists the journal. Callers must ensure the bytes have actually reached
+	 * the destination first.
+	 */
+	synchronized void update(final int chunk, final long bytesDone)
+		throws IOException
+	{
+		done[chunk] = bytesDone;
+		save();
+	}
+
+	/** Deletes the journal file, once the download is complete. */
+	synchronized void delete() {
+		file.delete();
+	}
+
+	// -- Helper methods --
+
+	private void save() throws IOException {
+		final Properties props = new Properties();
+		props.setProperty("source", source);
+		props.setProperty("length", "" + length);
+		props.setProperty("checksum", checksum == null ? "" : checksum);
+		props.setProperty("lastModified", "" + lastModified);
+		props.setProperty("chunks", "" + done.length);
+		for (int c = 0; c < done.length; c++) {
+			props.setProperty("chunk." + c, "" + done[c]);
+		}
+		final File tmp = new File(file.getPath() + ".tmp");
+		try (final OutputStream out = new FileOutputStream(tmp)) {
+			props.store(out, "SciJava download progress");
+		}
+		Files.move(tmp.toPath(), file.toPath(),
+			StandardCopyOption.REPLACE_EXISTING);
+	}
+
+}
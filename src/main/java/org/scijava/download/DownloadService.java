@@ -32,6 +32,7 @@
 
 package org.scijava.download;
 
+import org.scijava.io.handle.DataHandle;
 import org.scijava.io.location.Location;
 import org.scijava.service.SciJavaService;
 
@@ -62,4 +63,26 @@ public interface DownloadService extends SciJavaService {
 	 *          stored for next time.
 	 */
 	Download download(Location source, Location destination, LocationCache cache);
+
+	/**
+	 * Downloads data from the given source, storing it into the given
+	 * destination, fetching several ranges of the source concurrently.
+	 * <p>
+	 * Chunked downloads are only possible when the source's length is known and
+	 * it supports random access (see {@link DataHandle#isRandomAccess()}).
+	 * Implementations may also record the progress of each chunk, so that an
+	 * interrupted download resumes rather than restarts when requested again.
+	 * Otherwise, the data is downloaded sequentially, as with
+	 * {@link #download(Location, Location)}.
+	 * </p>
+	 *
+	 * @param source The location of the needed data.
+	 * @param destination The location where the needed data should be stored.
+	 * @param chunks The number of ranges to fetch concurrently.
+	 */
+	default Download download(final Location source, final Location destination,
+		final int chunks)
+	{
+		return download(source, destination);
+	}
 }
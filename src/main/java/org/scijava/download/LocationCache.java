@@ -76,4 +76,58 @@ public interface LocationCache {
 	 * @throws IOException If something goes wrong caching the checksum.
 	 */
 	void saveChecksum(Location source, String checksum) throws IOException;
+
+	/**
+	 * Gets a location to which fresh data for the given source may be written.
+	 * Once the data is complete, it must be handed to {@link #commit}, or to
+	 * {@link #discard} if writing it failed.
+	 * <p>
+	 * The default implementation writes directly to the
+	 * {@link #cachedLocation(Location) cached location}; implementations which
+	 * can do so should instead return a private staging location, so that
+	 * partially written data is never visible to readers.
+	 * </p>
+	 *
+	 * @param source The source location whose data will be cached.
+	 * @return A {@link Location} to which the source data should be written.
+	 * @throws IOException If something goes wrong preparing the location.
+	 */
+	default Location stagingLocation(final Location source) throws IOException {
+		return cachedLocation(source);
+	}
+
+	/**
+	 * Publishes data written to a {@link #stagingLocation staging location} as
+	 * the cached data of the given source.
+	 *
+	 * @param source The source location whose data was cached.
+	 * @param staged The staging location to which the data was written.
+	 * @throws IOException If something goes wrong publishing the data.
+	 */
+	default void commit(final Location source, final Location staged)
+		throws IOException
+	{
+		// NB: No action needed by default.
+	}
+
+	/**
+	 * Throws away data written to a {@link #stagingLocation staging location}
+	 * which will not be committed.
+	 *
+	 * @param source The source location whose data was being cached.
+	 * @param staged The staging location to which the data was written.
+	 */
+	default void discard(final Location source, final Location staged) {
+		// NB: No action needed by default.
+	}
+
+	/**
+	 * Notes that the cached data of the given source was looked up.
+	 *
+	 * @param source The source location whose cached data was looked up.
+	 * @param hit Whether valid cached data was found.
+	 */
+	default void accessed(final Location source, final boolean hit) {
+		// NB: No action needed by default.
+	}
 }
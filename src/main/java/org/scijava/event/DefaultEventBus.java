@@ -34,8 +34,20 @@ package org.scijava.event;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.bushe.swing.event.CleanupEvent;
 import org.bushe.swing.event.ThreadSafeEventService;
@@ -59,6 +71,26 @@ public class DefaultEventBus extends ThreadSafeEventService {
 	private final ThreadService threadService;
 	private final LogService log;
 
+	/** Dispatch mode for events without a more specific mode. */
+	private volatile EventDispatchMode dispatchMode =
+		EventDispatchMode.DISPATCH_THREAD;
+
+	/** Dispatch modes assigned to specific event types. */
+	private final Map<Class<?>, EventDispatchMode> dispatchModes =
+		new ConcurrentHashMap<>();
+
+	/** Worker pool for {@link EventDispatchMode#ASYNC} delivery. */
+	private ExecutorService workers;
+
+	/** True iff {@link #shutdown()} has been called. */
+	private boolean shutdown;
+
+	/**
+	 * Per-subscriber queues for {@link EventDispatchMode#ASYNC} delivery. Keyed
+	 * by identity, since proxy subscribers do not support hashing.
+	 */
+	private final Map<Object, SerialQueue> lanes = new IdentityHashMap<>();
+
 	public DefaultEventBus(final ThreadService threadService,
 		final LogService log)
 	{
@@ -69,6 +101,58 @@ public class DefaultEventBus extends ThreadSafeEventService {
 
 	// -- DefaultEventBus methods --
 
+	/** Gets the dispatch mode for events without a more specific mode. */
+	public EventDispatchMode getDispatchMode() {
+		return dispatchMode;
+	}
+
+	/** Sets the dispatch mode for events without a more specific mode. */
+	public void setDispatchMode(final EventDispatchMode mode) {
+		if (mode == null) throw new NullPointerException("Null dispatch mode");
+		dispatchMode = mode;
+	}
+
+	/**
+	 * Gets the dispatch mode for the given event type: the mode assigned to the
+	 * type or its nearest assigned supertype, or else the default mode.
+	 */
+	public EventDispatchMode getDispatchMode(final Class<?> eventType) {
+		if (dispatchModes.isEmpty()) return dispatchMode;
+		for (Class<?> c = eventType; c != null; c = c.getSuperclass()) {
+			final EventDispatchMode mode = dispatchModes.get(c);
+			if (mode != null) return mode;
+		}
+		return dispatchMode;
+	}
+
+	/**
+	 * Sets the dispatch mode for the given event type and its subtypes.
+	 *
+	 * @param mode The mode to use, or null to revert to the default mode.
+	 */
+	public void setDispatchMode(final Class<?> eventType,
+		final EventDispatchMode mode)
+	{
+		if (mode == null) dispatchModes.remove(eventType);
+		else dispatchModes.put(eventType, mode);
+	}
+
+	/**
+	 * Stops the worker threads used for asynchronous delivery. Events which are
+	 * still queued for {@link EventDispatchMode#ASYNC} delivery, or which are
+	 * published in that mode afterwards, are dropped.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			shutdown = true;
+			if (workers != null) workers.shutdown();
+			workers = null;
+		}
+		synchronized (lanes) {
+			lanes.clear();
+		}
+	}
+
 	public void publishNow(final Object event) {
 		if (event == null) {
 			throw new IllegalArgumentException("Cannot publish null event.");
@@ -181,6 +265,18 @@ public class DefaultEventBus extends ThreadSafeEventService {
 		final StackTraceElement[] callingStack)
 	{
 		if (subscribers == null || subscribers.isEmpty()) return;
+		final EventDispatchMode mode = event == null ? dispatchMode
+			: getDispatchMode(event.getClass());
+		if (mode == EventDispatchMode.CALLING_THREAD) {
+			super.publish(event, topic, eventObj, subscribers, vetoSubscribers,
+				callingStack);
+			return;
+		}
+		if (mode == EventDispatchMode.ASYNC) {
+			publishAsync(event, topic, eventObj, subscribers, vetoSubscribers,
+				callingStack);
+			return;
+		}
 		try {
 			threadService.invoke(new Runnable() {
 
@@ -220,4 +316,158 @@ public class DefaultEventBus extends ThreadSafeEventService {
 		});
 	}
 
+	/**
+	 * Delivers the event to each subscriber via that subscriber's own
+	 * {@link SerialQueue}, so that every subscriber sees events in publication
+	 * order while different subscribers proceed independently.
+	 */
+	private void publishAsync(final Object event, final String topic,
+		final Object eventObj,
+		@SuppressWarnings("rawtypes") final List subscribers,
+		@SuppressWarnings("rawtypes") final List vetoSubscribers,
+		final StackTraceElement[] callingStack)
+	{
+		if (vetoSubscribers != null && !vetoSubscribers.isEmpty()) {
+			// NB: Veto decisions apply to the event as a whole, so deliver it to
+			// all subscribers together, once each of their queues has reached it.
+			final Set<Object> distinct = Collections.newSetFromMap(
+				new IdentityHashMap<>());
+			distinct.addAll(subscribers);
+			final Barrier barrier = new Barrier(distinct.size(),
+				() -> DefaultEventBus.super.publish(event, topic, eventObj,
+					subscribers, vetoSubscribers, callingStack));
+			// NB: Queue the barrier on all lanes at once, so that barriers are in
+			// the same order on every lane, and cannot wait for each other.
+			synchronized (lanes) {
+				for (final Object subscriber : distinct) {
+					enqueue(subscriber, barrier);
+				}
+			}
+			return;
+		}
+		for (final Object subscriber : subscribers) {
+			final List<Object> single = Collections.singletonList(subscriber);
+			enqueue(subscriber, () -> DefaultEventBus.super.publish(event, topic,
+				eventObj, single, null, callingStack));
+		}
+	}
+
+	/** Queues the given task on the serial queue of the given subscriber. */
+	private void enqueue(final Object subscriber, final Runnable task) {
+		synchronized (lanes) {
+			final SerialQueue lane = lanes.get(subscriber);
+			if (lane != null) {
+				lane.tasks.add(task);
+				return;
+			}
+			final SerialQueue newLane = new SerialQueue(subscriber);
+			newLane.tasks.add(task);
+			lanes.put(subscriber, newLane);
+			newLane.scheduleNext();
+		}
+	}
+
+	/**
+	 * Runs the given task on the workers, then resumes the given lanes. If the
+	 * bus has been shut down, the lanes are dropped instead. Must hold the
+	 * lanes lock.
+	 */
+	private void execute(final Runnable task, final List<SerialQueue> resume) {
+		final ExecutorService pool = workers();
+		if (pool == null) {
+			for (final SerialQueue lane : resume) {
+				lane.tasks.clear();
+				lanes.remove(lane.subscriber, lane);
+			}
+			return;
+		}
+		pool.execute(() -> {
+			try {
+				task.run();
+			}
+			catch (final RuntimeException exc) {
+				log.error(exc);
+			}
+			finally {
+				synchronized (lanes) {
+					for (final SerialQueue lane : resume) {
+						lane.scheduleNext();
+					}
+				}
+			}
+		});
+	}
+
+	/** Gets the worker pool, or null if the bus has been shut down. */
+	private synchronized ExecutorService workers() {
+		if (shutdown) return null;
+		if (workers == null) {
+			final int threads = Runtime.getRuntime().availableProcessors();
+			final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+				1, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadService);
+			// NB: Do not keep idle threads around; they would keep the JVM alive.
+			pool.allowCoreThreadTimeOut(true);
+			workers = pool;
+		}
+		return workers;
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Runs the tasks for one subscriber one at a time, in submission order, on
+	 * the shared worker pool. Queues exist only while they have pending tasks.
+	 */
+	private class SerialQueue {
+
+		private final Object subscriber;
+		private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+		private SerialQueue(final Object subscriber) {
+			this.subscriber = subscriber;
+		}
+
+		/** Submits the next task to the workers. Must hold the lanes lock. */
+		private void scheduleNext() {
+			final Runnable task = tasks.poll();
+			if (task == null) {
+				lanes.remove(subscriber, this);
+				return;
+			}
+			if (task instanceof Barrier) {
+				// NB: This lane waits until the barrier's task has run.
+				((Barrier) task).arrive(this);
+				return;
+			}
+			execute(task, Collections.singletonList(this));
+		}
+	}
+
+	/**
+	 * A task queued on several lanes, which runs once all of them have reached
+	 * it, and holds each of them until it is done.
+	 */
+	private class Barrier implements Runnable {
+
+		private final int parties;
+		private final Runnable task;
+		private final List<SerialQueue> arrived = new ArrayList<>();
+
+		private Barrier(final int parties, final Runnable task) {
+			this.parties = parties;
+			this.task = task;
+		}
+
+		/** Notes that the given lane reached this barrier. Must hold lanes lock. */
+		private void arrive(final SerialQueue lane) {
+			arrived.add(lane);
+			if (arrived.size() == parties) execute(this, arrived);
+		}
+
+		@Override
+		public void run() {
+			task.run();
+		}
+	}
+
 }
@@ -32,16 +32,19 @@
 
 package org.scijava.event;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.bushe.swing.event.annotation.AbstractProxySubscriber;
 import org.bushe.swing.event.annotation.BaseProxySubscriber;
@@ -84,11 +87,22 @@ public class DefaultEventService extends AbstractService implements
 
 	private DefaultEventBus eventBus;
 
+	/** Uniform signature of compiled event handler invokers. */
+	private static final MethodType INVOKER_TYPE = MethodType.methodType(
+		void.class, Object.class, Object.class);
+
 	/**
 	 * A cache for mapping {@link Method}s to the {@link SciJavaEvent} class taken
 	 * as parameters. Only methods with event parameters will cached here.
 	 */
-	private final Map<Method, Class<?>> eventClasses = new HashMap<>();
+	private final Map<Method, Class<?>> eventClasses = new ConcurrentHashMap<>();
+
+	/**
+	 * A cache for mapping event handler {@link Method}s to {@link MethodHandle}s
+	 * of type {@code (Object, Object)void} which invoke them, so that events are
+	 * not dispatched via reflection.
+	 */
+	private final Map<Method, MethodHandle> invokers = new ConcurrentHashMap<>();
 
 	/**
 	 * Set of claimed {@link EventHandler#key()}s. Additional event handlers
@@ -164,11 +178,29 @@ public class DefaultEventService extends AbstractService implements
 		return typedList;
 	}
 
+	@Override
+	public EventDispatchMode getDispatchMode() {
+		return eventBus.getDispatchMode();
+	}
+
+	@Override
+	public void setDispatchMode(final EventDispatchMode mode) {
+		eventBus.setDispatchMode(mode);
+	}
+
+	@Override
+	public void setDispatchMode(final Class<? extends SciJavaEvent> c,
+		final EventDispatchMode mode)
+	{
+		eventBus.setDispatchMode(c, mode);
+	}
+
 	// -- Service methods --
 
 	@Override
 	public void initialize() {
 		eventBus = new DefaultEventBus(threadService, log);
+		eventBus.setDispatchMode(EventDispatchMode.fromSystemProperty());
 		super.initialize();
 	}
 
@@ -177,6 +209,7 @@ public class DefaultEventService extends AbstractService implements
 	@Override
 	public void dispose() {
 		eventBus.clearAllSubscribers();
+		eventBus.shutdown();
 	}
 
 	// -- Helper methods --
@@ -229,6 +262,25 @@ public class DefaultEventService extends AbstractService implements
 		return typedClass;
 	}
 
+	/** Gets a method handle which invokes the given event handler method. */
+	private MethodHandle getInvoker(final Method m) {
+		return invokers.computeIfAbsent(m, method -> {
+			// allow calling of non-public methods
+			method.setAccessible(true);
+			try {
+				MethodHandle handle = MethodHandles.lookup().unreflect(method);
+				if (Modifier.isStatic(method.getModifiers())) {
+					// NB: Ignore the receiver argument.
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+				return handle.asType(INVOKER_TYPE);
+			}
+			catch (final IllegalAccessException exc) {
+				throw new IllegalStateException(exc);
+			}
+		});
+	}
+
 	// -- Event handlers garbage collection preventer --
 
 	private WeakHashMap<Object, List<ProxySubscriber<?>>> keepEm =
@@ -278,13 +330,13 @@ public class DefaultEventService extends AbstractService implements
 
 		private final Class<E> c;
 
+		private final MethodHandle invoker;
+
 		public ProxySubscriber(final Class<E> c, final Object o, final Method m) {
 			super(o, m, ReferenceStrength.WEAK, eventBus, false);
 			keepIt(o, this);
 			this.c = c;
-
-			// allow calling of non-public methods
-			m.setAccessible(true);
+			invoker = getInvoker(m);
 		}
 
 		/**
@@ -295,22 +347,15 @@ public class DefaultEventService extends AbstractService implements
 		 */
 		@Override
 		public void onEvent(final E event) {
+			final Object obj = getProxiedSubscriber();
+			if (obj == null) return; // has been garbage collected
 			try {
-				final Object obj = getProxiedSubscriber();
-				if (obj == null) return; // has been garbage collected
-				getSubscriptionMethod().invoke(obj, event);
+				invoker.invokeExact(obj, (Object) event);
 			}
-			catch (final IllegalAccessException exc) {
+			catch (final Throwable t) {
 				log.error("Exception during event handling:\n\t[Event] " +
 					event.getClass().getName() + ":" + event + "\n\t[Subscriber] " +
-					getProxiedSubscriber() + "\n\t[Method] " + getSubscriptionMethod(),
-					exc);
-			}
-			catch (final InvocationTargetException exc) {
-				log.error("Exception during event handling:\n\t[Event] " +
-					event.getClass().getName() + event + "\n\t[Subscriber] " +
-					getProxiedSubscriber() + "\n\t[Method] " + getSubscriptionMethod(),
-					exc.getCause());
+					obj + "\n\t[Method] " + getSubscriptionMethod(), t);
 			}
 		}
 
@@ -0,0 +1,83 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.event;
+
+/**
+ * Strategies for delivering events published via
+ * {@link EventService#publish(SciJavaEvent)}.
+ *
+ * @see EventService#setDispatchMode(EventDispatchMode)
+ * @see EventService#setDispatchMode(Class, EventDispatchMode)
+ */
+public enum EventDispatchMode {
+
+	/**
+	 * Delivers events on the dispatch thread, as identified by
+	 * {@link org.scijava.thread.ThreadService#isDispatchThread()}, blocking the
+	 * publishing thread until all subscribers have handled the event. This is
+	 * the default.
+	 */
+	DISPATCH_THREAD,
+
+	/**
+	 * Delivers events directly on the publishing thread, without any hand-off.
+	 * Concurrent publishers are not serialized against each other.
+	 */
+	CALLING_THREAD,
+
+	/**
+	 * Delivers events on a dedicated worker pool, returning immediately. Each
+	 * subscriber receives events in the order they were published, one at a
+	 * time, but different subscribers may handle events concurrently.
+	 */
+	ASYNC;
+
+	/** System property for the initial dispatch mode of new contexts. */
+	public static final String PROPERTY = "scijava.event.dispatch";
+
+	/**
+	 * Gets the dispatch mode specified by the {@link #PROPERTY} system property,
+	 * or {@link #DISPATCH_THREAD} if unset or invalid.
+	 */
+	public static EventDispatchMode fromSystemProperty() {
+		final String value = System.getProperty(PROPERTY);
+		if (value == null) return DISPATCH_THREAD;
+		try {
+			return valueOf(value.trim().toUpperCase().replace('-', '_'));
+		}
+		catch (final IllegalArgumentException exc) {
+			return DISPATCH_THREAD;
+		}
+	}
+
+}
@@ -140,4 +140,38 @@ public interface EventService extends SciJavaService {
 	 */
 	<E extends SciJavaEvent> List<EventSubscriber<E>> getSubscribers(Class<E> c);
 
+	/**
+	 * Gets how events published with {@link #publish} are delivered, for event
+	 * types without a more specific dispatch mode.
+	 */
+	default EventDispatchMode getDispatchMode() {
+		return EventDispatchMode.DISPATCH_THREAD;
+	}
+
+	/**
+	 * Sets how events published with {@link #publish} are delivered, for event
+	 * types without a more specific dispatch mode. The initial mode is given by
+	 * the {@link EventDispatchMode#PROPERTY} system property.
+	 *
+	 * @throws UnsupportedOperationException If this event service does not
+	 *           support alternative dispatch modes.
+	 */
+	default void setDispatchMode(final EventDispatchMode mode) {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Sets how events of the given type (and subtypes thereof) published with
+	 * {@link #publish} are delivered.
+	 *
+	 * @param mode The dispatch mode, or null to use the service-wide mode.
+	 * @throws UnsupportedOperationException If this event service does not
+	 *           support alternative dispatch modes.
+	 */
+	default void setDispatchMode(final Class<? extends SciJavaEvent> c,
+		final EventDispatchMode mode)
+	{
+		throw new UnsupportedOperationException();
+	}
+
 }
@@ -209,4 +209,13 @@ public interface ByteBank {
 	default boolean isReadOnly() {
 		return false;
 	}
+
+	/**
+	 * Notifies the bank that a {@link org.scijava.io.handle.BytesHandle} over it
+	 * has been closed. Banks which hold resources that should not outlive their
+	 * handle may free them here; by default, nothing happens.
+	 */
+	default void handleClosed() {
+		// NB: No action needed.
+	}
 }
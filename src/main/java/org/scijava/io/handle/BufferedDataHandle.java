@@ -0,0 +1,452 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
+
+import org.scijava.io.location.Location;
+import org.scijava.util.Bytes;
+
+/**
+ * {@link DataHandle} decorator which adds read-ahead and write-behind
+ * buffering to another handle.
+ * <p>
+ * Reads are served from a page of bytes fetched from the wrapped handle in a
+ * single bulk {@link DataHandle#read(byte[], int, int)} call, and contiguous
+ * writes are accumulated in a separate buffer which is flushed to the wrapped
+ * handle when it fills up, when a non-contiguous write or a read outside the
+ * read buffer occurs, on {@link #setLength(long)}, on {@link #flush()} and on
+ * {@link #close()}. This makes the byte-at-a-time default implementations of
+ * {@link DataHandle} (e.g., {@link #readShort()} and {@link #readLine()})
+ * cheap for handles which do not override them.
+ * </p>
+ * <p>
+ * {@link DataHandleService#create} wraps handles whose
+ * {@link DataHandle#prefersBuffering()} method returns true automatically.
+ * </p>
+ */
+public class BufferedDataHandle<L extends Location> extends
+	AbstractDataHandle<L>
+{
+
+	/** Default size of the read and write buffers. */
+	public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+	/** Minimum size of the read and write buffers. */
+	public static final int MIN_BUFFER_SIZE = 8;
+
+	// -- Fields --
+
+	/** The wrapped handle. */
+	private final DataHandle<L> handle;
+
+	/** Read-ahead buffer. */
+	private final byte[] readBuf;
+
+	/** Offset into the wrapped handle of the first byte in the read buffer. */
+	private long readStart;
+
+	/** Number of valid bytes in the read buffer. */
+	private int readLen;
+
+	/** Write-behind buffer. */
+	private final byte[] writeBuf;
+
+	/** Offset into the wrapped handle of the first byte in the write buffer. */
+	private long writeStart;
+
+	/** Number of pending bytes in the write buffer. */
+	private int writeLen;
+
+	/** Current offset into the stream. */
+	private long offset;
+
+	public BufferedDataHandle(final DataHandle<L> handle) {
+		this(handle, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_SIZE);
+	}
+
+	public BufferedDataHandle(final DataHandle<L> handle,
+		final int readBufferSize, final int writeBufferSize)
+	{
+		// NB: Each buffer must be able to hold at least one long value.
+		if (readBufferSize < MIN_BUFFER_SIZE || //
+			writeBufferSize < MIN_BUFFER_SIZE)
+		{
+			throw new IllegalArgumentException("Invalid buffer size: " +
+				readBufferSize + ", " + writeBufferSize);
+		}
+		this.handle = handle;
+		readBuf = new byte[readBufferSize];
+		writeBuf = new byte[writeBufferSize];
+		if (handle.getContext() != null) setContext(handle.getContext());
+		try {
+			offset = handle.offset();
+		}
+		catch (final IOException exc) {
+			throw new IllegalArgumentException(exc);
+		}
+	}
+
+	// -- BufferedDataHandle methods --
+
+	/** Gets the handle wrapped by this buffered handle. */
+	public DataHandle<L> getHandle() {
+		return handle;
+	}
+
+	/** Writes any pending buffered bytes through to the wrapped handle. */
+	public void flush() throws IOException {
+		if (writeLen == 0) return;
+		handle.seek(writeStart);
+		handle.write(writeBuf, 0, writeLen);
+		writeLen = 0;
+	}
+
+	// -- DataHandle methods --
+
+	@Override
+	public boolean isReadable() {
+		return handle.isReadable();
+	}
+
+	@Override
+	public boolean isWritable() {
+		return handle.isWritable();
+	}
+
+	@Override
+	public boolean exists() throws IOException {
+		return writeLen > 0 || handle.exists();
+	}
+
+	@Override
+	public Date lastModified() throws IOException {
+		return handle.lastModified();
+	}
+
+	@Override
+	public String checksum() throws IOException {
+		return handle.checksum();
+	}
+
+	@Override
+	public boolean isRandomAccess() throws IOException {
+		return handle.isRandomAccess();
+	}
+
+	@Override
+	public long offset() {
+		return offset;
+	}
+
+	@Override
+	public void seek(final long pos) throws IOException {
+		offset = pos;
+	}
+
+	@Override
+	public long length() throws IOException {
+		final long length = handle.length();
+		if (writeLen == 0) return length;
+		return Math.max(length, writeStart + writeLen);
+	}
+
+	@Override
+	public void setLength(final long length) throws IOException {
+		flush();
+		readLen = 0;
+		handle.setLength(length);
+	}
+
+	@Override
+	public ByteOrder getOrder() {
+		return handle.getOrder();
+	}
+
+	@Override
+	public void setOrder(final ByteOrder order) {
+		handle.setOrder(order);
+	}
+
+	@Override
+	public String getEncoding() {
+		return handle.getEncoding();
+	}
+
+	@Override
+	public void setEncoding(final String encoding) {
+		handle.setEncoding(encoding);
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!isBuffered(1)) {
+			fill(1);
+			if (readLen == 0) return -1;
+		}
+		return readBuf[(int) (offset++ - readStart)] & 0xff;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		if (len == 0) return 0;
+		int n = 0;
+		while (n < len) {
+			final long pos = offset - readStart;
+			if (pos >= 0 && pos < readLen) {
+				// copy what we can from the read buffer
+				final int count = Math.min(len - n, (int) (readLen - pos));
+				System.arraycopy(readBuf, (int) pos, b, off + n, count);
+				offset += count;
+				n += count;
+			}
+			else if (len - n >= readBuf.length) {
+				// large read; bypass the read buffer
+				flush();
+				handle.seek(offset);
+				final int r = handle.read(b, off + n, len - n);
+				if (r <= 0) break;
+				offset += r;
+				n += r;
+			}
+			else {
+				fill(1);
+				if (readLen == 0) break;
+			}
+		}
+		return n == 0 ? -1 : n;
+	}
+
+	// -- DataInput methods --
+
+	@Override
+	public byte readByte() throws IOException {
+		final int pos = buffered(1);
+		offset++;
+		return readBuf[pos];
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		final int pos = buffered(2);
+		offset += 2;
+		return Bytes.toShort(readBuf, pos, isLittleEndian());
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		return (char) readShort();
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		final int pos = buffered(4);
+		offset += 4;
+		return Bytes.toInt(readBuf, pos, isLittleEndian());
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		final int pos = buffered(8);
+		offset += 8;
+		return Bytes.toLong(readBuf, pos, isLittleEndian());
+	}
+
+	// -- DataOutput methods --
+
+	@Override
+	public void write(final int b) throws IOException {
+		writeBuf[writable(1)] = (byte) b;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		if (len > writeBuf.length) {
+			// large write; bypass the write buffer
+			flush();
+			invalidate(offset, len);
+			handle.seek(offset);
+			handle.write(b, off, len);
+			offset += len;
+			return;
+		}
+		System.arraycopy(b, off, writeBuf, writable(len), len);
+	}
+
+	@Override
+	public void writeShort(final int v) throws IOException {
+		Bytes.unpack(v, writeBuf, writable(2), 2, isLittleEndian());
+	}
+
+	@Override
+	public void writeChar(final int v) throws IOException {
+		writeShort(v);
+	}
+
+	@Override
+	public void writeInt(final int v) throws IOException {
+		Bytes.unpack(v, writeBuf, writable(4), 4, isLittleEndian());
+	}
+
+	@Override
+	public void writeLong(final long v) throws IOException {
+		Bytes.unpack(v, writeBuf, writable(8), 8, isLittleEndian());
+	}
+
+	// -- Bulk methods --
+
+	@Override
+	public List<CompletableFuture<ByteBuffer>> readVectored(
+		final List<ByteRange> ranges, final IntFunction<ByteBuffer> allocate)
+		throws IOException
+	{
+		// NB: Let the wrapped handle optimize the reads, after making any pending
+		// writes visible to it.
+		flush();
+		return handle.readVectored(ranges, allocate);
+	}
+
+	// -- Closeable methods --
+
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		}
+		finally {
+			handle.close();
+		}
+	}
+
+	// -- WrapperPlugin methods --
+
+	@Override
+	public void set(final L data) {
+		handle.set(data);
+	}
+
+	@Override
+	public L get() {
+		return handle.get();
+	}
+
+	// -- Typed methods --
+
+	@Override
+	public Class<L> getType() {
+		return handle.getType();
+	}
+
+	// -- Helper methods --
+
+	/** Whether the next {@code count} bytes are in the read buffer. */
+	private boolean isBuffered(final int count) {
+		final long pos = offset - readStart;
+		return pos >= 0 && pos + count <= readLen;
+	}
+
+	/**
+	 * Ensures the next {@code count} bytes are in the read buffer.
+	 *
+	 * @return The index of the current offset in the read buffer.
+	 * @throws EOFException If fewer than {@code count} bytes remain.
+	 */
+	private int buffered(final int count) throws IOException {
+		if (!isBuffered(count)) {
+			if (!isReadable()) throw new IOException("This handle is write-only.");
+			fill(count);
+			if (readLen < count) throw new EOFException();
+		}
+		return (int) (offset - readStart);
+	}
+
+	/**
+	 * Refills the read buffer starting at the current offset, reading at least
+	 * {@code count} bytes unless the end of the stream is reached.
+	 */
+	private void fill(final int count) throws IOException {
+		flush();
+		readStart = offset;
+		readLen = 0;
+		int max = readBuf.length;
+		final long length = handle.length();
+		if (length >= 0) {
+			if (offset >= length) return;
+			if (length - offset < max) max = (int) (length - offset);
+		}
+		handle.seek(offset);
+		while (readLen < count) {
+			final int r = handle.read(readBuf, readLen, max - readLen);
+			if (r <= 0) break;
+			readLen += r;
+		}
+	}
+
+	/**
+	 * Reserves room for {@code count} bytes at the current offset in the write
+	 * buffer, flushing it first if the write is not contiguous with it, and
+	 * advances the offset.
+	 *
+	 * @return The index in the write buffer at which to store the bytes.
+	 */
+	private int writable(final int count) throws IOException {
+		if (!isWritable()) throw new IOException("This handle is read-only.");
+		if (writeLen > 0 && (offset != writeStart + writeLen || //
+			writeLen + count > writeBuf.length))
+		{
+			flush();
+		}
+		if (writeLen == 0) writeStart = offset;
+		invalidate(offset, count);
+		final int pos = writeLen;
+		writeLen += count;
+		offset += count;
+		return pos;
+	}
+
+	/** Discards the read buffer if it overlaps the given range. */
+	private void invalidate(final long pos, final int count) {
+		if (pos < readStart + readLen && readStart < pos + count) readLen = 0;
+	}
+
+}
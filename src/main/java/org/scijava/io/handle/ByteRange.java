@@ -0,0 +1,91 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.util.List;
+
+/**
+ * An immutable range of bytes in a {@link DataHandle}, given by its offset and
+ * length.
+ *
+ * @see DataHandle#readVectored(List, java.util.function.IntFunction)
+ */
+public final class ByteRange {
+
+	private final long offset;
+	private final int length;
+
+	public ByteRange(final long offset, final int length) {
+		if (offset < 0 || length < 0) {
+			throw new IllegalArgumentException("Invalid range: offset=" + offset +
+				", length=" + length);
+		}
+		this.offset = offset;
+		this.length = length;
+	}
+
+	/** Gets the offset of the first byte in the range. */
+	public long getOffset() {
+		return offset;
+	}
+
+	/** Gets the number of bytes in the range. */
+	public int getLength() {
+		return length;
+	}
+
+	/** Gets the offset just past the last byte in the range. */
+	public long getEnd() {
+		return offset + length;
+	}
+
+	// -- Object methods --
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (!(obj instanceof ByteRange)) return false;
+		final ByteRange that = (ByteRange) obj;
+		return offset == that.offset && length == that.length;
+	}
+
+	@Override
+	public int hashCode() {
+		return Long.hashCode(offset) * 31 + length;
+	}
+
+	@Override
+	public String toString() {
+		return "[" + offset + ", " + getEnd() + ")";
+	}
+
+}
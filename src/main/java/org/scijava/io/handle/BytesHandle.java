@@ -34,6 +34,10 @@ package org.scijava.io.handle;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 
 import org.scijava.io.ByteBank;
 import org.scijava.io.location.BytesLocation;
@@ -147,11 +151,45 @@ public class BytesHandle extends AbstractDataHandle<BytesLocation> {
 		offset++;
 	}
 
+	// -- Bulk methods --
+
+	@Override
+	public int read(final ByteBuffer dst) throws IOException {
+		if (!dst.hasRemaining()) return 0;
+		final int len = readAt(dst, offset);
+		if (len > 0) offset += len;
+		return len;
+	}
+
+	@Override
+	public void write(final ByteBuffer src) throws IOException {
+		final int len = src.remaining();
+		ensureWritable(len);
+		if (src.hasArray()) {
+			bytes().setBytes(offset, src.array(), src.arrayOffset() + src
+				.position(), len);
+			src.position(src.limit());
+		}
+		else {
+			final byte[] b = new byte[len];
+			src.get(b);
+			bytes().setBytes(offset, b, 0, len);
+		}
+		offset += len;
+	}
+
+	@Override
+	public List<CompletableFuture<ByteBuffer>> readVectored(
+		final List<ByteRange> ranges, final IntFunction<ByteBuffer> allocate)
+	{
+		return DataHandles.readVectored(ranges, allocate, 0, 0, this::readAt);
+	}
+
 	// -- Closeable methods --
 
 	@Override
 	public void close() {
-		// NB: No action needed.
+		bytes().handleClosed();
 	}
 
 	// -- Typed methods --
@@ -167,6 +205,19 @@ public class BytesHandle extends AbstractDataHandle<BytesLocation> {
 		return get().getByteBank();
 	}
 
+	/** Reads bytes at the given position, without changing the offset. */
+	private int readAt(final ByteBuffer dst, final long pos) {
+		final int len = (int) Math.min(dst.remaining(), length() - pos);
+		if (len <= 0) return -1;
+		if (dst.hasArray()) {
+			bytes().getBytes(pos, dst.array(), dst.arrayOffset() + dst.position(),
+				len);
+			dst.position(dst.position() + len);
+		}
+		else dst.put(bytes().toByteArray(pos, len));
+		return len;
+	}
+
 	private EOFException eofException(final Throwable cause) {
 		final EOFException eof = new EOFException();
 		eof.initCause(cause);
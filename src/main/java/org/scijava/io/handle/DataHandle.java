@@ -39,7 +39,12 @@ import java.io.DataOutput;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 
 import org.scijava.io.location.Location;
 import org.scijava.plugin.WrapperPlugin;
@@ -114,6 +119,47 @@ public interface DataHandle<L extends Location> extends WrapperPlugin<L>,
 		return null;
 	}
 
+	/**
+	 * Gets whether data can be read from an arbitrary offset without first
+	 * transferring the data before it. Callers which would read the data in
+	 * several separately seeked pieces (e.g., a chunked download) should fall
+	 * back to reading it sequentially when this is false.
+	 *
+	 * @return True iff seeking is cheap. The default is true.
+	 * @throws IOException If something goes wrong when checking.
+	 */
+	default boolean isRandomAccess() throws IOException {
+		return true;
+	}
+
+	/**
+	 * Gets whether this handle should be wrapped in a {@link BufferedDataHandle}
+	 * when created by the {@link DataHandleService}. Handles which rely on the
+	 * byte-at-a-time default implementations of methods like
+	 * {@link #readInt()}, and whose {@link #read()} is costly, should return
+	 * true.
+	 *
+	 * @return True iff the handle benefits from read-ahead and write-behind
+	 *         buffering. The default is false.
+	 */
+	default boolean prefersBuffering() {
+		return false;
+	}
+
+	/**
+	 * Gets a {@link FileChannel} backed by the same data as this handle, which
+	 * enables zero-copy transfers via {@link FileChannel#transferTo} and
+	 * {@link FileChannel#transferFrom}. The channel's position must be the
+	 * handle's {@link #offset() offset}: moving one moves the other.
+	 *
+	 * @return The channel, or null if the handle is not backed by one. The
+	 *         default is null.
+	 * @throws IOException If something goes wrong accessing the channel.
+	 */
+	default FileChannel channel() throws IOException {
+		return null;
+	}
+
 	/** Returns the current offset in the stream. */
 	long offset() throws IOException;
 
@@ -760,4 +806,231 @@ public interface DataHandle<L extends Location> extends WrapperPlugin<L>,
 	default void writeUTF(final String str) throws IOException {
 		DataHandles.writeUTF(str, this);
 	}
+
+	// -- Bulk methods --
+
+	/**
+	 * Reads bytes from the stream into the given buffer, as many as are
+	 * {@link ByteBuffer#remaining() remaining} in it or available in the stream.
+	 *
+	 * @param dst The buffer into which bytes are read, starting at its position.
+	 * @return The number of bytes read, or -1 if the end of the stream is
+	 *         reached.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default int read(final ByteBuffer dst) throws IOException {
+		if (!dst.hasRemaining()) return 0;
+		if (dst.hasArray()) {
+			final int r = read(dst.array(), dst.arrayOffset() + dst.position(), //
+				dst.remaining());
+			if (r > 0) dst.position(dst.position() + r);
+			return r > 0 ? r : -1;
+		}
+		final byte[] b = new byte[Math.min(dst.remaining(), 8192)];
+		final int r = read(b, 0, b.length);
+		if (r > 0) dst.put(b, 0, r);
+		return r > 0 ? r : -1;
+	}
+
+	/**
+	 * Writes all {@link ByteBuffer#remaining() remaining} bytes of the given
+	 * buffer to the stream.
+	 *
+	 * @param src The buffer from which bytes are written, starting at its
+	 *          position.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void write(final ByteBuffer src) throws IOException {
+		if (src.hasArray()) {
+			write(src.array(), src.arrayOffset() + src.position(), src.remaining());
+			src.position(src.limit());
+			return;
+		}
+		final byte[] b = new byte[Math.min(src.remaining(), 8192)];
+		while (src.hasRemaining()) {
+			final int n = Math.min(src.remaining(), b.length);
+			src.get(b, 0, n);
+			write(b, 0, n);
+		}
+	}
+
+	/**
+	 * Reads several possibly non-contiguous ranges of bytes. Implementations may
+	 * merge nearby ranges into fewer reads, issue them in parallel, and complete
+	 * the returned futures asynchronously. The handle's {@link #offset()} is
+	 * left unchanged.
+	 * <p>
+	 * The default implementation reads the ranges sequentially, in order of
+	 * their offsets, and returns already completed futures.
+	 * </p>
+	 *
+	 * @param ranges The ranges to read.
+	 * @param allocate Function which allocates the buffer for a range, given
+	 *          its length.
+	 * @return One future per range, in the order of the given ranges, which
+	 *         yields a buffer holding the range's bytes between its position
+	 *         and limit; or fails with an {@link EOFException} if the range
+	 *         extends past the end of the stream.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default List<CompletableFuture<ByteBuffer>> readVectored(
+		final List<ByteRange> ranges, final IntFunction<ByteBuffer> allocate)
+		throws IOException
+	{
+		final long offset = offset();
+		try {
+			return DataHandles.readVectored(ranges, allocate, 0, 0, (dst, pos) -> {
+				seek(pos);
+				return read(dst);
+			});
+		}
+		finally {
+			seek(offset);
+		}
+	}
+
+	/**
+	 * Reads {@code len} shorts into the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #readShort()} {@code len} times.
+	 *
+	 * @throws EOFException If the stream ends before all values are read.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void readShorts(final short[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.readBulk(this, values.length, off, len, 2, //
+			(buf, o, n) -> buf.asShortBuffer().get(values, o, n));
+	}
+
+	/**
+	 * Reads {@code len} ints into the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #readInt()} {@code len} times.
+	 *
+	 * @throws EOFException If the stream ends before all values are read.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void readInts(final int[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.readBulk(this, values.length, off, len, 4, //
+			(buf, o, n) -> buf.asIntBuffer().get(values, o, n));
+	}
+
+	/**
+	 * Reads {@code len} longs into the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #readLong()} {@code len} times.
+	 *
+	 * @throws EOFException If the stream ends before all values are read.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void readLongs(final long[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.readBulk(this, values.length, off, len, 8, //
+			(buf, o, n) -> buf.asLongBuffer().get(values, o, n));
+	}
+
+	/**
+	 * Reads {@code len} floats into the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #readFloat()} {@code len} times.
+	 *
+	 * @throws EOFException If the stream ends before all values are read.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void readFloats(final float[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.readBulk(this, values.length, off, len, 4, //
+			(buf, o, n) -> buf.asFloatBuffer().get(values, o, n));
+	}
+
+	/**
+	 * Reads {@code len} doubles into the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #readDouble()} {@code len} times.
+	 *
+	 * @throws EOFException If the stream ends before all values are read.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void readDoubles(final double[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.readBulk(this, values.length, off, len, 8, //
+			(buf, o, n) -> buf.asDoubleBuffer().get(values, o, n));
+	}
+
+	/**
+	 * Writes {@code len} shorts from the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #writeShort} {@code len} times.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void writeShorts(final short[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.writeBulk(this, values.length, off, len, 2, //
+			(buf, o, n) -> buf.asShortBuffer().put(values, o, n));
+	}
+
+	/**
+	 * Writes {@code len} ints from the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #writeInt} {@code len} times.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void writeInts(final int[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.writeBulk(this, values.length, off, len, 4, //
+			(buf, o, n) -> buf.asIntBuffer().put(values, o, n));
+	}
+
+	/**
+	 * Writes {@code len} longs from the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #writeLong} {@code len} times.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void writeLongs(final long[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.writeBulk(this, values.length, off, len, 8, //
+			(buf, o, n) -> buf.asLongBuffer().put(values, o, n));
+	}
+
+	/**
+	 * Writes {@code len} floats from the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #writeFloat} {@code len} times.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void writeFloats(final float[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.writeBulk(this, values.length, off, len, 4, //
+			(buf, o, n) -> buf.asFloatBuffer().put(values, o, n));
+	}
+
+	/**
+	 * Writes {@code len} doubles from the given array, in the stream's
+	 * {@link #getOrder() byte order}. This is equivalent to, but much faster
+	 * than, calling {@link #writeDouble} {@code len} times.
+	 *
+	 * @throws IOException If an I/O error occurs.
+	 */
+	default void writeDoubles(final double[] values, final int off, final int len)
+		throws IOException
+	{
+		DataHandles.writeBulk(this, values.length, off, len, 8, //
+			(buf, o, n) -> buf.asDoubleBuffer().put(values, o, n));
+	}
 }
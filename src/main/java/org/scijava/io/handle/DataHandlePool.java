@@ -0,0 +1,222 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.Location;
+
+/**
+ * A pool of {@link DataHandle}s, which caches one handle per {@link Location}
+ * and bounds the number of handles which are open at the same time.
+ * <p>
+ * The handles given out by {@link #get(Location)} are wrappers which open the
+ * actual handle on first access. When more than {@link #getMaxOpen()} handles
+ * are open, the least recently used ones are closed; they are reopened
+ * transparently, at their previous offset, when they are next accessed. This
+ * allows processing many more files than there are file descriptors, without
+ * paying the cost of opening a file for every access.
+ * </p>
+ * <p>
+ * Handles of in-memory {@link BytesLocation}s hold no operating system
+ * resources, and closing them may discard their data (see
+ * {@link org.scijava.io.ByteBank#handleClosed()}); they are neither counted
+ * against the maximum nor evicted.
+ * </p>
+ * <p>
+ * Asking the pool repeatedly for the same location yields the same handle, as
+ * long as it has not been closed; callers sharing a pooled handle also share
+ * its offset. A pooled handle which is closed is removed from the pool.
+ * </p>
+ *
+ * @see DataHandleService#getPooled(Location)
+ */
+public class DataHandlePool {
+
+	/** Default maximum number of handles which are open at the same time. */
+	public static final int DEFAULT_MAX_OPEN = 128;
+
+	private final DataHandleService dataHandleService;
+
+	/** The pooled handles, by location. */
+	private final Map<Location, PooledDataHandle> handles = new HashMap<>();
+
+	/** The pooled handles whose underlying handle is currently open. */
+	private final Set<PooledDataHandle> open = new LinkedHashSet<>();
+
+	private int maxOpen = DEFAULT_MAX_OPEN;
+
+	private long openCount;
+	private long reopenCount;
+	private long evictionCount;
+
+	public DataHandlePool(final DataHandleService dataHandleService) {
+		this.dataHandleService = dataHandleService;
+	}
+
+	// -- DataHandlePool methods --
+
+	/**
+	 * Gets the pooled handle for the given location, creating it if needed.
+	 * The underlying handle is not opened until the pooled handle is accessed.
+	 */
+	public synchronized DataHandle<Location> get(final Location location) {
+		PooledDataHandle handle = handles.get(location);
+		if (handle == null) {
+			handle = new PooledDataHandle(this, location);
+			if (dataHandleService.getContext() != null) {
+				handle.setContext(dataHandleService.getContext());
+			}
+			handles.put(location, handle);
+		}
+		return handle;
+	}
+
+	/** Gets the maximum number of handles which are open at the same time. */
+	public synchronized int getMaxOpen() {
+		return maxOpen;
+	}
+
+	/**
+	 * Sets the maximum number of handles which are open at the same time,
+	 * closing the least recently used handles if there are now too many.
+	 */
+	public void setMaxOpen(final int maxOpen) {
+		if (maxOpen <= 0) {
+			throw new IllegalArgumentException("Invalid maximum: " + maxOpen);
+		}
+		synchronized (this) {
+			this.maxOpen = maxOpen;
+		}
+		evict(null);
+	}
+
+	/** Gets a snapshot of the pool's statistics. */
+	public synchronized DataHandlePoolStats stats() {
+		return new DataHandlePoolStats(handles.size(), open.size(), openCount,
+			reopenCount, evictionCount);
+	}
+
+	/** Closes all pooled handles, and removes them from the pool. */
+	public void closeAll() throws IOException {
+		final List<PooledDataHandle> all;
+		synchronized (this) {
+			all = new ArrayList<>(handles.values());
+		}
+		IOException failure = null;
+		for (final PooledDataHandle handle : all) {
+			try {
+				handle.close();
+			}
+			catch (final IOException exc) {
+				if (failure == null) failure = exc;
+				else failure.addSuppressed(exc);
+			}
+		}
+		if (failure != null) throw failure;
+	}
+
+	// -- Internal methods --
+
+	/** Creates the underlying handle for a pooled handle. */
+	DataHandle<Location> create(final Location location) throws IOException {
+		final DataHandle<Location> handle = dataHandleService.create(location);
+		if (handle == null) {
+			throw new IOException("No data handle for location: " + location);
+		}
+		return handle;
+	}
+
+	/**
+	 * Records that the given handle has been opened, and closes the least
+	 * recently used other handles if there are now too many open.
+	 */
+	void opened(final PooledDataHandle handle, final boolean reopened) {
+		synchronized (this) {
+			if (isEvictable(handle.get())) open.add(handle);
+			openCount++;
+			if (reopened) reopenCount++;
+		}
+		evict(handle);
+	}
+
+	/** Records that the given handle's underlying handle has been closed. */
+	synchronized void evicted(final PooledDataHandle handle) {
+		if (open.remove(handle)) evictionCount++;
+	}
+
+	/** Removes the given handle, which has been closed, from the pool. */
+	synchronized void removed(final PooledDataHandle handle) {
+		open.remove(handle);
+		if (handles.get(handle.get()) == handle) handles.remove(handle.get());
+	}
+
+	// -- Helper methods --
+
+	/** Gets whether the handle of the given location may be closed early. */
+	private static boolean isEvictable(final Location location) {
+		return !(location instanceof BytesLocation);
+	}
+
+	/**
+	 * Closes the least recently used open handles, other than the given one,
+	 * until at most {@link #maxOpen} are open. Handles which are busy on
+	 * another thread are skipped, so the bound may be exceeded temporarily.
+	 */
+	private void evict(final PooledDataHandle keep) {
+		final Set<PooledDataHandle> skipped = new LinkedHashSet<>();
+		while (true) {
+			PooledDataHandle victim = null;
+			synchronized (this) {
+				if (open.size() <= maxOpen) return;
+				for (final PooledDataHandle candidate : open) {
+					if (candidate == keep || skipped.contains(candidate)) continue;
+					if (victim == null || candidate.lastUsed() < victim.lastUsed()) {
+						victim = candidate;
+					}
+				}
+			}
+			if (victim == null) return;
+			// NB: Close outside the pool's lock, since closing may block on I/O.
+			if (!victim.tryEvict()) skipped.add(victim);
+		}
+	}
+
+}
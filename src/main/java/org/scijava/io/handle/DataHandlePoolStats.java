@@ -0,0 +1,96 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+/**
+ * Immutable snapshot of the statistics of a {@link DataHandlePool}.
+ */
+public class DataHandlePoolStats {
+
+	private final int handleCount;
+	private final int openHandleCount;
+	private final long openCount;
+	private final long reopenCount;
+	private final long evictionCount;
+
+	public DataHandlePoolStats(final int handleCount, final int openHandleCount,
+		final long openCount, final long reopenCount, final long evictionCount)
+	{
+		this.handleCount = handleCount;
+		this.openHandleCount = openHandleCount;
+		this.openCount = openCount;
+		this.reopenCount = reopenCount;
+		this.evictionCount = evictionCount;
+	}
+
+	/** Gets the number of handles in the pool, whether open or not. */
+	public int getHandleCount() {
+		return handleCount;
+	}
+
+	/** Gets the number of handles in the pool which are currently open. */
+	public int getOpenHandleCount() {
+		return openHandleCount;
+	}
+
+	/** Gets the number of times an underlying handle was opened. */
+	public long getOpenCount() {
+		return openCount;
+	}
+
+	/**
+	 * Gets the number of times an underlying handle was opened again, after
+	 * having been closed to stay within the pool's bound.
+	 */
+	public long getReopenCount() {
+		return reopenCount;
+	}
+
+	/**
+	 * Gets the number of times an underlying handle was closed to stay within
+	 * the pool's bound.
+	 */
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		return "handles=" + handleCount + ", openHandles=" + openHandleCount +
+			", opens=" + openCount + ", reopens=" + reopenCount + ", evictions=" +
+			evictionCount;
+	}
+
+}
@@ -49,6 +49,47 @@ public interface DataHandleService extends
 	WrapperService<Location, DataHandle<Location>>, SciJavaService
 {
 
+	/**
+	 * Gets the pool of handles backing {@link #getPooled(Location)}, e.g. to
+	 * configure its bound on open handles or to query its statistics.
+	 *
+	 * @throws UnsupportedOperationException If this data handle service does
+	 *           not pool handles.
+	 */
+	default DataHandlePool getHandlePool() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Gets a pooled data handle for the given location. Unlike
+	 * {@link #create(Location)}, asking again for the same location yields the
+	 * same handle, until it is closed. At most
+	 * {@link DataHandlePool#getMaxOpen()} pooled handles are open at once: the
+	 * least recently used ones are closed, and transparently reopened at their
+	 * previous offset when next accessed.
+	 *
+	 * @throws UnsupportedOperationException If this data handle service does
+	 *           not pool handles.
+	 * @see DataHandlePool
+	 */
+	default DataHandle<Location> getPooled(final Location location) {
+		return getHandlePool().get(location);
+	}
+
+	// -- WrapperService methods --
+
+	/**
+	 * Creates a new data handle wrapping the given location. Handles which
+	 * {@link DataHandle#prefersBuffering() prefer buffering} are wrapped in a
+	 * {@link BufferedDataHandle}.
+	 */
+	@Override
+	default <D extends Location> DataHandle<Location> create(final D data) {
+		final DataHandle<Location> handle = WrapperService.super.create(data);
+		if (handle == null || !handle.prefersBuffering()) return handle;
+		return new BufferedDataHandle<>(handle);
+	}
+
 	// -- PTService methods --
 
 	@Override
@@ -34,9 +34,18 @@ package org.scijava.io.handle;
 
 import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 
 import org.scijava.io.location.Location;
 import org.scijava.task.Task;
@@ -49,6 +58,12 @@ import org.scijava.task.Task;
  */
 public final class DataHandles {
 
+	/** Maximum number of bytes moved by a single channel transfer. */
+	private static final long TRANSFER_SLICE = 8 * 1024 * 1024;
+
+	/** Maximum number of bytes staged at once by the bulk primitive methods. */
+	private static final int BULK_BUFFER_SIZE = 64 * 1024;
+
 	private static Method utfMethod;
 
 	private DataHandles() {
@@ -90,8 +105,221 @@ public final class DataHandles {
 		}
 	}
 
+	// -- Package-private methods --
+
+	/**
+	 * Reads {@code len} primitive values of {@code width} bytes each, staging
+	 * their bytes through a {@link ByteBuffer} whose typed view moves them into
+	 * the destination array.
+	 */
+	static void readBulk(final DataHandle<?> handle, final int arrayLength,
+		final int off, final int len, final int width, final BulkTransfer get)
+		throws IOException
+	{
+		checkBounds(arrayLength, off, len);
+		final ByteBuffer buf = bulkBuffer(handle, len, width);
+		for (int done = 0; done < len;) {
+			final int n = Math.min(len - done, buf.capacity() / width);
+			buf.clear().limit(n * width);
+			while (buf.hasRemaining()) {
+				if (handle.read(buf) <= 0) throw new EOFException();
+			}
+			buf.flip();
+			get.transfer(buf, off + done, n);
+			done += n;
+		}
+	}
+
+	/**
+	 * Writes {@code len} primitive values of {@code width} bytes each, staging
+	 * their bytes through a {@link ByteBuffer} whose typed view moves them out
+	 * of the source array.
+	 */
+	static void writeBulk(final DataHandle<?> handle, final int arrayLength,
+		final int off, final int len, final int width, final BulkTransfer put)
+		throws IOException
+	{
+		checkBounds(arrayLength, off, len);
+		final ByteBuffer buf = bulkBuffer(handle, len, width);
+		for (int done = 0; done < len;) {
+			final int n = Math.min(len - done, buf.capacity() / width);
+			buf.clear().limit(n * width);
+			put.transfer(buf, off + done, n);
+			handle.write(buf);
+			done += n;
+		}
+	}
+
+	/**
+	 * Moves {@code count} values between a staging buffer and an array, starting
+	 * at index {@code offset} of the array.
+	 */
+	interface BulkTransfer {
+
+		void transfer(ByteBuffer buf, int offset, int count);
+	}
+
+	/**
+	 * Reads the given ranges in order of their offsets via the given positional
+	 * read. Ranges lying at most {@code maxGap} bytes apart are merged into a
+	 * single read, as long as the merged span does not exceed {@code maxSpan}
+	 * bytes; pass 0 for {@code maxSpan} to read each range individually.
+	 *
+	 * @return One completed future per range, in the order of the given ranges.
+	 * @see DataHandle#readVectored
+	 */
+	static List<CompletableFuture<ByteBuffer>> readVectored(
+		final List<ByteRange> ranges, final IntFunction<ByteBuffer> allocate,
+		final int maxGap, final int maxSpan, final PositionalRead read)
+	{
+		final List<CompletableFuture<ByteBuffer>> futures = new ArrayList<>();
+		final List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < ranges.size(); i++) {
+			futures.add(new CompletableFuture<>());
+			order.add(i);
+		}
+		order.sort(Comparator.comparingLong(i -> ranges.get(i).getOffset()));
+
+		final List<Integer> group = new ArrayList<>();
+		long spanStart = 0, spanEnd = 0;
+		for (final int i : order) {
+			final ByteRange range = ranges.get(i);
+			if (!group.isEmpty() && range.getOffset() <= spanEnd + maxGap && //
+				Math.max(spanEnd, range.getEnd()) - spanStart <= maxSpan)
+			{
+				group.add(i);
+				spanEnd = Math.max(spanEnd, range.getEnd());
+				continue;
+			}
+			readGroup(ranges, group, spanStart, spanEnd, allocate, read, futures);
+			group.clear();
+			group.add(i);
+			spanStart = range.getOffset();
+			spanEnd = range.getEnd();
+		}
+		readGroup(ranges, group, spanStart, spanEnd, allocate, read, futures);
+		return futures;
+	}
+
+	/**
+	 * Reads bytes starting at a given position of a data source, without
+	 * affecting any stream offset.
+	 */
+	interface PositionalRead {
+
+		/**
+		 * Reads bytes into the given buffer, starting at its position.
+		 *
+		 * @return The number of bytes read, or -1 at the end of the data.
+		 */
+		int read(ByteBuffer dst, long position) throws IOException;
+	}
+
 	// -- Helper methods --
 
+	private static void checkBounds(final int arrayLength, final int off,
+		final int len)
+	{
+		if (off < 0 || len < 0 || len > arrayLength - off) {
+			throw new IndexOutOfBoundsException("off=" + off + ", len=" + len +
+				", length=" + arrayLength);
+		}
+	}
+
+	/**
+	 * Reads one span of merged ranges, and completes their futures with the
+	 * corresponding slices of the span.
+	 */
+	private static void readGroup(final List<ByteRange> ranges,
+		final List<Integer> group, final long spanStart, final long spanEnd,
+		final IntFunction<ByteBuffer> allocate, final PositionalRead read,
+		final List<CompletableFuture<ByteBuffer>> futures)
+	{
+		if (group.isEmpty()) return;
+		try {
+			if (group.size() == 1) {
+				final int i = group.get(0);
+				final ByteRange range = ranges.get(i);
+				final ByteBuffer dst = allocate.apply(range.getLength());
+				dst.limit(dst.position() + range.getLength());
+				readFully(read, dst, range.getOffset());
+				if (dst.hasRemaining()) throw new EOFException();
+				dst.flip();
+				futures.get(i).complete(dst);
+				return;
+			}
+			final ByteBuffer span = ByteBuffer.allocate((int) (spanEnd - spanStart));
+			readFully(read, span, spanStart);
+			final int available = span.position();
+			for (final int i : group) {
+				final ByteRange range = ranges.get(i);
+				final int start = (int) (range.getOffset() - spanStart);
+				if (start + range.getLength() > available) {
+					futures.get(i).completeExceptionally(new EOFException());
+					continue;
+				}
+				final ByteBuffer src = span.duplicate();
+				src.limit(start + range.getLength()).position(start);
+				final ByteBuffer dst = allocate.apply(range.getLength());
+				dst.put(src);
+				dst.flip();
+				futures.get(i).complete(dst);
+			}
+		}
+		catch (final IOException | RuntimeException exc) {
+			for (final int i : group) {
+				futures.get(i).completeExceptionally(exc);
+			}
+		}
+	}
+
+	/** Reads until the buffer is full or the end of the data is reached. */
+	private static void readFully(final PositionalRead read,
+		final ByteBuffer dst, final long position) throws IOException
+	{
+		final int start = dst.position();
+		while (dst.hasRemaining()) {
+			final int r = read.read(dst, position + dst.position() - start);
+			if (r < 0) break;
+		}
+	}
+
+	private static ByteBuffer bulkBuffer(final DataHandle<?> handle,
+		final int len, final int width)
+	{
+		final int size = (int) Math.min((long) len * width, BULK_BUFFER_SIZE);
+		return ByteBuffer.allocate(Math.max(size, width)).order(handle
+			.isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Copies bytes between two file channels via
+	 * {@link FileChannel#transferTo}, which lets the operating system move the
+	 * data without copying it through the Java heap. The transfer proceeds in
+	 * slices, so that progress can be reported and cancelation honored.
+	 */
+	private static long transfer(final FileChannel in, final FileChannel out,
+		final long length, final Task task) throws IOException
+	{
+		final long start = in.position();
+		final long available = Math.max(0, in.size() - start);
+		final long count = length > 0 ? Math.min(length, available) : available;
+		long totalRead = 0;
+		while (totalRead < count) {
+			if (task != null && task.isCanceled()) break;
+			final long n = in.transferTo(start + totalRead, //
+				Math.min(count - totalRead, TRANSFER_SLICE), out);
+			if (n <= 0) break;
+			totalRead += n;
+			if (task != null) {
+				task.setProgressValue(task.getProgressValue() + n);
+			}
+		}
+		// NB: transferTo advances the output channel, but not the input one.
+		in.position(start + totalRead);
+		return totalRead;
+	}
+
 	/** Gets the {@link #utfMethod} field, initializing if needed. */
 	private static Method utfMethod() {
 		if (utfMethod == null) initUTFMethod();
@@ -191,6 +419,10 @@ public final class DataHandles {
 	 * the current positions of the handles. Stops early if there are no more
 	 * bytes available from the input handle. Uses a buffer of the provided size,
 	 * instead of using the default size.
+	 * <p>
+	 * If both handles expose a {@link DataHandle#channel() channel}, the bytes
+	 * are transferred directly between the channels, bypassing the buffer.
+	 * </p>
 	 *
 	 * @param in input handle
 	 * @param out the output handle
@@ -225,6 +457,13 @@ public final class DataHandles {
 			else if (inputlength > 0) task.setProgressMaximum(inputlength);
 		}
 
+		final FileChannel inChannel = in.channel();
+		final FileChannel outChannel = inChannel == null || !out.isWritable() ? //
+			null : out.channel();
+		if (outChannel != null) {
+			return transfer(inChannel, outChannel, length, task);
+		}
+
 		final byte[] buffer = new byte[bufferSize];
 		long totalRead = 0;
 
@@ -32,6 +32,8 @@
 
 package org.scijava.io.handle;
 
+import java.io.IOException;
+
 import org.scijava.io.location.Location;
 import org.scijava.plugin.AbstractWrapperService;
 import org.scijava.plugin.Plugin;
@@ -47,5 +49,32 @@ public class DefaultDataHandleService extends
 	AbstractWrapperService<Location, DataHandle<Location>> implements
 	DataHandleService
 {
-	// NB: No implementation needed.
+
+	private DataHandlePool handlePool;
+
+	// -- DataHandleService methods --
+
+	@Override
+	public synchronized DataHandlePool getHandlePool() {
+		if (handlePool == null) handlePool = new DataHandlePool(this);
+		return handlePool;
+	}
+
+	// -- Disposable methods --
+
+	@Override
+	public void dispose() {
+		final DataHandlePool pool;
+		synchronized (this) {
+			pool = handlePool;
+			handlePool = null;
+		}
+		if (pool == null) return;
+		try {
+			pool.closeAll();
+		}
+		catch (final IOException exc) {
+			log().error("Error closing pooled data handles", exc);
+		}
+	}
 }
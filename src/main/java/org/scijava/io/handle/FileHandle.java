@@ -32,25 +32,45 @@
 
 package org.scijava.io.handle;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntFunction;
 
 import org.scijava.io.location.FileLocation;
 import org.scijava.plugin.Plugin;
 
 /**
  * {@link DataHandle} for a {@link FileLocation}.
+ * <p>
+ * Besides the usual stream-based methods, the handle offers positional read
+ * methods such as {@link #read(long, byte[], int, int)}, which do not move
+ * the handle's offset, so that one handle can serve many reader threads.
+ * </p>
  * 
  * @author Curtis Rueden
  */
 @Plugin(type = DataHandle.class)
 public class FileHandle extends AbstractDataHandle<FileLocation> {
 
+	/**
+	 * Maximum number of unrequested bytes between two ranges of a
+	 * {@link #readVectored} call which are merged into a single read.
+	 */
+	private static final int VECTORED_MAX_GAP = 4 * 1024; // 4 KB
+
+	/** Maximum size of a single merged read of {@link #readVectored}. */
+	private static final int VECTORED_MAX_SPAN = 1024 * 1024; // 1 MB
+
 	// -- Fields --
 
 	/** The {@link RandomAccessFile} backing this file handle. */
-	private RandomAccessFile raf;
+	private volatile RandomAccessFile raf;
 
 	/** The mode of the {@link RandomAccessFile}. */
 	private String mode = "rw";
@@ -65,6 +85,64 @@ public class FileHandle extends AbstractDataHandle<FileLocation> {
 		return raf();
 	}
 
+	/**
+	 * Reads up to {@code len} bytes starting at the given position of the file,
+	 * without changing the handle's {@link #offset()}. Unlike the stream-based
+	 * read methods, this method may be called by many threads concurrently.
+	 * <p>
+	 * Note that interrupting a thread blocked in this method closes the
+	 * underlying channel, and thus the handle, for all threads.
+	 * </p>
+	 *
+	 * @param pos The file position of the first byte to read.
+	 * @param b The array into which bytes are read.
+	 * @param off The offset in the array at which to store the bytes.
+	 * @param len The maximum number of bytes to read.
+	 * @return The number of bytes read, or -1 if {@code pos} is at or past the
+	 *         end of the file.
+	 * @throws IOException If an I/O error occurs.
+	 */
+	public int read(final long pos, final byte[] b, final int off,
+		final int len) throws IOException
+	{
+		return read(pos, ByteBuffer.wrap(b, off, len));
+	}
+
+	/**
+	 * Reads bytes starting at the given position of the file into the given
+	 * buffer, as many as are {@link ByteBuffer#remaining() remaining} in it,
+	 * without changing the handle's {@link #offset()}. May be called by many
+	 * threads concurrently.
+	 *
+	 * @return The number of bytes read, or -1 if {@code pos} is at or past the
+	 *         end of the file.
+	 * @throws IOException If an I/O error occurs.
+	 * @see #read(long, byte[], int, int)
+	 */
+	public int read(final long pos, final ByteBuffer dst) throws IOException {
+		return raf().getChannel().read(dst, pos);
+	}
+
+	/**
+	 * Reads exactly {@code len} bytes starting at the given position of the
+	 * file, without changing the handle's {@link #offset()}. May be called by
+	 * many threads concurrently.
+	 *
+	 * @throws EOFException If the file ends before all bytes are read.
+	 * @throws IOException If an I/O error occurs.
+	 * @see #read(long, byte[], int, int)
+	 */
+	public void readFully(final long pos, final byte[] b, final int off,
+		final int len) throws IOException
+	{
+		final ByteBuffer dst = ByteBuffer.wrap(b, off, len);
+		while (dst.hasRemaining()) {
+			if (read(pos + dst.position() - off, dst) < 0) {
+				throw new EOFException();
+			}
+		}
+	}
+
 	public String getMode() {
 		return mode;
 	}
@@ -99,6 +177,12 @@ public class FileHandle extends AbstractDataHandle<FileLocation> {
 		return lastModified == 0 ? null : new Date(lastModified);
 	}
 
+	@Override
+	public FileChannel channel() throws IOException {
+		// NB: The channel shares its position with the random access file.
+		return raf().getChannel();
+	}
+
 	@Override
 	public long offset() throws IOException {
 		return raf().getFilePointer();
@@ -289,6 +373,33 @@ public class FileHandle extends AbstractDataHandle<FileLocation> {
 		raf().writeUTF(str);
 	}
 
+	// -- Bulk methods --
+
+	@Override
+	public int read(final ByteBuffer dst) throws IOException {
+		// NB: Reading via the channel lets direct buffers be filled in place.
+		return raf().getChannel().read(dst);
+	}
+
+	@Override
+	public void write(final ByteBuffer src) throws IOException {
+		if (!isWritable()) throw new IOException("This handle is read-only.");
+		final FileChannel channel = raf().getChannel();
+		while (src.hasRemaining()) {
+			channel.write(src);
+		}
+	}
+
+	@Override
+	public List<CompletableFuture<ByteBuffer>> readVectored(
+		final List<ByteRange> ranges, final IntFunction<ByteBuffer> allocate)
+		throws IOException
+	{
+		// NB: Positional reads leave the file pointer untouched.
+		return DataHandles.readVectored(ranges, allocate, VECTORED_MAX_GAP,
+			VECTORED_MAX_SPAN, (dst, pos) -> read(pos, dst));
+	}
+
 	// -- Closeable methods --
 
 	@Override
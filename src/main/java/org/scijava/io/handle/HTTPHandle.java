@@ -0,0 +1,723 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+import org.scijava.io.location.URLLocation;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Read-only {@link DataHandle} for an HTTP or HTTPS {@link URLLocation}.
+ * <p>
+ * The remote resource is read in fixed-size blocks, each fetched with an HTTP
+ * {@code Range} request, and the most recently used blocks are kept in memory.
+ * Seeking is free; only blocks which are actually read are transferred. If
+ * the server does not support range requests, each block is extracted from a
+ * full download instead; that download is kept open, so that reading on from
+ * the end of the block does not start over (see {@link #isRandomAccess()}).
+ * </p>
+ * <p>
+ * The {@link #checksum()} is the resource's {@code ETag}, and
+ * {@link #lastModified()} its {@code Last-Modified} header. Blocks are
+ * requested with an {@code If-Range} condition on the ETag, so that a
+ * modification of the remote resource is detected, and the block cache
+ * discarded, rather than mixing data from different versions. The metadata is
+ * requested with {@code HEAD}; if the server rejects that, it is read from the
+ * reply to a request for the first byte of the resource instead.
+ * </p>
+ * <p>
+ * {@link #readVectored} downloads the missing blocks of all requested ranges
+ * in parallel, when a {@link ThreadService} is available. If the resource
+ * changes while they are downloaded, the whole batch is discarded, and the
+ * blocks are fetched again one by one.
+ * </p>
+ */
+@Plugin(type = DataHandle.class)
+public class HTTPHandle extends AbstractDataHandle<URLLocation> {
+
+	/** Default size of each remote block. */
+	public static final int DEFAULT_BLOCK_SIZE = 64 * 1024; // 64 KB
+
+	/** Default maximum number of blocks kept in memory. */
+	public static final int DEFAULT_MAX_BLOCKS = 64;
+
+	// -- Fields --
+
+	@Parameter(required = false)
+	private ThreadService threadService;
+
+	/** Size of each remote block. */
+	private int blockSize = DEFAULT_BLOCK_SIZE;
+
+	/** Maximum number of blocks kept in memory. */
+	private int maxBlocks = DEFAULT_MAX_BLOCKS;
+
+	/** Cached blocks, in least-recently-used order. */
+	private final LinkedHashMap<Long, byte[]> blocks = new LinkedHashMap<Long, byte[]>(
+		16, 0.75f, true)
+	{
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Long, byte[]> eldest) {
+			return size() > maxBlocks;
+		}
+	};
+
+	/** The most recently accessed block, or null if none. */
+	private byte[] block;
+
+	/** Index of {@link #block}. */
+	private long blockIndex = -1;
+
+	/** Current offset into the remote resource. */
+	private long offset;
+
+	/** True iff the resource's metadata has been fetched. */
+	private boolean initialized;
+
+	/** HTTP status of the metadata request. */
+	private int status;
+
+	/** Length of the remote resource, or -1 if unknown. */
+	private long length = -1;
+
+	/** The resource's ETag, or null if none. */
+	private String etag;
+
+	/** The resource's modification time, or 0 if unknown. */
+	private long lastModified;
+
+	/** The resource's {@code Accept-Ranges} header, or null if none. */
+	private String acceptRanges;
+
+	/** Whether the server honors range requests, or null if not yet known. */
+	private Boolean rangesSupported;
+
+	/**
+	 * Full download of the resource left open after the server ignored a range
+	 * request, from which the next block can be read; or null if none.
+	 */
+	private InputStream remainder;
+
+	/** Connection of {@link #remainder}. */
+	private HttpURLConnection remainderConnection;
+
+	/** Offset into the remote resource of the next byte of {@link #remainder}. */
+	private long remainderOffset;
+
+	/** ETag of the resource version read by {@link #remainder}. */
+	private String remainderTag;
+
+	/** Number of HTTP requests issued for block data. */
+	private final AtomicLong blockRequests = new AtomicLong();
+
+	/** True iff the {@link #close()} has already been called. */
+	private boolean closed;
+
+	// -- HTTPHandle methods --
+
+	/** Gets the size of each block fetched from the remote resource. */
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/** Sets the size of each block fetched from the remote resource. */
+	public void setBlockSize(final int blockSize) {
+		if (blockSize <= 0) {
+			throw new IllegalArgumentException("Invalid block size: " + blockSize);
+		}
+		this.blockSize = blockSize;
+		clearBlocks();
+	}
+
+	/** Gets the maximum number of blocks kept in memory. */
+	public int getMaxBlocks() {
+		return maxBlocks;
+	}
+
+	/** Sets the maximum number of blocks kept in memory. */
+	public void setMaxBlocks(final int maxBlocks) {
+		if (maxBlocks <= 0) {
+			throw new IllegalArgumentException("Invalid block count: " + maxBlocks);
+		}
+		this.maxBlocks = maxBlocks;
+		clearBlocks();
+	}
+
+	/** Gets the number of HTTP requests issued so far to fetch data blocks. */
+	public long getBlockRequests() {
+		return blockRequests.get();
+	}
+
+	// -- DataHandle methods --
+
+	@Override
+	public boolean isReadable() {
+		return true;
+	}
+
+	@Override
+	public boolean isWritable() {
+		return false;
+	}
+
+	@Override
+	public boolean exists() throws IOException {
+		init();
+		return status < 400;
+	}
+
+	@Override
+	public Date lastModified() throws IOException {
+		init();
+		return lastModified == 0 ? null : new Date(lastModified);
+	}
+
+	@Override
+	public String checksum() throws IOException {
+		init();
+		return etag;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * True iff the server honors range requests, as advertised by its
+	 * {@code Accept-Ranges} header or, failing that, by its reply to a request
+	 * for the first byte of the resource.
+	 * </p>
+	 */
+	@Override
+	public boolean isRandomAccess() throws IOException {
+		if (rangesSupported == null) rangesSupported = probeRanges();
+		return rangesSupported;
+	}
+
+	@Override
+	public long offset() {
+		return offset;
+	}
+
+	@Override
+	public void seek(final long pos) throws IOException {
+		if (pos < 0) throw new IOException("Negative seek offset: " + pos);
+		offset = pos;
+	}
+
+	@Override
+	public long length() throws IOException {
+		init();
+		return length;
+	}
+
+	@Override
+	public void setLength(final long length) throws IOException {
+		throw new IOException("This handle is read-only.");
+	}
+
+	@Override
+	public long available(final long count) throws IOException {
+		final long len = length();
+		// NB: If the length is unknown, assume the data is there; reads past
+		// the end of the resource will then come up short.
+		if (len < 0) return count;
+		final long remain = len - offset;
+		return remain < count ? remain : count;
+	}
+
+	@Override
+	public int read() throws IOException {
+		final byte[] b = block(offset / blockSize);
+		final int pos = (int) (offset % blockSize);
+		if (pos >= b.length) return -1;
+		offset++;
+		return b[pos] & 0xff;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		if (len == 0) return 0;
+		int n = 0;
+		while (n < len) {
+			final byte[] data = block(offset / blockSize);
+			final int pos = (int) (offset % blockSize);
+			final int chunk = Math.min(len - n, data.length - pos);
+			if (chunk <= 0) break; // end of resource
+			System.arraycopy(data, pos, b, off + n, chunk);
+			offset += chunk;
+			n += chunk;
+			if (data.length < blockSize) break; // last block
+		}
+		return n == 0 ? -1 : n;
+	}
+
+	// -- Bulk methods --
+
+	@Override
+	public List<CompletableFuture<ByteBuffer>> readVectored(
+		final List<ByteRange> ranges, final IntFunction<ByteBuffer> allocate)
+		throws IOException
+	{
+		init();
+		final Map<Long, byte[]> fetched = prefetch(ranges);
+		return DataHandles.readVectored(ranges, allocate, 0, 0, //
+			(dst, pos) -> readAt(dst, pos, fetched));
+	}
+
+	// -- DataInput methods --
+
+	@Override
+	public byte readByte() throws IOException {
+		final int b = read();
+		if (b < 0) throw new EOFException();
+		return (byte) b;
+	}
+
+	@Override
+	public void readFully(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		int n = 0;
+		while (n < len) {
+			final int r = read(b, off + n, len - n);
+			if (r < 0) throw new EOFException();
+			n += r;
+		}
+	}
+
+	// -- DataOutput methods --
+
+	@Override
+	public void write(final int b) throws IOException {
+		throw new IOException("This handle is read-only.");
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		throw new IOException("This handle is read-only.");
+	}
+
+	// -- Closeable methods --
+
+	@Override
+	public synchronized void close() {
+		clearBlocks();
+		closeRemainder();
+		closed = true;
+	}
+
+	// -- Typed methods --
+
+	@Override
+	public boolean supports(final URLLocation location) {
+		if (!super.supports(location)) return false;
+		final String protocol = location.getURL().getProtocol();
+		return "http".equals(protocol) || "https".equals(protocol);
+	}
+
+	@Override
+	public Class<URLLocation> getType() {
+		return URLLocation.class;
+	}
+
+	// -- Helper methods --
+
+	/** Fetches the metadata of the remote resource, if not done already. */
+	private synchronized void init() throws IOException {
+		if (initialized) return;
+		ensureOpen();
+		final HttpURLConnection conn = connect("HEAD");
+		try {
+			status = conn.getResponseCode();
+			if (status < 400) readMetadata(conn);
+		}
+		finally {
+			conn.disconnect();
+		}
+		// NB: Some servers reject HEAD requests (e.g., presigned S3 URLs, which
+		// are only valid for GET), so ask for the first byte instead.
+		if (status >= 400) initFromRange();
+		initialized = true;
+	}
+
+	/** Fetches the metadata of the remote resource with a range request. */
+	private void initFromRange() throws IOException {
+		final HttpURLConnection conn = connect("GET");
+		try {
+			conn.setRequestProperty("Range", "bytes=0-0");
+			final int code = conn.getResponseCode();
+			if (code == 206 || code == 416) {
+				// NB: An empty resource cannot satisfy any range.
+				readMetadata(conn);
+				length = totalLength(conn.getHeaderField("Content-Range"));
+				rangesSupported = true;
+			}
+			else if (code < 400) {
+				readMetadata(conn);
+				rangesSupported = false;
+			}
+			status = code == 416 ? 200 : code;
+		}
+		finally {
+			conn.disconnect();
+		}
+	}
+
+	private void readMetadata(final URLConnection conn) {
+		length = conn.getContentLengthLong();
+		etag = conn.getHeaderField("ETag");
+		lastModified = conn.getLastModified();
+		acceptRanges = conn.getHeaderField("Accept-Ranges");
+	}
+
+	/** Determines whether the server honors range requests. */
+	private boolean probeRanges() throws IOException {
+		init();
+		if (status >= 400) return false;
+		if (rangesSupported != null) return rangesSupported;
+		if (acceptRanges != null) return "bytes".equalsIgnoreCase(acceptRanges
+			.trim());
+		// NB: The header is optional; ask for the first byte to find out.
+		final HttpURLConnection conn = connect("GET");
+		try {
+			conn.setRequestProperty("Range", "bytes=0-0");
+			return conn.getResponseCode() == 206;
+		}
+		finally {
+			conn.disconnect();
+		}
+	}
+
+	/** Gets the block with the given index, fetching it if needed. */
+	private byte[] block(final long index) throws IOException {
+		if (index == blockIndex) return block;
+		byte[] b = blocks.get(index);
+		if (b == null) {
+			b = fetch(index).data;
+			blocks.put(index, b);
+		}
+		block = b;
+		blockIndex = index;
+		return b;
+	}
+
+	/** Downloads the block with the given index. */
+	private Block fetch(final long index) throws IOException {
+		init();
+		final String tag;
+		final long len;
+		// NB: Synchronized since blocks may be fetched in parallel.
+		synchronized (this) {
+			if (status >= 400) {
+				throw new IOException("HTTP " + status + ": " + get().getURL());
+			}
+			tag = etag;
+			len = length;
+		}
+		final long start = index * blockSize;
+		if (len >= 0 && start >= len) return new Block(new byte[0], tag);
+		final long end = len < 0 ? start + blockSize - 1 : //
+			Math.min(start + blockSize, len) - 1;
+		final int size = (int) (end - start + 1);
+
+		final Block next = readRemainder(start, size);
+		if (next != null) return next;
+
+		final HttpURLConnection conn = connect("GET");
+		boolean keep = false;
+		try {
+			conn.setRequestProperty("Range", "bytes=" + start + "-" + end);
+			if (tag != null) conn.setRequestProperty("If-Range", tag);
+			blockRequests.incrementAndGet();
+			final int code = conn.getResponseCode();
+			if (code == 416) return new Block(new byte[0], tag); // past the end
+			if (code != 206 && code != 200) {
+				throw new IOException("HTTP " + code + ": " + get().getURL());
+			}
+			final InputStream in = conn.getInputStream();
+			try {
+				String blockTag = tag;
+				if (code == 200) {
+					// NB: The server ignored the range, or the resource changed.
+					blockTag = conn.getHeaderField("ETag");
+					synchronized (this) {
+						if (etag != null && !etag.equals(blockTag)) {
+							clearBlocks();
+							readMetadata(conn);
+						}
+					}
+					skipFully(in, start);
+				}
+				final byte[] b = readBlock(in, size);
+				if (code == 200 && b.length == size) {
+					keep = keepRemainder(conn, in, start + size, blockTag);
+				}
+				return new Block(b, blockTag);
+			}
+			finally {
+				if (!keep) in.close();
+			}
+		}
+		finally {
+			if (!keep) conn.disconnect();
+		}
+	}
+
+	/**
+	 * Reads the block at the given offset from the {@link #remainder} of an
+	 * earlier full download, if it continues there.
+	 *
+	 * @return the block, or null if there is no such download
+	 */
+	private synchronized Block readRemainder(final long start, final int size)
+		throws IOException
+	{
+		if (remainder == null || remainderOffset != start) return null;
+		try {
+			final Block b = new Block(readBlock(remainder, size), remainderTag);
+			remainderOffset += b.data.length;
+			if (b.data.length < size) closeRemainder();
+			return b;
+		}
+		catch (final IOException exc) {
+			closeRemainder();
+			throw exc;
+		}
+	}
+
+	/** Keeps the given full download open, to read the next block from it. */
+	private synchronized boolean keepRemainder(final HttpURLConnection conn,
+		final InputStream in, final long offset, final String tag)
+	{
+		if (closed) return false;
+		closeRemainder();
+		remainder = in;
+		remainderConnection = conn;
+		remainderOffset = offset;
+		remainderTag = tag;
+		return true;
+	}
+
+	private void closeRemainder() {
+		if (remainder == null) return;
+		try {
+			remainder.close();
+		}
+		catch (final IOException exc) {
+			// NB: The download is abandoned anyway.
+		}
+		remainderConnection.disconnect();
+		remainder = null;
+		remainderConnection = null;
+	}
+
+	/**
+	 * Downloads the uncached blocks covering the given ranges in parallel, if a
+	 * {@link ThreadService} is available and more than one block is needed.
+	 * Blocks which fail to download are left out, to be fetched (and their
+	 * errors reported) on the calling thread. If the resource's ETag changes
+	 * while the blocks are downloaded, all of them are left out.
+	 */
+	private Map<Long, byte[]> prefetch(final List<ByteRange> ranges)
+		throws IOException
+	{
+		final Set<Long> missing = new TreeSet<>();
+		for (final ByteRange range : ranges) {
+			if (range.getLength() == 0) continue;
+			final long last = (range.getEnd() - 1) / blockSize;
+			for (long i = range.getOffset() / blockSize; i <= last; i++) {
+				if (length >= 0 && i * blockSize >= length) break;
+				if (!blocks.containsKey(i)) missing.add(i);
+			}
+		}
+		final Map<Long, byte[]> fetched = new HashMap<>();
+		if (threadService == null || missing.size() < 2) return fetched;
+
+		final Map<Long, Future<Block>> futures = new LinkedHashMap<>();
+		for (final long index : missing) {
+			futures.put(index, threadService.run(() -> fetch(index)));
+		}
+		final Set<String> tags = new HashSet<>();
+		for (final Map.Entry<Long, Future<Block>> entry : futures.entrySet()) {
+			try {
+				final Block b = entry.getValue().get();
+				fetched.put(entry.getKey(), b.data);
+				tags.add(b.etag);
+			}
+			catch (final InterruptedException exc) {
+				futures.values().forEach(f -> f.cancel(true));
+				throw new IOException(exc);
+			}
+			catch (final ExecutionException exc) {
+				// NB: Retried by the sequential read.
+			}
+		}
+		final String tag;
+		synchronized (this) {
+			tag = etag;
+		}
+		tags.remove(tag);
+		if (!tags.isEmpty()) {
+			// NB: The resource changed; do not mix blocks of different versions.
+			fetched.clear();
+		}
+		blocks.putAll(fetched);
+		return fetched;
+	}
+
+	/**
+	 * Reads bytes at the given position from the prefetched or cached blocks,
+	 * without changing the offset.
+	 */
+	private int readAt(final ByteBuffer dst, final long pos,
+		final Map<Long, byte[]> fetched) throws IOException
+	{
+		final long index = pos / blockSize;
+		byte[] data = fetched.get(index);
+		if (data == null) data = block(index);
+		final int start = (int) (pos % blockSize);
+		final int n = Math.min(dst.remaining(), data.length - start);
+		if (n <= 0) return -1;
+		dst.put(data, start, n);
+		return n;
+	}
+
+	private HttpURLConnection connect(final String method) throws IOException {
+		final URLLocation loc = get();
+		final HttpURLConnection conn = //
+			(HttpURLConnection) loc.getURL().openConnection();
+		final int timeout = (int) Math.min(loc.getTimeout(), Integer.MAX_VALUE);
+		conn.setConnectTimeout(timeout);
+		conn.setReadTimeout(timeout);
+		conn.setRequestMethod(method);
+		// NB: Byte offsets must refer to the raw, unencoded content.
+		conn.setRequestProperty("Accept-Encoding", "identity");
+		return conn;
+	}
+
+	private void ensureOpen() throws IOException {
+		if (closed) throw new IOException("Handle already closed");
+	}
+
+	private void clearBlocks() {
+		blocks.clear();
+		block = null;
+		blockIndex = -1;
+	}
+
+	/**
+	 * Parses the total length from a {@code Content-Range} header such as
+	 * {@code bytes 0-0/1234}, or returns -1 if it is unknown.
+	 */
+	private static long totalLength(final String contentRange) {
+		if (contentRange == null) return -1;
+		final String total = //
+			contentRange.substring(contentRange.lastIndexOf('/') + 1).trim();
+		try {
+			return Long.parseLong(total);
+		}
+		catch (final NumberFormatException exc) {
+			return -1; // NB: "*" when the length is unknown.
+		}
+	}
+
+	private static void skipFully(final InputStream in, final long count)
+		throws IOException
+	{
+		long remain = count;
+		while (remain > 0) {
+			final long skipped = in.skip(remain);
+			if (skipped > 0) remain -= skipped;
+			else if (in.read() < 0) return;
+			else remain--;
+		}
+	}
+
+	/** Reads up to {@code size} bytes, stopping early only at end of stream. */
+	private static byte[] readBlock(final InputStream in, final int size)
+		throws IOException
+	{
+		final byte[] b = new byte[size];
+		int n = 0;
+		while (n < size) {
+			final int r = in.read(b, n, size - n);
+			if (r < 0) break;
+			n += r;
+		}
+		if (n == size) return b;
+		final byte[] trimmed = new byte[n];
+		System.arraycopy(b, 0, trimmed, 0, n);
+		return trimmed;
+	}
+
+	// -- Helper classes --
+
+	/** A block of the remote resource, with the ETag it was fetched under. */
+	private static final class Block {
+
+		private final byte[] data;
+		private final String etag;
+
+		private Block(final byte[] data, final String etag) {
+			this.data = data;
+			this.etag = etag;
+		}
+	}
+
+}
@@ -0,0 +1,413 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.Date;
+
+import org.scijava.Priority;
+import org.scijava.io.location.FileLocation;
+import org.scijava.plugin.Plugin;
+
+/**
+ * {@link DataHandle} for a {@link FileLocation}, which accesses the file via
+ * windowed {@link MappedByteBuffer}s rather than individual
+ * {@link RandomAccessFile} calls.
+ * <p>
+ * Primitive reads and writes which fall within the current window are served
+ * directly from the mapped memory, avoiding a system call per value. This
+ * handle is only used for locations whose
+ * {@link FileLocation#isMemoryMapped()} flag is set; otherwise,
+ * {@link FileHandle} takes care of the location.
+ * </p>
+ * <p>
+ * The length of the file is read once when the handle is first accessed, and
+ * thereafter only changed through this handle. Concurrent modification of the
+ * file's length by other processes is not supported.
+ * </p>
+ */
+@Plugin(type = DataHandle.class, priority = Priority.HIGH)
+public class MappedFileHandle extends AbstractDataHandle<FileLocation> {
+
+	/** Default size of each mapped window. */
+	public static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024; // 64 MB
+
+	// -- Fields --
+
+	/** The {@link RandomAccessFile} backing this file handle. */
+	private RandomAccessFile raf;
+
+	/** The mode of the {@link RandomAccessFile}. */
+	private String mode = "rw";
+
+	/** Maximum size of each mapped window. */
+	private int windowSize = DEFAULT_WINDOW_SIZE;
+
+	/** The currently mapped window, or null if none. */
+	private MappedByteBuffer buffer;
+
+	/** File offset of the first byte in the current window. */
+	private long bufferStart;
+
+	/** Current offset into the file. */
+	private long offset;
+
+	/** Cached length of the file. */
+	private long length;
+
+	/** True iff the {@link #close()} has already been called. */
+	private boolean closed;
+
+	// -- MappedFileHandle methods --
+
+	public String getMode() {
+		return mode;
+	}
+
+	public void setMode(final String mode) {
+		if (raf != null) {
+			throw new IllegalStateException("File already initialized");
+		}
+		this.mode = mode;
+	}
+
+	/** Gets the maximum number of bytes mapped at once. */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/** Sets the maximum number of bytes mapped at once. */
+	public void setWindowSize(final int windowSize) {
+		if (windowSize <= 0) {
+			throw new IllegalArgumentException("Invalid window size: " + windowSize);
+		}
+		this.windowSize = windowSize;
+		buffer = null;
+	}
+
+	// -- DataHandle methods --
+
+	@Override
+	public boolean isReadable() {
+		return getMode().contains("r");
+	}
+
+	@Override
+	public boolean isWritable() {
+		return getMode().contains("w");
+	}
+
+	@Override
+	public boolean exists() {
+		return get().getFile().exists();
+	}
+
+	@Override
+	public Date lastModified() {
+		final long lastModified = get().getFile().lastModified();
+		return lastModified == 0 ? null : new Date(lastModified);
+	}
+
+	@Override
+	public long offset() {
+		return offset;
+	}
+
+	@Override
+	public void seek(final long pos) throws IOException {
+		if (pos < 0) throw new IOException("Negative seek offset: " + pos);
+		offset = pos;
+	}
+
+	@Override
+	public long length() throws IOException {
+		if (raf == null && !exists()) return -1;
+		raf();
+		return length;
+	}
+
+	@Override
+	public void setLength(final long length) throws IOException {
+		// NB: Release the current window, which may no longer be valid.
+		buffer = null;
+		raf().setLength(length);
+		this.length = length;
+	}
+
+	@Override
+	public long available(final long count) throws IOException {
+		raf();
+		final long remain = length - offset;
+		return remain < count ? remain : count;
+	}
+
+	@Override
+	public void setOrder(final ByteOrder order) {
+		super.setOrder(order);
+		if (buffer != null) buffer.order(nioOrder());
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (available(1) < 1) return -1;
+		final int value = window(1).get(pos()) & 0xff;
+		offset++;
+		return value;
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		if (len == 0) return 0;
+		final int r = (int) available(len);
+		if (r <= 0) return -1;
+		int n = 0;
+		while (n < r) {
+			final int chunk = (int) Math.min(r - n, windowSize);
+			final ByteBuffer window = window(chunk).duplicate();
+			window.position(pos());
+			window.get(b, off + n, chunk);
+			offset += chunk;
+			n += chunk;
+		}
+		return r;
+	}
+
+	// -- DataInput methods --
+
+	@Override
+	public void readFully(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		ensureReadable(len);
+		read(b, off, len);
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		ensureReadable(1);
+		final byte value = window(1).get(pos());
+		offset++;
+		return value;
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		ensureReadable(2);
+		final short value = window(2).getShort(pos());
+		offset += 2;
+		return value;
+	}
+
+	@Override
+	public char readChar() throws IOException {
+		ensureReadable(2);
+		final char value = window(2).getChar(pos());
+		offset += 2;
+		return value;
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		ensureReadable(4);
+		final int value = window(4).getInt(pos());
+		offset += 4;
+		return value;
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		ensureReadable(8);
+		final long value = window(8).getLong(pos());
+		offset += 8;
+		return value;
+	}
+
+	@Override
+	public float readFloat() throws IOException {
+		ensureReadable(4);
+		final float value = window(4).getFloat(pos());
+		offset += 4;
+		return value;
+	}
+
+	@Override
+	public double readDouble() throws IOException {
+		ensureReadable(8);
+		final double value = window(8).getDouble(pos());
+		offset += 8;
+		return value;
+	}
+
+	// -- DataOutput methods --
+
+	@Override
+	public void write(final int b) throws IOException {
+		ensureWritable(1);
+		window(1).put(pos(), (byte) b);
+		offset++;
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		ensureWritable(len);
+		int n = 0;
+		while (n < len) {
+			final int chunk = Math.min(len - n, windowSize);
+			final ByteBuffer window = window(chunk).duplicate();
+			window.position(pos());
+			window.put(b, off + n, chunk);
+			offset += chunk;
+			n += chunk;
+		}
+	}
+
+	@Override
+	public void writeShort(final int v) throws IOException {
+		ensureWritable(2);
+		window(2).putShort(pos(), (short) v);
+		offset += 2;
+	}
+
+	@Override
+	public void writeChar(final int v) throws IOException {
+		ensureWritable(2);
+		window(2).putChar(pos(), (char) v);
+		offset += 2;
+	}
+
+	@Override
+	public void writeInt(final int v) throws IOException {
+		ensureWritable(4);
+		window(4).putInt(pos(), v);
+		offset += 4;
+	}
+
+	@Override
+	public void writeLong(final long v) throws IOException {
+		ensureWritable(8);
+		window(8).putLong(pos(), v);
+		offset += 8;
+	}
+
+	@Override
+	public void writeFloat(final float v) throws IOException {
+		ensureWritable(4);
+		window(4).putFloat(pos(), v);
+		offset += 4;
+	}
+
+	@Override
+	public void writeDouble(final double v) throws IOException {
+		ensureWritable(8);
+		window(8).putDouble(pos(), v);
+		offset += 8;
+	}
+
+	// -- Closeable methods --
+
+	@Override
+	public synchronized void close() throws IOException {
+		buffer = null;
+		if (raf != null) raf.close();
+		closed = true;
+	}
+
+	// -- Typed methods --
+
+	@Override
+	public boolean supports(final FileLocation location) {
+		return super.supports(location) && location.isMemoryMapped();
+	}
+
+	@Override
+	public Class<FileLocation> getType() {
+		return FileLocation.class;
+	}
+
+	// -- Helper methods --
+
+	private RandomAccessFile raf() throws IOException {
+		if (raf == null) initRAF();
+		return raf;
+	}
+
+	private synchronized void initRAF() throws IOException {
+		if (closed) throw new IOException("Handle already closed");
+		if (raf != null) return;
+		raf = new RandomAccessFile(get().getFile(), getMode());
+		length = raf.length();
+	}
+
+	/**
+	 * Gets a mapped window containing the {@code count} bytes starting at the
+	 * current offset, remapping if the current window does not cover them. The
+	 * caller must ensure that those bytes lie within the file's length.
+	 */
+	private MappedByteBuffer window(final int count) throws IOException {
+		if (buffer != null && offset >= bufferStart && //
+			offset + count <= bufferStart + buffer.limit())
+		{
+			return buffer;
+		}
+		long start = offset - offset % windowSize;
+		if (offset + count > start + windowSize) start = offset;
+		final long size = Math.min(Math.max(windowSize, count), length - start);
+		final MapMode mapMode = isWritable() ? MapMode.READ_WRITE
+			: MapMode.READ_ONLY;
+		final FileChannel channel = raf().getChannel();
+		buffer = channel.map(mapMode, start, size);
+		buffer.order(nioOrder());
+		bufferStart = start;
+		return buffer;
+	}
+
+	/** Gets the current offset relative to the mapped window. */
+	private int pos() {
+		return (int) (offset - bufferStart);
+	}
+
+	private java.nio.ByteOrder nioOrder() {
+		return isLittleEndian() ? java.nio.ByteOrder.LITTLE_ENDIAN
+			: java.nio.ByteOrder.BIG_ENDIAN;
+	}
+
+}
@@ -0,0 +1,402 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+import org.scijava.io.location.Location;
+
+/**
+ * {@link DataHandle} given out by a {@link DataHandlePool}, which opens the
+ * actual handle for its location on demand, and may have it closed by the
+ * pool at any time between two method calls. After such an eviction, the
+ * handle is reopened at the previous offset when it is next accessed.
+ */
+class PooledDataHandle extends AbstractDataHandle<Location> {
+
+	private final DataHandlePool pool;
+
+	/** Guards the underlying handle against concurrent eviction. */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** The underlying handle, or null if not currently open. */
+	private DataHandle<Location> handle;
+
+	/** The offset of the underlying handle when it was last closed. */
+	private long offset;
+
+	/** Whether the underlying handle has been opened before. */
+	private boolean opened;
+
+	/** Error which occurred when the pool closed the underlying handle. */
+	private IOException evictionFailure;
+
+	/** True iff the {@link #close()} has already been called. */
+	private boolean closed;
+
+	/** Timestamp of the most recent access, for least-recently-used eviction. */
+	private volatile long lastUsed;
+
+	PooledDataHandle(final DataHandlePool pool, final Location location) {
+		this.pool = pool;
+		set(location);
+	}
+
+	// -- DataHandle methods --
+
+	@Override
+	public boolean isReadable() {
+		try {
+			return call(DataHandle::isReadable);
+		}
+		catch (final IOException exc) {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean isWritable() {
+		try {
+			return call(DataHandle::isWritable);
+		}
+		catch (final IOException exc) {
+			return false;
+		}
+	}
+
+	@Override
+	public boolean exists() throws IOException {
+		return call(DataHandle::exists);
+	}
+
+	@Override
+	public Date lastModified() throws IOException {
+		return call(DataHandle::lastModified);
+	}
+
+	@Override
+	public String checksum() throws IOException {
+		return call(DataHandle::checksum);
+	}
+
+	@Override
+	public boolean isRandomAccess() throws IOException {
+		return call(DataHandle::isRandomAccess);
+	}
+
+	@Override
+	public long offset() throws IOException {
+		lock.lock();
+		try {
+			return handle == null ? offset : handle.offset();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void seek(final long pos) throws IOException {
+		lock.lock();
+		try {
+			// NB: No need to reopen the handle just to move its offset.
+			if (handle == null && !closed) offset = pos;
+			else handle().seek(pos);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public long length() throws IOException {
+		return call(DataHandle::length);
+	}
+
+	@Override
+	public void setLength(final long length) throws IOException {
+		call(h -> {
+			h.setLength(length);
+			return null;
+		});
+	}
+
+	@Override
+	public void setOrder(final ByteOrder order) {
+		lock.lock();
+		try {
+			super.setOrder(order);
+			if (handle != null) handle.setOrder(order);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void setEncoding(final String encoding) {
+		lock.lock();
+		try {
+			super.setEncoding(encoding);
+			if (handle != null) handle.setEncoding(encoding);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		lock.lock();
+		try {
+			return handle().read();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		return call(h -> h.read(b, off, len));
+	}
+
+	// -- DataInput methods --
+
+	@Override
+	public void readFully(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		call(h -> {
+			h.readFully(b, off, len);
+			return null;
+		});
+	}
+
+	@Override
+	public byte readByte() throws IOException {
+		return call(DataHandle::readByte);
+	}
+
+	@Override
+	public short readShort() throws IOException {
+		return call(DataHandle::readShort);
+	}
+
+	@Override
+	public int readInt() throws IOException {
+		return call(DataHandle::readInt);
+	}
+
+	@Override
+	public long readLong() throws IOException {
+		return call(DataHandle::readLong);
+	}
+
+	// -- DataOutput methods --
+
+	@Override
+	public void write(final int b) throws IOException {
+		lock.lock();
+		try {
+			handle().write(b);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public void write(final byte[] b, final int off, final int len)
+		throws IOException
+	{
+		call(h -> {
+			h.write(b, off, len);
+			return null;
+		});
+	}
+
+	@Override
+	public void writeShort(final int v) throws IOException {
+		call(h -> {
+			h.writeShort(v);
+			return null;
+		});
+	}
+
+	@Override
+	public void writeInt(final int v) throws IOException {
+		call(h -> {
+			h.writeInt(v);
+			return null;
+		});
+	}
+
+	@Override
+	public void writeLong(final long v) throws IOException {
+		call(h -> {
+			h.writeLong(v);
+			return null;
+		});
+	}
+
+	// -- Bulk methods --
+
+	@Override
+	public int read(final ByteBuffer dst) throws IOException {
+		return call(h -> h.read(dst));
+	}
+
+	@Override
+	public void write(final ByteBuffer src) throws IOException {
+		call(h -> {
+			h.write(src);
+			return null;
+		});
+	}
+
+	@Override
+	public List<CompletableFuture<ByteBuffer>> readVectored(
+		final List<ByteRange> ranges, final IntFunction<ByteBuffer> allocate)
+		throws IOException
+	{
+		return call(h -> h.readVectored(ranges, allocate));
+	}
+
+	// -- Closeable methods --
+
+	@Override
+	public void close() throws IOException {
+		lock.lock();
+		try {
+			if (closed) return;
+			closed = true;
+			pool.removed(this);
+			if (handle != null) handle.close();
+			handle = null;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// -- Typed methods --
+
+	@Override
+	public Class<Location> getType() {
+		return Location.class;
+	}
+
+	// -- Internal methods --
+
+	/** Gets the timestamp of the most recent access. */
+	long lastUsed() {
+		return lastUsed;
+	}
+
+	/**
+	 * Closes the underlying handle, remembering its offset, unless the handle
+	 * is in use by another thread.
+	 *
+	 * @return False iff the handle is busy.
+	 */
+	boolean tryEvict() {
+		if (!lock.tryLock()) return false;
+		try {
+			if (handle == null) return true;
+			try {
+				offset = handle.offset();
+				handle.close();
+			}
+			catch (final IOException exc) {
+				// NB: Report the failure on the next access.
+				evictionFailure = exc;
+			}
+			handle = null;
+			pool.evicted(this);
+			return true;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Calls the given function on the underlying handle, opening it if needed. */
+	private <T> T call(final HandleFunction<T> function) throws IOException {
+		lock.lock();
+		try {
+			return function.apply(handle());
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	/** Gets the underlying handle, (re)opening it if needed. */
+	private DataHandle<Location> handle() throws IOException {
+		if (closed) throw new IOException("Handle already closed");
+		if (evictionFailure != null) {
+			final IOException exc = evictionFailure;
+			evictionFailure = null;
+			throw exc;
+		}
+		lastUsed = System.nanoTime();
+		if (handle == null) {
+			final DataHandle<Location> h = pool.create(get());
+			h.setOrder(getOrder());
+			h.setEncoding(getEncoding());
+			if (offset != 0) h.seek(offset);
+			handle = h;
+			pool.opened(this, opened);
+			opened = true;
+		}
+		return handle;
+	}
+
+	/** A function of the underlying handle. */
+	private interface HandleFunction<T> {
+
+		T apply(DataHandle<Location> h) throws IOException;
+	}
+
+}
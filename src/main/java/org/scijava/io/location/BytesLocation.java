@@ -35,6 +35,7 @@ package org.scijava.io.location;
 import org.scijava.io.ByteArrayByteBank;
 import org.scijava.io.ByteBank;
 import org.scijava.io.handle.DataHandle;
+import org.scijava.io.nio.PagedByteBank;
 import org.scijava.util.ByteArray;
 
 /**
@@ -49,7 +50,8 @@ public class BytesLocation extends AbstractLocation {
 
 	/**
 	 * Creates a {@link BytesLocation} backed by the specified
-	 * {@link ByteBank}.
+	 * {@link ByteBank}. Use a {@link PagedByteBank} for data which grows large
+	 * or exceeds 2 GB, since it grows without copying existing data.
 	 *
 	 * @param bytes the {@link ByteBank} that will back this {@link Location}
 	 */
@@ -51,6 +51,9 @@ public class FileLocation extends AbstractLocation implements
 
 	private final File file;
 
+	/** Whether handles to this location should memory-map the file. */
+	private boolean memoryMapped;
+
 	public FileLocation(final File file) {
 		this.file = file;
 	}
@@ -70,6 +73,26 @@ public class FileLocation extends AbstractLocation implements
 		return file;
 	}
 
+	/**
+	 * Gets whether data handles for this location should access the file via
+	 * memory mapping rather than plain random access.
+	 *
+	 * @see org.scijava.io.handle.MappedFileHandle
+	 */
+	public boolean isMemoryMapped() {
+		return memoryMapped;
+	}
+
+	/**
+	 * Sets whether data handles for this location should access the file via
+	 * memory mapping rather than plain random access.
+	 *
+	 * @see org.scijava.io.handle.MappedFileHandle
+	 */
+	public void setMemoryMapped(final boolean memoryMapped) {
+		this.memoryMapped = memoryMapped;
+	}
+
 	// -- Location methods --
 
 	@Override
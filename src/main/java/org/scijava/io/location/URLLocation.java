@@ -38,10 +38,14 @@ import java.net.URL;
 
 /**
  * {@link Location} backed by a {@link URL}.
+ * <p>
+ * A URL location is a {@link RemoteLocation}, although the
+ * {@link #getTimeout() timeout} only applies to network-based protocols.
+ * </p>
  *
  * @author Curtis Rueden
  */
-public class URLLocation extends AbstractLocation {
+public class URLLocation extends AbstractRemoteLocation {
 
 	/** The URL backing this location. */
 	private final URL url;
@@ -168,11 +168,14 @@ public class ByteBufferByteBank implements ByteBank {
 		// ensure the array grows by at least the requested minimum capacity
 		final int newLength = Math.max(minCapacity, newCapacity);
 
-		// copy the data into a new array
+		// copy the data into a new buffer from the same provider, so that
+		// direct buffers stay off-heap
 		buffer.position(0);
-		final ByteBuffer newBuffer = ByteBuffer.allocate(newLength);
+		buffer.limit(size);
+		final ByteBuffer newBuffer = provider.apply(newLength);
 		newBuffer.order(buffer.order());
 		newBuffer.put(buffer);
+		newBuffer.clear();
 		buffer = newBuffer;
 	}
 
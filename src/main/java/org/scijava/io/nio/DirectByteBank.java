@@ -0,0 +1,229 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.nio;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.scijava.io.handle.BytesHandle;
+
+/**
+ * A {@link PagedByteBank} whose pages are direct (off-heap)
+ * {@link ByteBuffer}s.
+ * <p>
+ * The bank stays off-heap while growing, so large in-memory working sets do
+ * not add to the garbage collector's workload. The native memory can be freed
+ * deterministically by calling {@link #release()}, rather than waiting for the
+ * pages to be garbage collected. If the bank is flagged to be released on
+ * close, a {@link BytesHandle} which is closed releases it as well.
+ * </p>
+ * <p>
+ * The number of direct bytes allocated by this bank, and by all such banks
+ * together, is available via {@link #getAllocatedBytes()} and
+ * {@link #getTotalAllocatedBytes()}.
+ * </p>
+ */
+public class DirectByteBank extends PagedByteBank {
+
+	/** Number of direct bytes currently allocated by all instances. */
+	private static final AtomicLong totalAllocated = new AtomicLong();
+
+	/** Number of direct bytes currently allocated by this instance. */
+	private final AtomicLong allocated;
+
+	private final boolean releaseOnClose;
+
+	private final AtomicBoolean released = new AtomicBoolean();
+
+	public DirectByteBank() {
+		this(DEFAULT_PAGE_SIZE, false);
+	}
+
+	/**
+	 * @param pageSize the size of each page in bytes; must be a power of two
+	 * @param releaseOnClose whether closing a {@link BytesHandle} over this bank
+	 *          should {@link #release()} it
+	 */
+	public DirectByteBank(final int pageSize, final boolean releaseOnClose) {
+		this(pageSize, releaseOnClose, new AtomicLong());
+	}
+
+	private DirectByteBank(final int pageSize, final boolean releaseOnClose,
+		final AtomicLong allocated)
+	{
+		super(capacity -> {
+			final ByteBuffer page = ByteBuffer.allocateDirect(capacity);
+			allocated.addAndGet(capacity);
+			totalAllocated.addAndGet(capacity);
+			return page;
+		}, pageSize);
+		this.allocated = allocated;
+		this.releaseOnClose = releaseOnClose;
+	}
+
+	// -- DirectByteBank methods --
+
+	/**
+	 * Gets the number of direct bytes currently allocated by all
+	 * {@link DirectByteBank}s.
+	 */
+	public static long getTotalAllocatedBytes() {
+		return totalAllocated.get();
+	}
+
+	/** Gets the number of direct bytes currently allocated by this bank. */
+	public long getAllocatedBytes() {
+		return allocated.get();
+	}
+
+	/**
+	 * Whether closing a {@link BytesHandle} over this bank should
+	 * {@link #release()} it.
+	 */
+	public boolean isReleaseOnClose() {
+		return releaseOnClose;
+	}
+
+	/**
+	 * Frees the native memory held by this bank. Afterwards, the bank is empty
+	 * and can no longer be written to. Calling this method more than once has
+	 * no effect.
+	 */
+	public void release() {
+		if (!released.compareAndSet(false, true)) return;
+		super.clear();
+	}
+
+	/** Whether {@link #release()} has been called. */
+	public boolean isReleased() {
+		return released.get();
+	}
+
+	// -- ByteBank methods --
+
+	@Override
+	public void setBytes(final long startPos, final byte[] bytes,
+		final int offset, final int length)
+	{
+		ensureNotReleased();
+		super.setBytes(startPos, bytes, offset, length);
+	}
+
+	@Override
+	public void setByte(final long pos, final byte b) {
+		ensureNotReleased();
+		super.setByte(pos, b);
+	}
+
+	@Override
+	public boolean isReadOnly() {
+		return released.get();
+	}
+
+	@Override
+	public void handleClosed() {
+		if (releaseOnClose) release();
+	}
+
+	// -- Internal methods --
+
+	@Override
+	protected void releasePage(final ByteBuffer page) {
+		allocated.addAndGet(-page.capacity());
+		totalAllocated.addAndGet(-page.capacity());
+		Deallocator.free(page);
+	}
+
+	// -- Helper methods --
+
+	private void ensureNotReleased() {
+		if (released.get()) {
+			throw new IllegalStateException("Byte bank has been released");
+		}
+	}
+
+	// -- Helper classes --
+
+	/**
+	 * Frees direct buffers eagerly, using {@code sun.misc.Unsafe#invokeCleaner}
+	 * on Java 9+ or the buffer's {@code Cleaner} on Java 8. If neither is
+	 * accessible, freeing is left to the garbage collector.
+	 */
+	private static final class Deallocator {
+
+		private static final Object unsafe;
+		private static final Method invokeCleaner;
+
+		static {
+			Object u = null;
+			Method m = null;
+			try {
+				final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+				m = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+				final Field f = unsafeClass.getDeclaredField("theUnsafe");
+				f.setAccessible(true);
+				u = f.get(null);
+			}
+			catch (final Exception | LinkageError exc) {
+				// NB: Not Java 9+; fall back to the Java 8 approach.
+				m = null;
+			}
+			unsafe = u;
+			invokeCleaner = m;
+		}
+
+		private static void free(final ByteBuffer buffer) {
+			if (!buffer.isDirect()) return;
+			try {
+				if (invokeCleaner != null) {
+					invokeCleaner.invoke(unsafe, buffer);
+					return;
+				}
+				final Method cleanerMethod = buffer.getClass().getMethod("cleaner");
+				cleanerMethod.setAccessible(true);
+				final Object cleaner = cleanerMethod.invoke(buffer);
+				if (cleaner == null) return;
+				final Method clean = cleaner.getClass().getMethod("clean");
+				clean.setAccessible(true);
+				clean.invoke(cleaner);
+			}
+			catch (final Exception | LinkageError exc) {
+				// NB: Leave it to the garbage collector.
+			}
+		}
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.nio;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.scijava.io.ByteBank;
+
+/**
+ * A {@link ByteBank} backed by a list of fixed-size {@link ByteBuffer} pages.
+ * <p>
+ * Unlike {@link ByteBufferByteBank}, growing this bank never copies existing
+ * data: new pages are simply allocated as they are needed. Its maximal size is
+ * therefore not limited to {@link Integer#MAX_VALUE} bytes, but to
+ * {@code pageSize * Integer.MAX_VALUE}. Pages are allocated by the given
+ * provider, which can be used to create direct (off-heap) pages via
+ * {@link ByteBuffer#allocateDirect}.
+ * </p>
+ */
+public class PagedByteBank implements ByteBank {
+
+	/** The default page size (1 MiB). */
+	public static final int DEFAULT_PAGE_SIZE = 1 << 20;
+
+	private final List<ByteBuffer> pages = new ArrayList<>();
+
+	private final Function<Integer, ByteBuffer> provider;
+
+	private final int pageSize;
+
+	private final int pageShift;
+
+	private final long pageMask;
+
+	private long size;
+
+	public PagedByteBank() {
+		this(ByteBuffer::allocate, DEFAULT_PAGE_SIZE);
+	}
+
+	public PagedByteBank(final Function<Integer, ByteBuffer> provider) {
+		this(provider, DEFAULT_PAGE_SIZE);
+	}
+
+	public PagedByteBank(final int pageSize) {
+		this(ByteBuffer::allocate, pageSize);
+	}
+
+	/**
+	 * @param provider function allocating a page of the given capacity
+	 * @param pageSize the size of each page in bytes; must be a power of two
+	 */
+	public PagedByteBank(final Function<Integer, ByteBuffer> provider,
+		final int pageSize)
+	{
+		if (pageSize <= 0 || Integer.bitCount(pageSize) != 1) {
+			throw new IllegalArgumentException("Page size must be a power of two: " +
+				pageSize);
+		}
+		this.provider = provider;
+		this.pageSize = pageSize;
+		pageShift = Integer.numberOfTrailingZeros(pageSize);
+		pageMask = pageSize - 1;
+	}
+
+	// -- PagedByteBank methods --
+
+	/** @return the size of each page in bytes */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	// -- ByteBank methods --
+
+	@Override
+	public long getMaxBufferSize() {
+		return (long) pageSize * Integer.MAX_VALUE;
+	}
+
+	@Override
+	public void setBytes(final long startPos, final byte[] bytes,
+		final int offset, final int length)
+	{
+		checkWritePos(startPos, startPos + length);
+		ensureCapacity(startPos + length);
+
+		long pos = startPos;
+		int off = offset;
+		int remaining = length;
+		while (remaining > 0) {
+			final ByteBuffer page = page(pos);
+			final int pageOffset = (int) (pos & pageMask);
+			final int n = Math.min(remaining, pageSize - pageOffset);
+			page.position(pageOffset);
+			page.put(bytes, off, n);
+			pos += n;
+			off += n;
+			remaining -= n;
+		}
+		updateSize(startPos + length);
+	}
+
+	@Override
+	public void setByte(final long pos, final byte b) {
+		checkWritePos(pos, pos);
+		ensureCapacity(pos + 1);
+		page(pos).put((int) (pos & pageMask), b);
+		updateSize(pos + 1);
+	}
+
+	@Override
+	public void clear() {
+		for (final ByteBuffer page : pages) {
+			releasePage(page);
+		}
+		pages.clear();
+		size = 0;
+	}
+
+	@Override
+	public byte getByte(final long pos) {
+		checkReadPos(pos, pos);
+		return page(pos).get((int) (pos & pageMask));
+	}
+
+	@Override
+	public int getBytes(final long startPos, final byte[] b, final int offset,
+		final int length)
+	{
+		checkReadPos(startPos, startPos + length);
+		// ensure we don't try to read data which is not in the buffer
+		final int readLength = (int) Math.min(size - startPos, length);
+
+		long pos = startPos;
+		int off = offset;
+		int remaining = readLength;
+		while (remaining > 0) {
+			final ByteBuffer page = page(pos);
+			final int pageOffset = (int) (pos & pageMask);
+			final int n = Math.min(remaining, pageSize - pageOffset);
+			page.position(pageOffset);
+			page.get(b, off, n);
+			pos += n;
+			off += n;
+			remaining -= n;
+		}
+		return readLength;
+	}
+
+	@Override
+	public long size() {
+		return size;
+	}
+
+	// -- Internal methods --
+
+	/**
+	 * Called for each page which is discarded by {@link #clear()}. Does nothing
+	 * by default.
+	 *
+	 * @param page the discarded page
+	 */
+	protected void releasePage(final ByteBuffer page) {
+		// NB: No action needed.
+	}
+
+	// -- Helper methods --
+
+	private ByteBuffer page(final long pos) {
+		return pages.get((int) (pos >>> pageShift));
+	}
+
+	/** Allocates pages until the given number of bytes can be stored. */
+	private void ensureCapacity(final long minCapacity) {
+		final long neededPages = (minCapacity + pageMask) >>> pageShift;
+		while (pages.size() < neededPages) {
+			pages.add(provider.apply(pageSize));
+		}
+	}
+
+	private void updateSize(final long newSize) {
+		if (newSize > size) size = newSize;
+	}
+
+}
@@ -50,11 +50,23 @@ public abstract class AbstractLogService extends AbstractService implements
 	LogService
 {
 
+	/** Marks classes without a custom log level in {@link #classLevels}. */
+	private static final int NO_CLASS_LEVEL = Integer.MIN_VALUE;
+
 	private int currentLevel = levelFromEnvironment();
 
 	private final Map<String, Integer> classAndPackageLevels;
 
-	private final Logger rootLogger;
+	/**
+	 * Cache of the custom log level of each calling class, as derived from
+	 * {@link #classAndPackageLevels}. Replaced whenever those levels change.
+	 */
+	private volatile ClassValue<Integer> classLevels = newClassLevels();
+
+	private final RootLogger rootLogger;
+
+	/** Sink for asynchronous delivery, or null when delivering synchronously. */
+	private volatile AsyncLogSink asyncSink;
 
 	// -- constructor --
 
@@ -71,6 +83,11 @@ public abstract class AbstractLogService extends AbstractService implements
 		classAndPackageLevels = setupMapFromProperties(properties,
 			LogService.LOG_LEVEL_PROPERTY + ":");
 		initLogSourceLevels(properties);
+		final LogOverflowPolicy policy = LogOverflowPolicy.parse(properties
+			.getProperty(LogService.LOG_ASYNC_PROPERTY));
+		if (policy != null) {
+			startAsync(AsyncLogSink.DEFAULT_CAPACITY, policy, LogLevel.WARN);
+		}
 	}
 
 	// -- AbstractLogService methods --
@@ -83,6 +100,7 @@ public abstract class AbstractLogService extends AbstractService implements
 	@Override
 	public void setLevel(final String classOrPackageName, final int level) {
 		classAndPackageLevels.put(classOrPackageName, level);
+		classLevels = newClassLevels();
 	}
 
 	@Override
@@ -90,6 +108,28 @@ public abstract class AbstractLogService extends AbstractService implements
 		rootLogger.getSource().subSource(source).setLogLevel(level);
 	}
 
+	@Override
+	public synchronized void startAsync(final int capacity,
+		final LogOverflowPolicy policy, final int dropLevel)
+	{
+		stopAsync();
+		asyncSink = new AsyncLogSink(rootLogger::deliver, capacity, policy,
+			dropLevel);
+	}
+
+	@Override
+	public synchronized void stopAsync() {
+		final AsyncLogSink sink = asyncSink;
+		if (sink == null) return;
+		asyncSink = null;
+		sink.close();
+	}
+
+	@Override
+	public AsyncLogSink getAsyncSink() {
+		return asyncSink;
+	}
+
 	abstract protected void messageLogged(LogMessage message);
 
 	// -- Logger methods --
@@ -107,8 +147,8 @@ public abstract class AbstractLogService extends AbstractService implements
 	@Override
 	public int getLevel() {
 		if (classAndPackageLevels.isEmpty()) return currentLevel;
-		return getLevelForClass(CallingClassUtils.getCallingClass().getName(),
-			currentLevel);
+		final int level = classLevels.get(CallingClassUtils.getCallingClass());
+		return level == NO_CLASS_LEVEL ? currentLevel : level;
 	}
 
 	@Override
@@ -131,6 +171,13 @@ public abstract class AbstractLogService extends AbstractService implements
 		rootLogger.notifyListeners(event);
 	}
 
+	// -- Disposable methods --
+
+	@Override
+	public void dispose() {
+		stopAsync();
+	}
+
 	// -- Deprecated --
 
 	/** @deprecated Use {@link LogLevel#prefix(int)} instead. */
@@ -147,6 +194,16 @@ public abstract class AbstractLogService extends AbstractService implements
 		nameLevels.forEach(this::setLevelForLogger);
 	}
 
+	private ClassValue<Integer> newClassLevels() {
+		return new ClassValue<Integer>() {
+
+			@Override
+			protected Integer computeValue(final Class<?> type) {
+				return getLevelForClass(type.getName(), NO_CLASS_LEVEL);
+			}
+		};
+	}
+
 	private int getLevelForClass(String classOrPackageName, int defaultLevel) {
 		// check for a custom log level for calling class or its parent packages
 		while (classOrPackageName != null) {
@@ -194,5 +251,17 @@ public abstract class AbstractLogService extends AbstractService implements
 		public int getLevel() {
 			return AbstractLogService.this.getLevel();
 		}
+
+		@Override
+		public void messageLogged(final LogMessage message) {
+			final AsyncLogSink sink = asyncSink;
+			if (sink == null) deliver(message);
+			else sink.messageLogged(message);
+		}
+
+		/** Notifies the listeners and the service of the message. */
+		private void deliver(final LogMessage message) {
+			super.messageLogged(message);
+		}
 	}
 }
@@ -0,0 +1,290 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A {@link LogListener} which hands log messages off to a background thread.
+ * <p>
+ * Messages are placed into a bounded, lock-free ring buffer and drained in
+ * batches by a dedicated daemon thread, which forwards them to the
+ * destination listener in the order they were logged. When the buffer is
+ * full, the {@link LogOverflowPolicy} decides whether the logging thread
+ * blocks or the message is dropped; dropped messages are counted per level.
+ * </p>
+ * <p>
+ * Messages logged by the destination itself (i.e., on the drain thread) are
+ * delivered synchronously, to avoid deadlock.
+ * </p>
+ */
+@IgnoreAsCallingClass
+public class AsyncLogSink implements LogListener {
+
+	/** Default capacity of the ring buffer. */
+	public static final int DEFAULT_CAPACITY = 8192;
+
+	/** Maximum number of messages forwarded per batch. */
+	private static final int BATCH_SIZE = 256;
+
+	/** Time the drain thread sleeps when no wake-up arrives. */
+	private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private final LogListener destination;
+	private final LogOverflowPolicy policy;
+	private final int dropLevel;
+
+	private final int mask;
+	private final AtomicReferenceArray<LogMessage> slots;
+	private final AtomicLongArray sequences;
+
+	/** Position at which the next message will be enqueued. */
+	private final AtomicLong tail = new AtomicLong();
+
+	/** Position of the next message to drain; written by the drain thread. */
+	private final AtomicLong head = new AtomicLong();
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLongArray droppedByLevel =
+		new AtomicLongArray(LogLevel.TRACE + 1);
+
+	private final Thread drainer;
+	private volatile boolean sleeping;
+	private volatile boolean closed;
+
+	/**
+	 * Creates a sink forwarding to the given destination.
+	 *
+	 * @param destination the listener to which messages are forwarded
+	 * @param capacity the minimum number of messages which can be buffered;
+	 *          rounded up to the next power of two
+	 * @param policy what to do when the buffer is full
+	 * @param dropLevel with {@link LogOverflowPolicy#DROP_BELOW_LEVEL}, the
+	 *          least severe level which is never dropped (e.g.
+	 *          {@link LogLevel#WARN})
+	 */
+	public AsyncLogSink(final LogListener destination, final int capacity,
+		final LogOverflowPolicy policy, final int dropLevel)
+	{
+		if (capacity < 1 || capacity > 1 << 30) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.destination = destination;
+		this.policy = policy == null ? LogOverflowPolicy.BLOCK : policy;
+		this.dropLevel = dropLevel;
+
+		final int size = Integer.highestOneBit(capacity - 1) << 1;
+		mask = Math.max(size, 1) - 1;
+		slots = new AtomicReferenceArray<>(mask + 1);
+		sequences = new AtomicLongArray(mask + 1);
+		for (int i = 0; i <= mask; i++) {
+			sequences.set(i, i);
+		}
+
+		drainer = new Thread(this::drain, "SciJava-Log-" + hashCode());
+		drainer.setDaemon(true);
+		drainer.start();
+	}
+
+	// -- AsyncLogSink methods --
+
+	/** Gets the number of messages the ring buffer can hold. */
+	public int capacity() {
+		return mask + 1;
+	}
+
+	/** Gets the overflow policy of this sink. */
+	public LogOverflowPolicy policy() {
+		return policy;
+	}
+
+	/** Gets the total number of messages dropped due to overflow. */
+	public long droppedCount() {
+		return dropped.get();
+	}
+
+	/** Gets the number of messages of the given level dropped so far. */
+	public long droppedCount(final int level) {
+		return droppedByLevel.get(levelIndex(level));
+	}
+
+	/**
+	 * Blocks until all messages logged before this call have been forwarded to
+	 * the destination.
+	 */
+	public void flush() {
+		if (Thread.currentThread() == drainer) return;
+		final long target = tail.get();
+		while (head.get() < target && drainer.isAlive()) {
+			wakeDrainer();
+			LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(100));
+		}
+	}
+
+	/**
+	 * Forwards all pending messages and stops the drain thread. Messages logged
+	 * afterwards are delivered synchronously.
+	 */
+	public void close() {
+		if (closed) return;
+		closed = true;
+		wakeDrainer();
+		if (Thread.currentThread() == drainer) return;
+		boolean interrupted = false;
+		while (drainer.isAlive()) {
+			try {
+				drainer.join();
+			}
+			catch (final InterruptedException exc) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) Thread.currentThread().interrupt();
+
+		// forward any messages enqueued while the drain thread was stopping
+		LogMessage message;
+		while ((message = poll()) != null) {
+			deliver(message);
+		}
+	}
+
+	// -- LogListener methods --
+
+	@Override
+	public void messageLogged(final LogMessage message) {
+		if (closed || Thread.currentThread() == drainer) {
+			deliver(message);
+			return;
+		}
+		if (offer(message)) {
+			wakeDrainer();
+			return;
+		}
+		if (policy == LogOverflowPolicy.DROP ||
+			policy == LogOverflowPolicy.DROP_BELOW_LEVEL &&
+				message.level() > dropLevel)
+		{
+			dropped.incrementAndGet();
+			droppedByLevel.incrementAndGet(levelIndex(message.level()));
+			return;
+		}
+		// block until there is room
+		while (!offer(message)) {
+			if (closed || !drainer.isAlive()) {
+				deliver(message);
+				return;
+			}
+			wakeDrainer();
+			LockSupport.parkNanos(this, TimeUnit.MICROSECONDS.toNanos(50));
+		}
+		wakeDrainer();
+	}
+
+	// -- Helper methods --
+
+	/**
+	 * Enqueues the message, if there is room. Multiple threads may call this
+	 * concurrently; each slot's sequence number tells producers whether it is
+	 * free, and the consumer whether it is filled.
+	 */
+	private boolean offer(final LogMessage message) {
+		long pos = tail.get();
+		while (true) {
+			final int index = (int) pos & mask;
+			final long diff = sequences.get(index) - pos;
+			if (diff == 0) {
+				if (tail.compareAndSet(pos, pos + 1)) {
+					slots.set(index, message);
+					sequences.set(index, pos + 1);
+					return true;
+				}
+				pos = tail.get();
+			}
+			else if (diff < 0) return false; // full
+			else pos = tail.get();
+		}
+	}
+
+	/** Dequeues the next message; called only by the drain thread. */
+	private LogMessage poll() {
+		final long pos = head.get();
+		final int index = (int) pos & mask;
+		if (sequences.get(index) != pos + 1) return null;
+		final LogMessage message = slots.get(index);
+		slots.set(index, null);
+		sequences.set(index, pos + mask + 1);
+		head.set(pos + 1);
+		return message;
+	}
+
+	private void drain() {
+		while (true) {
+			int count = 0;
+			LogMessage message;
+			while (count < BATCH_SIZE && (message = poll()) != null) {
+				deliver(message);
+				count++;
+			}
+			if (count > 0) continue;
+			if (closed && tail.get() == head.get()) return;
+			sleeping = true;
+			if (tail.get() == head.get() && !closed) {
+				LockSupport.parkNanos(this, IDLE_NANOS);
+			}
+			sleeping = false;
+		}
+	}
+
+	private void wakeDrainer() {
+		if (sleeping) LockSupport.unpark(drainer);
+	}
+
+	private void deliver(final LogMessage message) {
+		try {
+			destination.messageLogged(message);
+		}
+		catch (final Throwable t) {
+			// NB: Do not let a failing destination kill the drain thread.
+			t.printStackTrace();
+		}
+	}
+
+	private int levelIndex(final int level) {
+		return Math.max(0, Math.min(level, LogLevel.TRACE));
+	}
+
+}
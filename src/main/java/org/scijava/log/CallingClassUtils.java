@@ -31,8 +31,25 @@
 
 package org.scijava.log;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 /**
  * Utility class for getting the calling class of a method.
+ * <p>
+ * The classes on the call stack are obtained directly, which avoids
+ * materializing a full {@link StackTraceElement} array and looking up each
+ * class by name. {@link SecurityManager#getClassContext()} is used while
+ * available, since it is the cheapest; as {@link SecurityManager} is
+ * deprecated for removal, {@code java.lang.StackWalker} is used instead when
+ * it is not, accessed reflectively so as to remain compatible with Java 8.
+ * Whether a class is annotated with {@link IgnoreAsCallingClass} is cached per
+ * class.
+ * </p>
  *
  * @author Matthias Arzt
  */
@@ -40,6 +57,17 @@ package org.scijava.log;
 @IgnoreAsCallingClass
 public final class CallingClassUtils {
 
+	/** Caches whether each class is annotated with @IgnoreAsCallingClass. */
+	private static final ClassValue<Boolean> IGNORED = new ClassValue<Boolean>() {
+
+		@Override
+		protected Boolean computeValue(final Class<?> type) {
+			return type.isAnnotationPresent(IgnoreAsCallingClass.class);
+		}
+	};
+
+	private static final CallerResolver RESOLVER = createResolver();
+
 	private CallingClassUtils() {
 		// prevent instantiation of utility class
 	}
@@ -52,16 +80,150 @@ public final class CallingClassUtils {
 	 *           annotated with @IgnoreAsCallingClass.
 	 */
 	public static Class<?> getCallingClass() {
+		final Class<?> clazz = RESOLVER.getCallingClass();
+		if (clazz == null) throw new IllegalStateException();
+		return clazz;
+	}
+
+	// -- Helper methods --
+
+	private static boolean isIgnored(final Class<?> clazz) {
+		return IGNORED.get(clazz);
+	}
+
+	private static CallerResolver createResolver() {
 		try {
-			StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
-			for (int i = 1; i < stackTrace.length - 1; i++) {
-				Class<?> clazz = Class.forName(stackTrace[i].getClassName());
-				if (!clazz.isAnnotationPresent(IgnoreAsCallingClass.class))
-					return clazz;
+			return new ClassContextResolver();
+		}
+		catch (final SecurityException | UnsupportedOperationException
+				| LinkageError exc)
+		{
+			// NB: Not allowed to create a SecurityManager, or it no longer exists.
+		}
+		try {
+			return new StackWalkerResolver();
+		}
+		catch (final LinkageError exc) {
+			// NB: Not Java 9+.
+		}
+		return new StackTraceResolver();
+	}
+
+	// -- Helper classes --
+
+	/** Strategy for finding the first non-ignored class on the call stack. */
+	private interface CallerResolver {
+
+		/** @return the calling class, or null if there is none. */
+		Class<?> getCallingClass();
+	}
+
+	/** Reads the classes on the stack from {@code java.lang.StackWalker}. */
+	@IgnoreAsCallingClass
+	private static final class StackWalkerResolver implements CallerResolver {
+
+		// NB: Static final method handles can be inlined by the JIT compiler.
+		private static final Object WALKER;
+		private static final MethodHandle WALK;
+		private static final MethodHandle DECLARING_CLASS;
+
+		static {
+			try {
+				final Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+				final Class<?> optionClass = //
+					Class.forName("java.lang.StackWalker$Option");
+				final Class<?> frameClass = //
+					Class.forName("java.lang.StackWalker$StackFrame");
+				Object retainClassReference = null;
+				for (final Object option : optionClass.getEnumConstants()) {
+					if ("RETAIN_CLASS_REFERENCE".equals(option.toString())) {
+						retainClassReference = option;
+					}
+				}
+				WALKER = walkerClass.getMethod("getInstance", optionClass).invoke(
+					null, retainClassReference);
+
+				// NB: walk is caller-sensitive, so a full-privilege lookup is needed.
+				final MethodHandles.Lookup lookup = MethodHandles.lookup();
+				WALK = lookup.findVirtual(walkerClass, "walk", MethodType.methodType(
+					Object.class, Function.class)).asType(MethodType.methodType(
+						Object.class, Object.class, Function.class));
+				DECLARING_CLASS = lookup.findVirtual(frameClass, "getDeclaringClass",
+					MethodType.methodType(Class.class)).asType(MethodType.methodType(
+						Class.class, Object.class));
+			}
+			catch (final ReflectiveOperationException exc) {
+				throw new ExceptionInInitializerError(exc);
+			}
+		}
+
+		private static final Function<Stream<Object>, Class<?>> FIND_CALLER =
+			frames -> {
+				final Iterator<Object> iter = frames.iterator();
+				while (iter.hasNext()) {
+					final Class<?> clazz = getDeclaringClass(iter.next());
+					if (!isIgnored(clazz)) return clazz;
+				}
+				return null;
+			};
+
+		@Override
+		public Class<?> getCallingClass() {
+			try {
+				return (Class<?>) (Object) WALK.invokeExact(WALKER, FIND_CALLER);
+			}
+			catch (final RuntimeException | Error exc) {
+				throw exc;
+			}
+			catch (final Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+
+		private static Class<?> getDeclaringClass(final Object frame) {
+			try {
+				return (Class<?>) DECLARING_CLASS.invokeExact(frame);
+			}
+			catch (final RuntimeException | Error exc) {
+				throw exc;
+			}
+			catch (final Throwable t) {
+				throw new IllegalStateException(t);
+			}
+		}
+	}
+
+	/** Reads the classes on the stack from {@link SecurityManager}. */
+	@IgnoreAsCallingClass
+	private static final class ClassContextResolver extends SecurityManager
+		implements CallerResolver
+	{
+
+		@Override
+		public Class<?> getCallingClass() {
+			for (final Class<?> clazz : getClassContext()) {
+				if (!isIgnored(clazz)) return clazz;
+			}
+			return null;
+		}
+	}
+
+	/** Falls back to examining a full stack trace. */
+	@IgnoreAsCallingClass
+	private static final class StackTraceResolver implements CallerResolver {
+
+		@Override
+		public Class<?> getCallingClass() {
+			try {
+				StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+				for (int i = 1; i < stackTrace.length - 1; i++) {
+					Class<?> clazz = Class.forName(stackTrace[i].getClassName());
+					if (!isIgnored(clazz)) return clazz;
+				}
 			}
+			catch (ClassNotFoundException ignore) {}
+			return null;
 		}
-		catch (ClassNotFoundException ignore) {}
-		throw new IllegalStateException();
 	}
 
 }
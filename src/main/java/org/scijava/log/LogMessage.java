@@ -59,7 +59,7 @@ public class LogMessage {
 	private final int level;
 	private final String message;
 	private final Throwable throwable;
-	private final Date time;
+	private final long time;
 
 	private Collection<Object> attachments;
 
@@ -71,7 +71,7 @@ public class LogMessage {
 		this.level = level;
 		this.message = message == null ? null : message.toString();
 		this.throwable = throwable;
-		this.time = new Date();
+		this.time = System.currentTimeMillis();
 	}
 
 	public LogMessage(LogSource source, int level, Object msg) {
@@ -104,6 +104,14 @@ public class LogMessage {
 
 	/** Time of the creation of the log message. */
 	public Date time() {
+		return new Date(time);
+	}
+
+	/**
+	 * Time of the creation of the log message, in milliseconds since the epoch.
+	 * Unlike {@link #time()}, this does not allocate.
+	 */
+	public long timeMillis() {
 		return time;
 	}
 
@@ -0,0 +1,74 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+/**
+ * Strategies for handling log messages when the ring buffer of an
+ * {@link AsyncLogSink} is full.
+ *
+ * @see LogService#startAsync(int, LogOverflowPolicy, int)
+ */
+public enum LogOverflowPolicy {
+
+	/**
+	 * Blocks the logging thread until the buffer has room for the message. No
+	 * messages are lost. This is the default.
+	 */
+	BLOCK,
+
+	/** Discards the message, incrementing the sink's drop counters. */
+	DROP,
+
+	/**
+	 * Discards messages less severe than the sink's drop level, and blocks for
+	 * all others. This keeps warnings and errors while shedding verbose output.
+	 */
+	DROP_BELOW_LEVEL;
+
+	/**
+	 * Parses the given policy name, ignoring case and accepting dashes in place
+	 * of underscores.
+	 *
+	 * @return the policy, or null if the name is null or invalid
+	 */
+	public static LogOverflowPolicy parse(final String name) {
+		if (name == null) return null;
+		try {
+			return valueOf(name.trim().toUpperCase().replace('-', '_'));
+		}
+		catch (final IllegalArgumentException exc) {
+			return null;
+		}
+	}
+
+}
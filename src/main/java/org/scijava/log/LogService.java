@@ -53,6 +53,12 @@ public interface LogService extends SciJavaService, Logger {
 
 	String LOG_LEVEL_BY_SOURCE_PROPERTY = "scijava.log.level.source";
 
+	/**
+	 * System property which, when set to the name of a
+	 * {@link LogOverflowPolicy}, enables asynchronous logging with that policy.
+	 */
+	String LOG_ASYNC_PROPERTY = "scijava.log.async";
+
 	/** Changes the log level of the root logger. */
 	void setLevel(int level);
 
@@ -75,6 +81,39 @@ public interface LogService extends SciJavaService, Logger {
 	 */
 	void setLevelForLogger(String source, int level);
 
+	/**
+	 * Starts delivering log messages asynchronously: messages are queued in a
+	 * bounded ring buffer and forwarded to this service's output and listeners
+	 * by a background thread. Any previous asynchronous mode is stopped first.
+	 *
+	 * @param capacity the number of messages which can be buffered
+	 * @param policy what to do when the buffer is full
+	 * @param dropLevel with {@link LogOverflowPolicy#DROP_BELOW_LEVEL}, the
+	 *          least severe level which is never dropped
+	 * @see AsyncLogSink
+	 */
+	default void startAsync(final int capacity, final LogOverflowPolicy policy,
+		final int dropLevel)
+	{
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Stops delivering log messages asynchronously, after forwarding all pending
+	 * messages. Does nothing if asynchronous delivery is not active.
+	 */
+	default void stopAsync() {
+		// NB: Asynchronous delivery is never active by default.
+	}
+
+	/**
+	 * Gets the sink used for asynchronous delivery, e.g. to inspect its drop
+	 * counters, or null if messages are delivered synchronously.
+	 */
+	default AsyncLogSink getAsyncSink() {
+		return null;
+	}
+
 	// -- Deprecated --
 
 	/** @deprecated Use {@link LogLevel#NONE}. */
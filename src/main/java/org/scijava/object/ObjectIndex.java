@@ -32,6 +32,7 @@
 
 package org.scijava.object;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -39,11 +40,14 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
 
 import org.scijava.util.ClassUtils;
 
@@ -71,6 +75,13 @@ import org.scijava.util.ClassUtils;
  * added to the index more than once, in which case it will appear on compatible
  * type lists multiple times.
  * </p>
+ * <p>
+ * The index is optimized for frequent concurrent reads and infrequent writes:
+ * each type list is an immutable snapshot which is replaced wholesale whenever
+ * the index changes, so that {@link #get(Class)} never blocks and never
+ * copies. Writes are serialized, and each one copies the affected type lists
+ * once, no matter how many objects it adds or removes.
+ * </p>
  * 
  * @author Curtis Rueden
  */
@@ -79,15 +90,42 @@ public class ObjectIndex<E> implements Collection<E> {
 	/**
 	 * "Them as counts counts moren them as dont count." <br>
 	 * &mdash;Russell Hoban, <em>Riddley Walker</em>
+	 * <p>
+	 * NB: The lists are unmodifiable snapshots, which each write replaces
+	 * wholesale; neither the map nor its lists may be changed directly.
+	 * Subclasses which need to change type lists must do so within
+	 * {@link #modify}, on the working copies obtained from {@link #retrieveList}.
+	 * </p>
 	 */
 	protected final Map<Class<?>, List<E>> hoard =
 		new ConcurrentHashMap<>();
 
+	/** Type and supertypes of each class, computed once per class. */
+	private static final ClassValue<Class<?>[]> TYPES =
+		new ClassValue<Class<?>[]>()
+		{
+
+			@Override
+			protected Class<?>[] computeValue(final Class<?> type) {
+				final Set<Class<?>> set = new LinkedHashSet<>();
+				set.add(All.class); // NB: Always include the "All" class.
+				getTypes(type, set);
+				return set.toArray(new Class[set.size()]);
+			}
+
+		};
+
 	private final Class<E> baseClass;
 
 	/** List of objects to add later as needed (i.e., lazily). */
-	private final List<LazyObjects<? extends E>> pending =
-		new LinkedList<>();
+	private final Queue<LazyObjects<? extends E>> pending =
+		new ConcurrentLinkedQueue<>();
+
+	/** Number of pending objects which have not yet been fully added. */
+	private final AtomicInteger unresolved = new AtomicInteger();
+
+	/** Working copies of the type lists changed by the current write. */
+	private Map<Class<?>, List<E>> edit;
 
 	public ObjectIndex(final Class<E> baseClass) {
 		this.baseClass = baseClass;
@@ -125,17 +163,16 @@ public class ObjectIndex<E> implements Collection<E> {
 	/**
 	 * Gets a list of registered objects compatible with the given type.
 	 * 
-	 * @return New list of registered objects of the given type, or an empty
-	 *         list if no such objects exist (this method never returns null).
+	 * @return Read-only snapshot of registered objects of the given type, or an
+	 *         empty list if no such objects exist (this method never returns
+	 *         null). The snapshot is not affected by later changes to the index.
 	 */
 	public List<E> get(final Class<?> type) {
 		// lazily register any pending objects
-		if (!pending.isEmpty()) resolvePending();
+		if (unresolved.get() > 0) resolvePending();
 
-		List<E> list = retrieveList(type);
-		// NB: Return a copy of the data, to facilitate thread safety.
-		list = new ArrayList<>(list);
-		return list;
+		final List<E> list = hoard.get(type);
+		return list == null ? Collections.<E> emptyList() : list;
 	}
 
 	/**
@@ -148,9 +185,8 @@ public class ObjectIndex<E> implements Collection<E> {
 	 * </p>
 	 */
 	public void addLater(final LazyObjects<? extends E> c) {
-		synchronized (pending) {
-			pending.add(c);
-		}
+		unresolved.incrementAndGet();
+		pending.add(c);
 	}
 
 	// -- Collection methods --
@@ -206,22 +242,26 @@ public class ObjectIndex<E> implements Collection<E> {
 
 	@Override
 	public boolean addAll(final Collection<? extends E> c) {
-		boolean changed = false;
-		for (final E o : c) {
-			final boolean result = add(o, true);
-			if (result) changed = true;
-		}
-		return changed;
+		return modify(() -> {
+			boolean changed = false;
+			for (final E o : c) {
+				final boolean result = add(o, true);
+				if (result) changed = true;
+			}
+			return changed;
+		});
 	}
 
 	@Override
 	public boolean removeAll(final Collection<?> c) {
-		boolean changed = false;
-		for (final Object o : c) {
-			final boolean result = remove(o, true);
-			if (result) changed = true;
-		}
-		return changed;
+		return modify(() -> {
+			boolean changed = false;
+			for (final Object o : c) {
+				final boolean result = remove(o, true);
+				if (result) changed = true;
+			}
+			return changed;
+		});
 	}
 
 	@Override
@@ -230,7 +270,7 @@ public class ObjectIndex<E> implements Collection<E> {
 	}
 
 	@Override
-	public void clear() {
+	public synchronized void clear() {
 		hoard.clear();
 	}
 
@@ -285,47 +325,64 @@ public class ObjectIndex<E> implements Collection<E> {
 		return remove(o, getType(e), batch);
 	}
 
-	private Map<Class<?>, List<E>[]> type2Lists =
-		new HashMap<>();
-
-	protected synchronized List<E>[] retrieveListsForType(final Class<?> type) {
-		final List<E>[] lists = type2Lists.get(type);
-		if (lists != null) return lists;
-
-		final ArrayList<List<E>> listOfLists = new ArrayList<>();
-		for (final Class<?> c : getTypes(type)) {
-			listOfLists.add(retrieveList(c));
+	/**
+	 * Gets the type lists beneath the given type hierarchy. Within
+	 * {@link #modify}, these are the working copies of the lists; otherwise,
+	 * they are read-only (see {@link #retrieveList}).
+	 */
+	protected List<E>[] retrieveListsForType(final Class<?> type) {
+		final Class<?>[] types = getTypes(type);
+		@SuppressWarnings("unchecked")
+		final List<E>[] lists = new List[types.length];
+		for (int i = 0; i < types.length; i++) {
+			lists[i] = retrieveList(types[i]);
 		}
-		// convert list of lists to array of lists
-		@SuppressWarnings("rawtypes")
-		final List[] arrayOfRawLists =
-			listOfLists.toArray(new List[listOfLists.size()]);
-		@SuppressWarnings({ "unchecked" })
-		final List<E>[] arrayOfLists = arrayOfRawLists;
-		type2Lists.put(type, arrayOfLists);
-
-		return arrayOfLists;
+		return lists;
 	}
 
 	/** Adds an object to type lists beneath the given type hierarchy. */
-	@SuppressWarnings("unchecked")
 	protected boolean add(final E o, final Class<?> type, final boolean batch) {
-		boolean result = false;
-		for (final List<?> list : retrieveListsForType(type)) {
-			if (addToList(o, (List<E>)list, batch)) result = true;
-		}
-		return result;
+		return modify(() -> {
+			boolean result = false;
+			for (final List<E> list : retrieveListsForType(type)) {
+				if (addToList(o, list, batch)) result = true;
+			}
+			return result;
+		});
 	}
 
 	/** Removes an object from type lists beneath the given type hierarchy. */
 	protected boolean remove(final Object o, final Class<?> type,
 		final boolean batch)
 	{
-		boolean result = false;
-		for (final List<E> list : retrieveListsForType(type)) {
-			if (removeFromList(o, list, batch)) result = true;
+		return modify(() -> {
+			boolean result = false;
+			for (final List<E> list : retrieveListsForType(type)) {
+				if (removeFromList(o, list, batch)) result = true;
+			}
+			return result;
+		});
+	}
+
+	/**
+	 * Performs a write to the index. While the given change runs,
+	 * {@link #retrieveList} returns mutable working copies of the type lists;
+	 * afterward, the copies are published as the new read-only snapshots.
+	 * Nested calls join the enclosing write, so each list is copied only once.
+	 */
+	protected synchronized boolean modify(final BooleanSupplier change) {
+		if (edit != null) return change.getAsBoolean();
+		edit = new HashMap<>();
+		try {
+			return change.getAsBoolean();
+		}
+		finally {
+			for (final Map.Entry<Class<?>, List<E>> entry : edit.entrySet()) {
+				hoard.put(entry.getKey(), //
+					Collections.unmodifiableList(entry.getValue()));
+			}
+			edit = null;
 		}
-		return result;
 	}
 
 	protected boolean addToList(final E obj, final List<E> list,
@@ -342,23 +399,13 @@ public class ObjectIndex<E> implements Collection<E> {
 
 	// -- Helper methods --
 
-	private static Map<Class<?>, Class<?>[]> typeMap =
-		new HashMap<>();
-
-	/** Gets a new set containing the type and all its supertypes. */
-	protected static synchronized Class<?>[] getTypes(final Class<?> type) {
-		Class<?>[] types = typeMap.get(type);
-		if (types != null) return types;
-		final Set<Class<?>>set = new LinkedHashSet<>();
-		set.add(All.class); // NB: Always include the "All" class.
-		getTypes(type, set);
-		types = set.toArray(new Class[set.size()]);
-		typeMap.put(type, types);
-		return types;
+	/** Gets the type and all its supertypes. The array must not be modified. */
+	protected static Class<?>[] getTypes(final Class<?> type) {
+		return TYPES.get(type);
 	}
 
 	/** Recursively adds the type and all its supertypes to the given set. */
-	private static synchronized void getTypes(final Class<?> type,
+	private static void getTypes(final Class<?> type,
 		final Set<Class<?>> types)
 	{
 		if (type == null) return;
@@ -371,21 +418,43 @@ public class ObjectIndex<E> implements Collection<E> {
 		}
 	}
 
-	/** Retrieves the type list for the given type, creating it if necessary. */
+	/**
+	 * Retrieves the type list for the given type.
+	 * <p>
+	 * Within {@link #modify}, this is a mutable working copy of the list,
+	 * created if necessary, which is published when the write completes.
+	 * Otherwise, it is a read-only view of the current snapshot, whose mutators
+	 * throw {@link IllegalStateException}: changes made outside of
+	 * {@link #modify} would never become visible, so subclasses which
+	 * previously changed these lists directly must now wrap those changes in a
+	 * call to {@link #modify}.
+	 * </p>
+	 */
 	protected List<E> retrieveList(final Class<?> type) {
-		List<E> list = hoard.get(type);
+		final List<E> snapshot = hoard.get(type);
+		if (!Thread.holdsLock(this) || edit == null) {
+			return new ReadOnlyList<>(snapshot == null ? //
+				Collections.<E> emptyList() : snapshot);
+		}
+		List<E> list = edit.get(type);
 		if (list == null) {
-			list = new ArrayList<>();
-			hoard.put(type, list);
+			list = snapshot == null ? new ArrayList<>() : new ArrayList<>(snapshot);
+			edit.put(type, list);
 		}
 		return list;
 	}
 
 	private void resolvePending() {
+		// NB: Concurrent readers wait here until all pending objects are added.
 		synchronized (pending) {
-			while (!pending.isEmpty()) {
-				final LazyObjects<? extends E> c = pending.remove(0);
-				addAll(c.get());
+			LazyObjects<? extends E> c;
+			while ((c = pending.poll()) != null) {
+				try {
+					addAll(c.get());
+				}
+				finally {
+					unresolved.decrementAndGet();
+				}
 			}
 		}
 	}
@@ -396,4 +465,44 @@ public class ObjectIndex<E> implements Collection<E> {
 		// NB: A special class beneath which *all* elements of the index are listed.
 	}
 
+	/** Type list retrieved outside of {@link ObjectIndex#modify}. */
+	private static class ReadOnlyList<E> extends AbstractList<E> {
+
+		private final List<E> list;
+
+		private ReadOnlyList(final List<E> list) {
+			this.list = list;
+		}
+
+		@Override
+		public E get(final int index) {
+			return list.get(index);
+		}
+
+		@Override
+		public int size() {
+			return list.size();
+		}
+
+		@Override
+		public E set(final int index, final E element) {
+			throw outsideModify();
+		}
+
+		@Override
+		public void add(final int index, final E element) {
+			throw outsideModify();
+		}
+
+		@Override
+		public E remove(final int index) {
+			throw outsideModify();
+		}
+
+		private IllegalStateException outsideModify() {
+			return new IllegalStateException(
+				"Type lists can only be changed within ObjectIndex#modify");
+		}
+	}
+
 }
@@ -80,17 +80,15 @@ public class SortedObjectIndex<E extends Comparable<? super E>> extends
 
 	@Override
 	public boolean addAll(final Collection<? extends E> c) {
-		if (c.size() > 1) {
-			mergeAfterSorting(c);
-			return c.size() > 0;
-		}
+		if (c.isEmpty()) return false;
 		if (c.size() == 1) {
 			// add single item normally, to avoid resorting the lists
 			return add(c.iterator().next());
 		}
-		final boolean changed = super.addAll(c);
-		if (changed) sort();
-		return changed;
+		return modify(() -> {
+			mergeAfterSorting(c);
+			return true;
+		});
 	}
 
 	// -- Internal methods --
@@ -120,12 +118,6 @@ public class SortedObjectIndex<E extends Comparable<? super E>> extends
 
 	// -- Helper methods --
 
-	private void sort() {
-		for (final List<E> list : hoard.values()) {
-			Collections.sort(list);
-		}
-	}
-
 	private int findInList(final Object o, final List<E> list) {
 		if (!getBaseClass().isAssignableFrom(o.getClass())) {
 			// wrong type
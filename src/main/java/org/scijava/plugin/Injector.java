@@ -0,0 +1,219 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.plugin;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.scijava.annotations.AnnotationProcessor;
+import org.scijava.util.ClassUtils;
+
+/**
+ * Creates instances of a class and accesses their {@link Parameter} fields,
+ * for use by {@link PluginInfo#createInstance()} and
+ * {@link org.scijava.Context#inject(Object)}.
+ * <p>
+ * For each concrete {@link Plugin} class, the {@link AnnotationProcessor}
+ * generates an injector at compile time, named like the class with the suffix
+ * {@value #SUFFIX}, which instantiates the class and accesses its fields
+ * without reflection, where the Java language permits. Classes without a
+ * generated injector are handled reflectively. Either way,
+ * {@link #of(Class)} obtains the injector of a class.
+ * </p>
+ * <p>
+ * A generated injector only compiles in the fields declared by its class;
+ * inherited fields come from the injector of the superclass (see
+ * {@link #withInherited(List)}), so that the injector stays correct when a
+ * superclass from another library gains or loses fields.
+ * </p>
+ *
+ * @param <T> The class handled by the injector.
+ */
+public abstract class Injector<T> {
+
+	/** Suffix of the names of generated injector classes. */
+	public static final String SUFFIX = "$$Injector";
+
+	/** Injector of each class, discovered or created on first use. */
+	private static final ClassValue<Injector<?>> INJECTORS =
+		new ClassValue<Injector<?>>()
+		{
+
+			@Override
+			protected Injector<?> computeValue(final Class<?> type) {
+				return create(type);
+			}
+		};
+
+	private final Class<T> type;
+
+	public Injector(final Class<T> type) {
+		this.type = type;
+	}
+
+	// -- Injector methods --
+
+	/** Gets the class handled by this injector. */
+	public Class<T> getType() {
+		return type;
+	}
+
+	/** Gets whether this injector was generated at compile time. */
+	public boolean isGenerated() {
+		return true;
+	}
+
+	/** Creates a new instance of the class using its no-argument constructor. */
+	public abstract T newInstance() throws InstantiationException,
+		IllegalAccessException;
+
+	/**
+	 * Gets the {@link Parameter} fields of the class, including inherited ones,
+	 * in the same order as {@link ClassUtils#getAnnotatedFields}.
+	 */
+	public abstract List<ParameterField> getParameterFields();
+
+	// -- Utility methods --
+
+	/** Gets the injector of the given class. */
+	public static <T> Injector<T> of(final Class<T> c) {
+		@SuppressWarnings("unchecked")
+		final Injector<T> injector = (Injector<T>) INJECTORS.get(c);
+		return injector;
+	}
+
+	// -- Internal methods --
+
+	/**
+	 * Creates a reflective accessor for the given field. Used by generated
+	 * injectors for fields they cannot access directly.
+	 *
+	 * @throws IllegalStateException if the field does not exist.
+	 */
+	protected static ParameterField field(final Class<?> declaringClass,
+		final String name)
+	{
+		try {
+			return ParameterField.of(declaringClass.getDeclaredField(name));
+		}
+		catch (final NoSuchFieldException exc) {
+			throw new IllegalStateException(exc);
+		}
+	}
+
+	/**
+	 * Prepends the {@link Parameter} fields inherited from the superclass to the
+	 * given fields declared by the class. Used by generated injectors.
+	 */
+	protected List<ParameterField> withInherited(
+		final List<ParameterField> declared)
+	{
+		final Class<?> superclass = type.getSuperclass();
+		if (superclass == null) return declared;
+		final List<ParameterField> inherited = of(superclass).getParameterFields();
+		if (inherited.isEmpty()) return declared;
+		final List<ParameterField> all = new ArrayList<>(inherited.size() +
+			declared.size());
+		all.addAll(inherited);
+		all.addAll(declared);
+		return Collections.unmodifiableList(all);
+	}
+
+	// -- Helper methods --
+
+	private static <T> Injector<T> create(final Class<T> c) {
+		final ClassLoader loader = c.getClassLoader();
+		if (loader != null) {
+			try {
+				final Class<?> generated = Class.forName(c.getName() + SUFFIX, true,
+					loader);
+				if (Injector.class.isAssignableFrom(generated)) {
+					@SuppressWarnings("unchecked")
+					final Injector<T> injector = (Injector<T>) generated.newInstance();
+					if (injector.getType() == c) return injector;
+				}
+			}
+			catch (final ClassNotFoundException exc) {
+				// NB: No generated injector; fall back to reflection.
+			}
+			catch (final Throwable t) {
+				// NB: Stale or broken generated injector; fall back to reflection.
+			}
+		}
+		return new ReflectiveInjector<>(c);
+	}
+
+	// -- Helper classes --
+
+	/** Injector which uses reflection, for classes without a generated one. */
+	private static class ReflectiveInjector<T> extends Injector<T> {
+
+		private volatile List<ParameterField> parameterFields;
+
+		private ReflectiveInjector(final Class<T> type) {
+			super(type);
+		}
+
+		@Override
+		public boolean isGenerated() {
+			return false;
+		}
+
+		@Override
+		public T newInstance() throws InstantiationException,
+			IllegalAccessException
+		{
+			return getType().newInstance();
+		}
+
+		@Override
+		public List<ParameterField> getParameterFields() {
+			if (parameterFields == null) initParameterFields();
+			return parameterFields;
+		}
+
+		private synchronized void initParameterFields() {
+			if (parameterFields != null) return; // already initialized
+			final List<Field> fields = //
+				ClassUtils.getAnnotatedFields(getType(), Parameter.class);
+			final List<ParameterField> list = new ArrayList<>(fields.size());
+			for (final Field f : fields) {
+				list.add(ParameterField.of(f));
+			}
+			parameterFields = Collections.unmodifiableList(list);
+		}
+	}
+
+}
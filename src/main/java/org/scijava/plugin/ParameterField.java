@@ -0,0 +1,128 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.plugin;
+
+import java.lang.reflect.Field;
+
+import org.scijava.util.ClassUtils;
+
+/**
+ * Accessor for a {@link Parameter} field of a class, as provided by its
+ * {@link Injector}.
+ * <p>
+ * Generated injectors subclass this class to access fields directly, where
+ * the Java language permits; {@link #of(Field)} provides a reflective
+ * accessor for all other fields.
+ * </p>
+ *
+ * @see Injector#getParameterFields()
+ */
+public abstract class ParameterField {
+
+	private final Class<?> declaringClass;
+	private final String name;
+	private final Class<?> type;
+	private final boolean required;
+
+	public ParameterField(final Class<?> declaringClass, final String name,
+		final Class<?> type, final boolean required)
+	{
+		this.declaringClass = declaringClass;
+		this.name = name;
+		this.type = type;
+		this.required = required;
+	}
+
+	// -- ParameterField methods --
+
+	/** Gets the class declaring the field. */
+	public Class<?> getDeclaringClass() {
+		return declaringClass;
+	}
+
+	/** Gets the name of the field. */
+	public String getName() {
+		return name;
+	}
+
+	/** Gets the (raw) type of the field. */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/** Gets whether the parameter is {@link Parameter#required() required}. */
+	public boolean isRequired() {
+		return required;
+	}
+
+	/** Gets the field's value of the specified object instance. */
+	public abstract Object get(Object instance);
+
+	/**
+	 * Sets the field's value of the specified object instance.
+	 *
+	 * @throws IllegalArgumentException if the value cannot be set.
+	 */
+	public abstract void set(Object instance, Object value);
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		return declaringClass.getName() + "#" + name;
+	}
+
+	// -- Utility methods --
+
+	/** Creates a reflective accessor for the given {@link Parameter} field. */
+	public static ParameterField of(final Field field) {
+		field.setAccessible(true); // expose private fields
+		final Parameter param = field.getAnnotation(Parameter.class);
+		final boolean required = param == null || param.required();
+		return new ParameterField(field.getDeclaringClass(), field.getName(), field
+			.getType(), required)
+		{
+
+			@Override
+			public Object get(final Object instance) {
+				return ClassUtils.getValue(field, instance);
+			}
+
+			@Override
+			public void set(final Object instance, final Object value) {
+				ClassUtils.setValue(field, instance, value);
+			}
+		};
+	}
+
+}
@@ -37,6 +37,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.scijava.object.SortedObjectIndex;
+import org.scijava.util.StartupTrace;
+import org.scijava.util.StartupTrace.Span;
 
 /**
  * Data structure for managing registered plugins.
@@ -104,9 +106,11 @@ public class PluginIndex extends SortedObjectIndex<PluginInfo<?>> {
 	 */
 	public void discover() {
 		if (pluginFinder == null) return;
-		final ArrayList<PluginInfo<?>> plugins = new ArrayList<>();
-		exceptions = pluginFinder.findPlugins(plugins);
-		addAll(plugins);
+		try (final Span span = StartupTrace.trace("plugins", "Plugin discovery")) {
+			final ArrayList<PluginInfo<?>> plugins = new ArrayList<>();
+			exceptions = pluginFinder.findPlugins(plugins);
+			addAll(plugins);
+		}
 	}
 
 	/**
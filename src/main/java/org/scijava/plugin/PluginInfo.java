@@ -46,6 +46,8 @@ import org.scijava.UIDetails;
 import org.scijava.Versioned;
 import org.scijava.input.Accelerator;
 import org.scijava.util.ClassUtils;
+import org.scijava.util.StartupTrace;
+import org.scijava.util.StartupTrace.Span;
 import org.scijava.util.StringMaker;
 import org.scijava.util.Types;
 import org.scijava.util.VersionUtils;
@@ -282,7 +284,7 @@ public class PluginInfo<PT extends SciJavaPlugin> extends AbstractUIDetails
 	@Override
 	public Class<? extends PT> loadClass() throws InstantiableException {
 		if (pluginClass == null) {
-			try {
+			try (final Span span = StartupTrace.trace("class", className)) {
 				final Class<?> c = Types.load(className, classLoader, false);
 				@SuppressWarnings("unchecked")
 				final Class<? extends PT> typedClass = (Class<? extends PT>) c;
@@ -303,7 +305,7 @@ public class PluginInfo<PT extends SciJavaPlugin> extends AbstractUIDetails
 		// instantiate plugin
 		final PT instance;
 		try {
-			instance = c.newInstance();
+			instance = Injector.of(c).newInstance();
 			inject(instance);
 			Priority.inject(instance, getPriority());
 		}
@@ -69,7 +69,11 @@ public interface TypedService<DT, PT extends TypedPlugin<DT>> extends
 	default PT find(final DT data) {
 		for (final PluginInfo<PT> plugin : getPlugins()) {
 			final PT instance = pluginService().createInstance(plugin);
-			if (instance != null && instance.supports(data)) return instance;
+			if (instance == null) continue;
+			// NB: Check the type first, so that plugins which override
+			// supports(D) with a narrower type are not handed foreign data.
+			if (!instance.getType().isInstance(data)) continue;
+			if (instance.supports(data)) return instance;
 		}
 		return null;
 	}
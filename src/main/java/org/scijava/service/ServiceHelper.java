@@ -32,24 +32,36 @@
 
 package org.scijava.service;
 
-import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.scijava.AbstractContextual;
 import org.scijava.Context;
 import org.scijava.Optional;
+import org.scijava.Priority;
 import org.scijava.event.EventHandler;
 import org.scijava.event.EventService;
 import org.scijava.log.LogService;
 import org.scijava.log.StderrLogService;
+import org.scijava.plugin.Injector;
 import org.scijava.plugin.Parameter;
+import org.scijava.plugin.ParameterField;
 import org.scijava.plugin.PluginInfo;
 import org.scijava.service.event.ServicesLoadedEvent;
 import org.scijava.util.ClassUtils;
+import org.scijava.util.StartupTrace;
+import org.scijava.util.StartupTrace.Span;
 
 /**
  * Helper class for discovering and instantiating available services.
@@ -79,6 +91,40 @@ public class ServiceHelper extends AbstractContextual {
 	 */
 	private final boolean strict;
 
+	/**
+	 * Whether independent services will be initialized concurrently.
+	 *
+	 * @see #setParallel(boolean)
+	 */
+	private boolean parallel;
+
+	/**
+	 * Whether services will be created on demand, rather than up front.
+	 *
+	 * @see #setLazy(boolean)
+	 */
+	private boolean lazy;
+
+	/** Classes which may be instantiated on demand, sorted by priority. */
+	private final List<Class<? extends Service>> lazyClasses = new ArrayList<>();
+
+	/** Lazily instantiable classes compatible with each requested type. */
+	private final Map<Class<?>, List<Class<? extends Service>>> lazyMatches =
+		new ConcurrentHashMap<>();
+
+	/** Lazily instantiable classes which could not be instantiated. */
+	private final Set<Class<?>> lazyFailures = ConcurrentHashMap.newKeySet();
+
+	/** Lazily instantiated classes currently being created. */
+	private final Map<Class<?>, LazyCreation> lazyCreating =
+		new ConcurrentHashMap<>();
+
+	/**
+	 * Lazy creations which each thread is waiting for, to detect waits which
+	 * would never end. Guarded by itself.
+	 */
+	private final Map<Thread, LazyCreation> lazyWaiting = new HashMap<>();
+
 	/**
 	 * Creates a new service helper for discovering and instantiating services.
 	 * 
@@ -136,6 +182,74 @@ public class ServiceHelper extends AbstractContextual {
 
 	// -- ServiceHelper methods --
 
+	/** Gets whether independent services are initialized concurrently. */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * Sets whether {@link #loadServices()} initializes independent services
+	 * concurrently.
+	 * <p>
+	 * In parallel mode, the services to create and their dependencies (as
+	 * declared by {@link Parameter} fields and {@link EventHandler} methods) are
+	 * resolved up front. The services are then created in waves: all services
+	 * whose dependencies are available are instantiated and initialized
+	 * concurrently on the common fork/join pool, and then registered in the
+	 * {@link ServiceIndex} in a deterministic order, which is the same as with
+	 * sequential loading. Hence, during {@link Service#initialize()}, a service
+	 * may only rely on the services it declares as dependencies; other services
+	 * may not be available yet.
+	 * </p>
+	 * <p>
+	 * If the dependencies cannot be resolved up front (e.g., because of a
+	 * dependency cycle), the services are loaded sequentially.
+	 * </p>
+	 */
+	public void setParallel(final boolean parallel) {
+		this.parallel = parallel;
+	}
+
+	/** Gets whether services are created on demand, rather than up front. */
+	public boolean isLazy() {
+		return lazy;
+	}
+
+	/**
+	 * Sets whether services are created on demand, rather than up front.
+	 * <p>
+	 * In lazy mode, {@link #loadServices()} only determines which service
+	 * classes could be instantiated, without creating any of them. Each service
+	 * is then created (and initialized, along with its dependencies) the first
+	 * time it is requested via {@link #getService(Class)}, which is what
+	 * {@link Context#getService(Class)} and hence {@link Context#inject(Object)}
+	 * delegate to when the context is lazy. Services which are never requested
+	 * are never created, which can greatly reduce startup time for applications
+	 * using only a few services. Note, however, that a service which has not
+	 * been created yet does not receive any events, and that errors creating a
+	 * required service are only reported once the service is requested.
+	 * </p>
+	 * <p>
+	 * Each service is created at most once: other threads requesting it
+	 * meanwhile wait until it is done, while requests for other services
+	 * proceed independently. A service is never handed out before its
+	 * {@link Service#initialize()} method has returned. While it is being
+	 * constructed or initialized, requests for it from its own dependencies, or
+	 * from threads its creation waits for, find no such service, just as when
+	 * services are created up front. Requests made while its
+	 * {@link Service#registerEventHandlers()} method runs (e.g., by the
+	 * {@link EventService}, which in turn needs the {@link LogService}) receive
+	 * the initialized service.
+	 * </p>
+	 * <p>
+	 * Lazy mode takes precedence over {@link #setParallel(boolean) parallel}
+	 * mode.
+	 * </p>
+	 */
+	public void setLazy(final boolean lazy) {
+		this.lazy = lazy;
+	}
+
 	/**
 	 * Ensures all candidate service classes are registered in the index, locating
 	 * and instantiating compatible services as needed.
@@ -161,20 +275,8 @@ public class ServiceHelper extends AbstractContextual {
 	 *           filled.
 	 */
 	public void loadServices() {
-		for (final Class<? extends Service> serviceClass : serviceClasses) {
-			// Load all compatible classes
-			for (Class<? extends Service> c : classPoolList) {
-				if (serviceClass.isAssignableFrom(c)) loadService(c);
-			}
-
-			// Make sure loadService gets called once on the actual provided class
-			loadService(serviceClass);
-
-			if (LogService.class.isAssignableFrom(serviceClass)) {
-				final LogService logService = context().getService(LogService.class);
-				if (logService != null) log = logService;
-			}
-		}
+		if (lazy) deferServices();
+		else if (!parallel || !loadServicesInParallel()) loadServicesSequentially();
 		final EventService eventService = context().getService(EventService.class);
 		if (eventService != null) {
 			eventService.publishLater(new ServicesLoadedEvent());
@@ -205,8 +307,286 @@ public class ServiceHelper extends AbstractContextual {
 		return createExactService(c, false);
 	}
 
+	/**
+	 * Gets the service of the given class, or null if there is no matching
+	 * service. In {@link #setLazy(boolean) lazy} mode, the service with highest
+	 * priority compatible with the given class is instantiated (and registered
+	 * in the index) if it has not been yet.
+	 */
+	public <S extends Service> S getService(final Class<S> c) {
+		final S service = context().getServiceIndex().getService(c);
+		if (!lazy) return service;
+		for (final Class<? extends Service> match : lazyMatches(c)) {
+			if (lazyFailures.contains(match)) continue;
+			if (service != null && service.getPriority() >= priority(match)) break;
+			final Service created = createLazyService(match);
+			if (created != null) return c.cast(created);
+		}
+		return service;
+	}
+
+	/**
+	 * Gets the service classes which have not been instantiated yet, because
+	 * they were not needed so far. Always empty unless in
+	 * {@link #setLazy(boolean) lazy} mode.
+	 */
+	public List<Class<? extends Service>> getPendingServices() {
+		final Set<Class<?>> created = new HashSet<>();
+		for (final Service service : context().getServiceIndex().getAll()) {
+			created.add(service.getClass());
+		}
+		final List<Class<? extends Service>> pending = new ArrayList<>();
+		for (final Class<? extends Service> c : lazyClasses) {
+			if (!created.contains(c) && !lazyFailures.contains(c)) pending.add(c);
+		}
+		return pending;
+	}
+
 	// -- Helper methods --
 
+	/** Loads the services one at a time, recursively creating dependencies. */
+	private void loadServicesSequentially() {
+		for (final Class<? extends Service> serviceClass : serviceClasses) {
+			// Load all compatible classes
+			for (Class<? extends Service> c : classPoolList) {
+				if (serviceClass.isAssignableFrom(c)) loadService(c);
+			}
+
+			// Make sure loadService gets called once on the actual provided class
+			loadService(serviceClass);
+
+			if (LogService.class.isAssignableFrom(serviceClass)) {
+				final LogService logService = context().getService(LogService.class);
+				if (logService != null) log = logService;
+			}
+		}
+	}
+
+	/**
+	 * Determines the service classes to instantiate on demand, as described at
+	 * {@link #setLazy(boolean)}.
+	 */
+	private void deferServices() {
+		for (final Class<? extends Service> c : classPoolList) {
+			for (final Class<? extends Service> serviceClass : serviceClasses) {
+				if (serviceClass.isAssignableFrom(c)) {
+					lazyClasses.add(c);
+					break;
+				}
+			}
+		}
+		for (final Class<? extends Service> serviceClass : serviceClasses) {
+			if (serviceClass.isInterface() || //
+				Modifier.isAbstract(serviceClass.getModifiers()) || //
+				lazyClasses.contains(serviceClass)) continue;
+			lazyClasses.add(serviceClass);
+		}
+		log.debug("Deferred creation of " + lazyClasses.size() + " services");
+	}
+
+	/** Gets the lazily instantiable classes compatible with the given type. */
+	private List<Class<? extends Service>> lazyMatches(final Class<?> type) {
+		return lazyMatches.computeIfAbsent(type, t -> {
+			final List<Class<? extends Service>> matches = new ArrayList<>();
+			for (final Class<? extends Service> c : lazyClasses) {
+				if (t.isAssignableFrom(c)) matches.add(c);
+			}
+			return matches;
+		});
+	}
+
+	/**
+	 * Instantiates the given service class on demand, unless another thread
+	 * already did so, as described at {@link #setLazy(boolean)}.
+	 *
+	 * @return the service, or null if it could not be instantiated
+	 */
+	private Service createLazyService(final Class<? extends Service> c) {
+		final Service existing = context().getServiceIndex().getService(c);
+		if (existing != null) return existing;
+		final LazyCreation creation = new LazyCreation();
+		final LazyCreation current = lazyCreating.putIfAbsent(c, creation);
+		if (current != null) return current.await(c);
+		Service service = null;
+		try {
+			// NB: Another thread may have finished creating it in the meantime.
+			service = context().getServiceIndex().getService(c);
+			if (service != null || lazyFailures.contains(c)) return service;
+			service = createExactService(c, false);
+			if (service == null) lazyFailures.add(c);
+			else if (service instanceof LogService) log = (LogService) service;
+			return service;
+		}
+		finally {
+			lazyCreating.remove(c, creation);
+			creation.done(service);
+		}
+	}
+
+	/**
+	 * Loads the services in waves of concurrently initialized services, as
+	 * described at {@link #setParallel(boolean)}.
+	 *
+	 * @return false if the dependencies could not be resolved up front, in
+	 *         which case no services have been loaded
+	 */
+	private boolean loadServicesInParallel() {
+		final long start = System.nanoTime();
+		final ServicePlan plan = new ServicePlan();
+		try {
+			for (final Class<? extends Service> serviceClass : serviceClasses) {
+				for (final Class<? extends Service> c : classPoolList) {
+					if (serviceClass.isAssignableFrom(c)) {
+						plan.resolve(c, !isOptional(c));
+					}
+				}
+				plan.resolve(serviceClass, !isOptional(serviceClass));
+			}
+		}
+		catch (final IllegalStateException exc) {
+			log.debug("Loading services sequentially: " + exc.getMessage());
+			return false;
+		}
+
+		// group the services into waves of mutually independent services
+		final Map<Integer, List<ServiceNode>> waves = new TreeMap<>();
+		for (final ServiceNode node : plan.order) {
+			waves.computeIfAbsent(node.wave, w -> new ArrayList<>()).add(node);
+		}
+
+		final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+		for (final List<ServiceNode> wave : waves.values()) {
+			if (wave.size() == 1) createService(wave.get(0), loader);
+			else {
+				final List<ForkJoinTask<?>> tasks = new ArrayList<>();
+				for (final ServiceNode node : wave) {
+					tasks.add(ForkJoinPool.commonPool().submit(StartupTrace.bind(
+						() -> createService(node, loader))));
+				}
+				for (final ForkJoinTask<?> task : tasks) {
+					task.join();
+				}
+			}
+			// NB: Register the wave's services in a deterministic order, so that
+			// the next wave can depend on them.
+			for (final ServiceNode node : wave) {
+				registerService(node);
+			}
+		}
+
+		// NB: Make the index order match that of sequential loading.
+		final List<Service> services = new ArrayList<>();
+		for (final ServiceNode node : plan.order) {
+			if (node.service != null) services.add(node.service);
+		}
+		final ServiceIndex serviceIndex = context().getServiceIndex();
+		serviceIndex.removeAll(services);
+		for (final Service service : services) {
+			serviceIndex.add(service);
+		}
+
+		final LogService logService = context().getService(LogService.class);
+		if (logService != null) log = logService;
+		if (log.isDebug()) {
+			log.debug("Created " + services.size() + " services in " +
+				waves.size() + " waves in " + millis(System.nanoTime() - start) +
+				" ms");
+		}
+		return true;
+	}
+
+	/**
+	 * Instantiates and initializes the service of the given node, injecting its
+	 * dependencies from the service index. Called concurrently for all services
+	 * of a wave.
+	 */
+	private void createService(final ServiceNode node,
+		final ClassLoader loader)
+	{
+		if (node.error != null) return;
+		final Thread thread = Thread.currentThread();
+		final ClassLoader threadLoader = thread.getContextClassLoader();
+		thread.setContextClassLoader(loader);
+		final long start = System.nanoTime();
+		try (final Span span = StartupTrace.trace("service", node.type.getName())) {
+			final Service service;
+			try (final Span construct = StartupTrace.trace("service", "construct")) {
+				service = Injector.of(node.type).newInstance();
+			}
+			service.setContext(getContext());
+
+			// propagate priority if known
+			final Double priority = classPoolMap.get(node.type);
+			if (priority != null) service.setPriority(priority);
+
+			// populate service parameters
+			final List<ParameterField> fields = //
+				Injector.of(node.type).getParameterFields();
+			for (final ParameterField f : fields) {
+				final Class<?> type = f.getType();
+				if (type.isAssignableFrom(context().getClass())) {
+					// populate annotated Context field
+					f.set(service, getContext());
+					continue;
+				}
+				if (!Service.class.isAssignableFrom(type)) {
+					final String error = "Invalid parameter: " +
+						f.getDeclaringClass().getName() + "#" + f.getName();
+					if (strict) throw new IllegalArgumentException(error);
+					log.error(error);
+					continue;
+				}
+				@SuppressWarnings("unchecked")
+				final Class<? extends Service> serviceType =
+					(Class<? extends Service>) type;
+				f.set(service, context().getService(serviceType));
+			}
+
+			try (final Span init = StartupTrace.trace("service", "initialize")) {
+				service.initialize();
+			}
+			node.service = service;
+		}
+		catch (final Throwable t) {
+			node.error = t;
+		}
+		finally {
+			node.nanos = System.nanoTime() - start;
+			thread.setContextClassLoader(threadLoader);
+		}
+	}
+
+	/**
+	 * Registers the event handlers of the given node's service, and adds the
+	 * service to the index; or reports why the service could not be created.
+	 */
+	private void registerService(final ServiceNode node) {
+		final String name = node.type.getName();
+		if (node.error == null) {
+			// NB: Nested like the sequential path, which registers the event
+			// handlers within the span of the service.
+			try (final Span span = StartupTrace.trace("service", name);
+					final Span register = StartupTrace.trace("service",
+						"registerEventHandlers"))
+			{
+				node.service.registerEventHandlers();
+			}
+			catch (final Throwable t) {
+				node.error = t;
+			}
+		}
+		if (node.error != null) {
+			node.service = null;
+			invalidService(name, node.required, node.error);
+			return;
+		}
+		context().getServiceIndex().add(node.service);
+		if (log.isDebug()) {
+			log.debug("Created service '" + name + "' in " + millis(node.nanos) +
+				" ms");
+		}
+	}
+
 	/**
 	 * Obtains a service compatible with the given class, instantiating it (and
 	 * registering it in the index) if necessary.
@@ -263,7 +643,7 @@ public class ServiceHelper extends AbstractContextual {
 	{
 		final String name = c.getName();
 		log.debug("Creating service: " + name, null);
-		try {
+		try (final Span span = StartupTrace.trace("service", name)) {
 			long start = 0, end = 0;
 			boolean debug = log.isDebug();
 			if (debug) start = System.currentTimeMillis();
@@ -276,23 +656,35 @@ public class ServiceHelper extends AbstractContextual {
 			return service;
 		}
 		catch (final Throwable t) {
-			if (required) {
-				final String error = "Invalid service: " + name;
-				if (strict) throw new IllegalArgumentException(error, t);
-				log.error(error, t);
-			}
-			else if (log.isDebug()) {
-				// when in debug mode, give full stack trace of invalid services
-				log.debug("Invalid service: " + name, t);
-			}
-			else {
-				// we emit only a short warning for failing optional services
-				log.warn("Invalid service: " + name);
-			}
+			invalidService(name, required, t);
 		}
 		return null;
 	}
 
+	/**
+	 * Reports a service which could not be created.
+	 *
+	 * @throws IllegalArgumentException if the service is required and this
+	 *           helper is strict
+	 */
+	private void invalidService(final String name, final boolean required,
+		final Throwable t)
+	{
+		if (required) {
+			final String error = "Invalid service: " + name;
+			if (strict) throw new IllegalArgumentException(error, t);
+			log.error(error, t);
+		}
+		else if (log.isDebug()) {
+			// when in debug mode, give full stack trace of invalid services
+			log.debug("Invalid service: " + name, t);
+		}
+		else {
+			// we emit only a short warning for failing optional services
+			log.warn("Invalid service: " + name);
+		}
+	}
+
 	/**
 	 * Instantiates a service of the given class, recursively populating its
 	 * service parameters.
@@ -300,7 +692,11 @@ public class ServiceHelper extends AbstractContextual {
 	private <S extends Service> S createServiceRecursively(final Class<S> c)
 		throws InstantiationException, IllegalAccessException
 	{
-		final S service = c.newInstance();
+		final Injector<S> injector = Injector.of(c);
+		final S service;
+		try (final Span span = StartupTrace.trace("service", "construct")) {
+			service = injector.newInstance();
+		}
 		service.setContext(getContext());
 
 		// propagate priority if known
@@ -313,15 +709,12 @@ public class ServiceHelper extends AbstractContextual {
 		boolean eventServiceRequired = true;
 
 		// populate service parameters
-		final List<Field> fields =
-			ClassUtils.getAnnotatedFields(c, Parameter.class);
-		for (final Field f : fields) {
-			f.setAccessible(true); // expose private fields
-
+		final List<ParameterField> fields = injector.getParameterFields();
+		for (final ParameterField f : fields) {
 			final Class<?> type = f.getType();
 			if (type.isAssignableFrom(context().getClass())) {
 				// populate annotated Context field
-				ClassUtils.setValue(f, service, getContext());
+				f.set(service, getContext());
 				continue;
 			}
 			if (!Service.class.isAssignableFrom(type)) {
@@ -337,12 +730,12 @@ public class ServiceHelper extends AbstractContextual {
 			Service s = context().getService(serviceType);
 			if (s == null) {
 				// recursively obtain needed service
-				final boolean required = f.getAnnotation(Parameter.class).required();
+				final boolean required = f.isRequired();
 				s = loadService(serviceType, required);
 				// NB: Remember when there is an optional EventService parameter.
 				if (s instanceof EventService) eventServiceRequired = required;
 			}
-			ClassUtils.setValue(f, service, s);
+			f.set(service, s);
 		}
 
 		// check for event handlers
@@ -351,8 +744,18 @@ public class ServiceHelper extends AbstractContextual {
 			loadService(EventService.class, eventServiceRequired);
 		}
 
-		service.initialize();
-		service.registerEventHandlers();
+		try (final Span span = StartupTrace.trace("service", "initialize")) {
+			service.initialize();
+		}
+		if (lazy) {
+			final LazyCreation creation = lazyCreating.get(c);
+			if (creation != null) creation.initialized(service);
+		}
+		try (final Span span = StartupTrace.trace("service",
+			"registerEventHandlers"))
+		{
+			service.registerEventHandlers();
+		}
 		return service;
 	}
 
@@ -383,4 +786,241 @@ public class ServiceHelper extends AbstractContextual {
 		return Optional.class.isAssignableFrom(c);
 	}
 
+	private double priority(final Class<? extends Service> c) {
+		final Double priority = classPoolMap.get(c);
+		return priority == null ? Priority.NORMAL : priority;
+	}
+
+	private static long millis(final long nanos) {
+		return nanos / 1000000;
+	}
+
+	// -- Helper classes --
+
+	/** A service to create in parallel mode, with its dependencies. */
+	private static class ServiceNode {
+
+		private final Class<? extends Service> type;
+		private final List<ServiceNode> dependencies = new ArrayList<>();
+		private boolean required;
+
+		/** True while the node's dependencies are being resolved. */
+		private boolean resolving;
+
+		/** Index of the wave in which the service is created. */
+		private int wave;
+
+		private Service service;
+		private Throwable error;
+		private long nanos;
+
+		private ServiceNode(final Class<? extends Service> type,
+			final boolean required)
+		{
+			this.type = type;
+			this.required = required;
+		}
+	}
+
+	/**
+	 * A service being created on demand by one thread, which other threads can
+	 * wait for.
+	 */
+	private class LazyCreation {
+
+		private final Thread creator = Thread.currentThread();
+		private final CountDownLatch latch = new CountDownLatch(1);
+
+		/** The service, once initialized; null before then. */
+		private volatile Service initialized;
+
+		/** The finished service, or null if it could not be created. */
+		private volatile Service result;
+
+		private void initialized(final Service service) {
+			if (Thread.currentThread() == creator) initialized = service;
+		}
+
+		private void done(final Service service) {
+			result = service;
+			latch.countDown();
+		}
+
+		/**
+		 * Waits for the service to be created, unless that would never happen
+		 * because the creation is waiting for this thread.
+		 *
+		 * @return the service, or null if it is not available
+		 */
+		private Service await(final Class<?> c) {
+			final Thread thread = Thread.currentThread();
+			if (thread == creator) {
+				// NB: The service is requested again by its own creation.
+				return initialized;
+			}
+			synchronized (lazyWaiting) {
+				// NB: Do not wait for a creation which is, perhaps indirectly,
+				// waiting for one of this thread's own creations.
+				for (LazyCreation next = this; next != null; next =
+					lazyWaiting.get(next.creator))
+				{
+					if (next.creator == thread) return initialized;
+				}
+				lazyWaiting.put(thread, this);
+			}
+			try {
+				latch.await();
+				return result;
+			}
+			catch (final InterruptedException exc) {
+				thread.interrupt();
+				throw new IllegalStateException("Interrupted waiting for " + c
+					.getName(), exc);
+			}
+			finally {
+				synchronized (lazyWaiting) {
+					lazyWaiting.remove(thread);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Resolves the services to create in parallel mode, mirroring the decisions
+	 * of {@link ServiceHelper#loadService(Class, boolean)} without creating any
+	 * services.
+	 */
+	private class ServicePlan {
+
+		private final Map<Class<? extends Service>, ServiceNode> nodes =
+			new HashMap<>();
+
+		/** The nodes in the order sequential loading would create them. */
+		private final List<ServiceNode> order = new ArrayList<>();
+
+		/**
+		 * Resolves a service compatible with the given class.
+		 *
+		 * @return the node of the service to create, or null if a compatible
+		 *         service already exists or none can be created
+		 * @throws IllegalStateException if there is a dependency cycle
+		 */
+		private ServiceNode resolve(final Class<? extends Service> c,
+			final boolean required)
+		{
+			// if a compatible service already exists, use it
+			if (context().getService(c) != null) return null;
+			final ServiceNode planned = compatibleNode(c);
+			if (planned != null) return check(planned, required);
+
+			// scan the class pool for a suitable match
+			for (final Class<? extends Service> serviceClass : classPoolList) {
+				if (c.isAssignableFrom(serviceClass)) {
+					return resolveExact(serviceClass, required);
+				}
+			}
+
+			if (required && c.isInterface()) {
+				final String error = "No compatible service: " + c.getName();
+				if (strict) throw new IllegalArgumentException(error);
+				log.error(error);
+				return null;
+			}
+
+			return resolveExact(c, required);
+		}
+
+		private ServiceNode resolveExact(final Class<? extends Service> c,
+			final boolean required)
+		{
+			ServiceNode node = nodes.get(c);
+			if (node != null) return check(node, required);
+			node = new ServiceNode(c, required);
+			nodes.put(c, node);
+
+			node.resolving = true;
+			try {
+				resolveDependencies(node);
+			}
+			catch (final IllegalStateException exc) {
+				throw exc;
+			}
+			catch (final Throwable t) {
+				// NB: Reported when the service would have been created, including
+				// missing dependencies in strict mode, as "Invalid service".
+				node.error = t;
+			}
+			node.resolving = false;
+
+			for (final ServiceNode dependency : node.dependencies) {
+				node.wave = Math.max(node.wave, dependency.wave + 1);
+			}
+			order.add(node);
+			return node;
+		}
+
+		private void resolveDependencies(final ServiceNode node) {
+			// NB: If there are any @EventHandler annotated methods, we treat the
+			// EventService as a required dependency, _unless_ there is also an
+			// EventService field annotated with @Parameter(required = false).
+			boolean eventServiceRequired = true;
+
+			final List<ParameterField> fields = //
+				Injector.of(node.type).getParameterFields();
+			for (final ParameterField f : fields) {
+				final Class<?> type = f.getType();
+				if (type.isAssignableFrom(context().getClass())) continue;
+				// NB: Invalid parameters are reported when the service is created.
+				if (!Service.class.isAssignableFrom(type)) continue;
+				@SuppressWarnings("unchecked")
+				final Class<? extends Service> serviceType =
+					(Class<? extends Service>) type;
+				final boolean required = f.isRequired();
+				final ServiceNode dependency = resolve(serviceType, required);
+				if (dependency == null) continue;
+				node.dependencies.add(dependency);
+				if (EventService.class.isAssignableFrom(dependency.type)) {
+					eventServiceRequired = required;
+				}
+			}
+
+			if (!ClassUtils.getAnnotatedMethods(node.type, EventHandler.class)
+				.isEmpty())
+			{
+				// NB: There are @EventHandler methods; we need an EventService.
+				final ServiceNode dependency = //
+					resolve(EventService.class, eventServiceRequired);
+				if (dependency != null) node.dependencies.add(dependency);
+			}
+		}
+
+		/** Gets the highest priority planned service compatible with a class. */
+		private ServiceNode compatibleNode(final Class<?> c) {
+			ServiceNode best = null;
+			for (final ServiceNode node : order) {
+				if (!c.isAssignableFrom(node.type)) continue;
+				if (best == null || priority(node) > priority(best)) best = node;
+			}
+			if (best != null) return best;
+			// NB: Nodes still being resolved are not yet in the order list.
+			for (final ServiceNode node : nodes.values()) {
+				if (node.resolving && c.isAssignableFrom(node.type)) return node;
+			}
+			return null;
+		}
+
+		private ServiceNode check(final ServiceNode node, final boolean required) {
+			if (node.resolving) {
+				throw new IllegalStateException("Dependency cycle at " + node.type
+					.getName());
+			}
+			node.required |= required;
+			return node;
+		}
+
+		private double priority(final ServiceNode node) {
+			return ServiceHelper.this.priority(node.type);
+		}
+	}
+
 }
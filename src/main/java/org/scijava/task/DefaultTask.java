@@ -33,6 +33,7 @@ package org.scijava.task;
 
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.scijava.event.EventService;
 import org.scijava.task.event.TaskEvent;
@@ -41,14 +42,15 @@ import org.scijava.thread.ThreadService;
 /**
  * Default implementation of {@link Task}. It launches code via the linked
  * {@link ThreadService}, and reports status updates via the linked
- * {@link EventService}.
+ * {@link EventService}, optionally rate-limited by a
+ * {@link TaskEventCoalescer}.
  *
  * @author Curtis Rueden
  */
 public class DefaultTask implements Task {
 
 	private final ThreadService threadService;
-	private final EventService eventService;
+	private final TaskEventCoalescer events;
 
 	private Future<?> future;
 
@@ -72,9 +74,26 @@ public class DefaultTask implements Task {
 	 */
 	public DefaultTask(final ThreadService threadService,
 		final EventService eventService)
+	{
+		this(threadService, new TaskEventCoalescer(eventService, threadService, 0,
+			TimeUnit.MILLISECONDS), null);
+	}
+
+	/**
+	 * Creates a new named task whose status updates are rate-limited.
+	 *
+	 * @param threadService Service to use for launching the task in its own
+	 *          thread. Required.
+	 * @param events Publisher to use for reporting status updates as
+	 *          {@link TaskEvent}s. Required.
+	 * @param name Name of the task. May be null.
+	 */
+	DefaultTask(final ThreadService threadService,
+		final TaskEventCoalescer events, final String name)
 	{
 		this.threadService = threadService;
-		this.eventService = eventService;
+		this.events = events;
+		this.name = name;
 	}
 
 	// -- Task methods --
@@ -176,6 +195,7 @@ public class DefaultTask implements Task {
 	}
 
 	private void fireTaskEvent() {
-		if (eventService != null) eventService.publish(new TaskEvent(this));
+		// NB: Reaching the maximum is the final state; never delay it.
+		events.update(this, max > 0 && step >= max);
 	}
 }
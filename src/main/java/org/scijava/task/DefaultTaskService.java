@@ -32,6 +32,8 @@
 
 package org.scijava.task;
 
+import java.util.concurrent.TimeUnit;
+
 import org.scijava.event.EventService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -49,16 +51,46 @@ public class DefaultTaskService extends AbstractService implements
 	TaskService
 {
 
+	/** Default minimum interval, in milliseconds, between a task's events. */
+	public static final long DEFAULT_EVENT_INTERVAL = 100;
+
 	@Parameter
 	private ThreadService threadService;
 
 	@Parameter(required = false)
 	private EventService eventService;
 
+	private TaskEventCoalescer events;
+
 	@Override
 	public Task createTask(String name) {
-		final DefaultTask task = new DefaultTask(threadService, eventService);
-		task.setName(name);
-		return task;
+		return new DefaultTask(threadService, events(), name);
+	}
+
+	@Override
+	public long getEventInterval(final TimeUnit unit) {
+		return events().getInterval(unit);
+	}
+
+	@Override
+	public void setEventInterval(final long interval, final TimeUnit unit) {
+		events().setInterval(interval, unit);
+	}
+
+	// -- Disposable methods --
+
+	@Override
+	public void dispose() {
+		if (events != null) events.dispose();
+	}
+
+	// -- Helper methods --
+
+	private synchronized TaskEventCoalescer events() {
+		if (events == null) {
+			events = new TaskEventCoalescer(eventService, threadService,
+				DEFAULT_EVENT_INTERVAL, TimeUnit.MILLISECONDS);
+		}
+		return events;
 	}
 }
@@ -0,0 +1,194 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.task;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.scijava.event.EventService;
+import org.scijava.task.event.TaskEvent;
+
+/**
+ * Publishes {@link TaskEvent}s on behalf of tasks, limiting how often each
+ * task's events are delivered.
+ * <p>
+ * An update which arrives less than the minimum interval after the task's
+ * previous event is not published right away; instead, a single trailing
+ * event is scheduled for the end of the interval. Since a {@link TaskEvent}
+ * merely refers to its task, that trailing event conveys the latest state,
+ * regardless of how many updates were coalesced into it. Updates flagged as
+ * final (e.g., progress reaching its maximum) are always published
+ * immediately.
+ * </p>
+ */
+public class TaskEventCoalescer {
+
+	private final EventService eventService;
+
+	private final ThreadFactory threadFactory;
+
+	/** Minimum interval between two events of the same task. */
+	private volatile long intervalNanos;
+
+	/** Publication state of each task. */
+	private final Map<Task, State> states = new WeakHashMap<>();
+
+	/** Scheduler for trailing events, created on demand. */
+	private ScheduledThreadPoolExecutor scheduler;
+
+	/**
+	 * Creates a new coalescer.
+	 *
+	 * @param eventService Service to use for publishing the events.
+	 * @param threadFactory Factory for the thread which publishes trailing
+	 *          events.
+	 * @param interval Minimum interval between two events of the same task, or
+	 *          0 to publish every update immediately.
+	 * @param unit Unit of the interval.
+	 */
+	public TaskEventCoalescer(final EventService eventService,
+		final ThreadFactory threadFactory, final long interval,
+		final TimeUnit unit)
+	{
+		this.eventService = eventService;
+		this.threadFactory = threadFactory;
+		setInterval(interval, unit);
+	}
+
+	// -- TaskEventCoalescer methods --
+
+	/** Gets the minimum interval between two events of the same task. */
+	public long getInterval(final TimeUnit unit) {
+		return unit.convert(intervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Sets the minimum interval between two events of the same task.
+	 *
+	 * @param interval The interval, or 0 to publish every update immediately.
+	 * @param unit Unit of the interval.
+	 */
+	public void setInterval(final long interval, final TimeUnit unit) {
+		if (interval < 0) {
+			throw new IllegalArgumentException("Negative interval: " + interval);
+		}
+		intervalNanos = unit.toNanos(interval);
+	}
+
+	/**
+	 * Reports that the given task has been updated.
+	 *
+	 * @param task The updated task.
+	 * @param last Whether this is the task's final update, which must be
+	 *          published without delay.
+	 */
+	public void update(final Task task, final boolean last) {
+		final long interval = intervalNanos;
+		if (interval > 0) {
+			final long now = System.nanoTime();
+			synchronized (this) {
+				State state = states.get(task);
+				if (state == null) {
+					state = new State(now - interval);
+					states.put(task, state);
+				}
+				if (!last && now - state.published < interval) {
+					// too soon; publish the latest state at the end of the interval
+					if (!state.pending) {
+						state.pending = true;
+						final long delay = state.published + interval - now;
+						scheduler().schedule(() -> flush(task), delay,
+							TimeUnit.NANOSECONDS);
+					}
+					return;
+				}
+				state.published = now;
+				state.pending = false;
+			}
+		}
+		publish(task);
+	}
+
+	/** Stops the thread which publishes trailing events. */
+	public synchronized void dispose() {
+		if (scheduler == null) return;
+		scheduler.shutdown();
+		scheduler = null;
+	}
+
+	// -- Helper methods --
+
+	private void flush(final Task task) {
+		synchronized (this) {
+			final State state = states.get(task);
+			if (state == null || !state.pending) return;
+			state.pending = false;
+			state.published = System.nanoTime();
+		}
+		publish(task);
+	}
+
+	private void publish(final Task task) {
+		if (eventService != null) eventService.publish(new TaskEvent(task));
+	}
+
+	private synchronized ScheduledThreadPoolExecutor scheduler() {
+		if (scheduler == null) {
+			scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+			// NB: Do not keep an idle thread around.
+			scheduler.setKeepAliveTime(1, TimeUnit.SECONDS);
+			scheduler.allowCoreThreadTimeOut(true);
+		}
+		return scheduler;
+	}
+
+	// -- Helper classes --
+
+	/** Publication state of a task. */
+	private static class State {
+
+		/** Time of the most recent publication, per {@link System#nanoTime()}. */
+		private long published;
+
+		/** Whether a trailing event is scheduled. */
+		private boolean pending;
+
+		private State(final long published) {
+			this.published = published;
+		}
+	}
+
+}
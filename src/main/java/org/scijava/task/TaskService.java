@@ -32,7 +32,10 @@
 
 package org.scijava.task;
 
+import java.util.concurrent.TimeUnit;
+
 import org.scijava.service.SciJavaService;
+import org.scijava.task.event.TaskEvent;
 
 /**
  * Service for working with {@link Task}s.
@@ -50,4 +53,28 @@ public interface TaskService extends SciJavaService {
 	 * @return A newly created task which awaits execution.
 	 */
 	Task createTask(String name);
+
+	/**
+	 * Gets the minimum interval between two {@link TaskEvent}s of the same
+	 * task.
+	 */
+	default long getEventInterval(final TimeUnit unit) {
+		return 0;
+	}
+
+	/**
+	 * Sets the minimum interval between two {@link TaskEvent}s of the same
+	 * task. Updates arriving sooner are coalesced into a single event delivered
+	 * at the end of the interval, while a task's final update is always
+	 * delivered immediately. This makes the cost of progress
+	 * reporting independent of how often tasks update their progress.
+	 *
+	 * @param interval The interval, or 0 to publish every update immediately.
+	 * @param unit Unit of the interval.
+	 * @throws UnsupportedOperationException If this task service does not
+	 *           support rate limiting.
+	 */
+	default void setEventInterval(final long interval, final TimeUnit unit) {
+		throw new UnsupportedOperationException();
+	}
 }
@@ -0,0 +1,313 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records a timeline of the phases of application startup, such as plugin
+ * discovery, index parsing, class loading and service initialization.
+ * <p>
+ * Code interested in being traced calls {@link #trace(String, String)}, which
+ * records a {@link Span} in the {@link #getActive() active} trace, if any. When
+ * no trace is active, spans are no-ops, so tracing costs next to nothing. The
+ * {@link org.scijava.Context} activates a trace during its construction when
+ * the {@link org.scijava.Context#TRACE_PROPERTY} system property is set.
+ * </p>
+ * <p>
+ * A trace is active on a single thread only, so that contexts constructed
+ * concurrently keep separate traces, and unrelated work on other threads is
+ * not recorded. Work handed off to other threads joins the trace only when
+ * {@link #bind(Runnable) bound} to it explicitly.
+ * </p>
+ * <p>
+ * The trace can be exported as JSON in the Chrome trace event format, for
+ * viewing with {@code chrome://tracing} or <a href="https://ui.perfetto.dev/"
+ * >Perfetto</a>.
+ * </p>
+ */
+public class StartupTrace {
+
+	/** The trace active on each thread, if any. */
+	private static final ThreadLocal<StartupTrace> active = new ThreadLocal<>();
+
+	/** Time of the trace's creation, to which all spans are relative. */
+	private final long origin = System.nanoTime();
+
+	private final ConcurrentLinkedQueue<Event> events =
+		new ConcurrentLinkedQueue<>();
+
+	// -- StartupTrace methods --
+
+	/**
+	 * Starts a span of this trace, which is recorded once it is
+	 * {@link Span#close() closed}.
+	 *
+	 * @param category The kind of work, e.g. "index" or "service".
+	 * @param name The work being done, e.g. a class name.
+	 */
+	public Span span(final String category, final String name) {
+		return new Span(this, category, name);
+	}
+
+	/** Gets the spans recorded so far, in order of completion. */
+	public List<Event> getEvents() {
+		return new ArrayList<>(events);
+	}
+
+	/**
+	 * Writes the recorded spans as JSON in the Chrome trace event format, with
+	 * timestamps in microseconds since the trace's creation.
+	 */
+	public void writeJSON(final Appendable out) throws IOException {
+		// NB: Name each thread, so that viewers can label its track.
+		final Map<Long, String> threads = new LinkedHashMap<>();
+		for (final Event event : events) {
+			threads.putIfAbsent(event.getThreadID(), event.getThreadName());
+		}
+		out.append("{\"traceEvents\":[");
+		boolean first = true;
+		for (final Map.Entry<Long, String> thread : threads.entrySet()) {
+			if (!first) out.append(",");
+			first = false;
+			out.append("\n{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,");
+			out.append("\"tid\":" + thread.getKey() + ",\"args\":{\"name\":");
+			quote(out, thread.getValue());
+			out.append("}}");
+		}
+		for (final Event event : events) {
+			if (!first) out.append(",");
+			first = false;
+			out.append("\n{\"name\":");
+			quote(out, event.getName());
+			out.append(",\"cat\":");
+			quote(out, event.getCategory());
+			out.append(",\"ph\":\"X\",\"pid\":1,\"tid\":" + event.getThreadID());
+			out.append(",\"ts\":" + micros(event.getStart()));
+			out.append(",\"dur\":" + micros(event.getDuration()) + "}");
+		}
+		out.append("\n],\"displayTimeUnit\":\"ms\"}\n");
+	}
+
+	/** Writes the recorded spans to the given file, as {@link #writeJSON}. */
+	public void writeJSON(final File file) throws IOException {
+		try (final Writer out = new OutputStreamWriter(Files.newOutputStream(file
+			.toPath()), StandardCharsets.UTF_8))
+		{
+			writeJSON(out);
+		}
+	}
+
+	// -- Utility methods --
+
+	/** Gets the trace active on the current thread, or null if none. */
+	public static StartupTrace getActive() {
+		return active.get();
+	}
+
+	/**
+	 * Sets the trace active on the current thread, to which
+	 * {@link #trace(String, String)} records its spans.
+	 *
+	 * @param trace The trace to activate, or null to deactivate tracing.
+	 */
+	public static void setActive(final StartupTrace trace) {
+		if (trace == null) active.remove();
+		else active.set(trace);
+	}
+
+	/**
+	 * Wraps the given task so that it runs with the current thread's active
+	 * trace, if any, on whichever thread executes it. The thread's own trace is
+	 * restored afterward.
+	 */
+	public static Runnable bind(final Runnable task) {
+		final StartupTrace trace = getActive();
+		if (trace == null) return task;
+		return () -> {
+			final StartupTrace previous = getActive();
+			setActive(trace);
+			try {
+				task.run();
+			}
+			finally {
+				setActive(previous);
+			}
+		};
+	}
+
+	/**
+	 * Starts a span of the active trace, for use in a try-with-resources
+	 * statement. If no trace is active, returns a span which records nothing.
+	 *
+	 * @see #span(String, String)
+	 */
+	public static Span trace(final String category, final String name) {
+		final StartupTrace trace = active.get();
+		return trace == null ? Span.NONE : trace.span(category, name);
+	}
+
+	// -- Helper methods --
+
+	private static String micros(final long nanos) {
+		return nanos / 1000 + "." + nanos / 100 % 10;
+	}
+
+	private static void quote(final Appendable out, final String s)
+		throws IOException
+	{
+		out.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			final char c = s.charAt(i);
+			switch (c) {
+				case '"':
+					out.append("\\\"");
+					break;
+				case '\\':
+					out.append("\\\\");
+					break;
+				case '\n':
+					out.append("\\n");
+					break;
+				case '\r':
+					out.append("\\r");
+					break;
+				case '\t':
+					out.append("\\t");
+					break;
+				default:
+					if (c < 0x20) out.append(String.format("\\u%04x", (int) c));
+					else out.append(c);
+			}
+		}
+		out.append('"');
+	}
+
+	// -- Helper classes --
+
+	/** A span of work in progress, recorded when closed. */
+	public static final class Span implements AutoCloseable {
+
+		/** Span which records nothing, for when no trace is active. */
+		private static final Span NONE = new Span(null, null, null);
+
+		private final StartupTrace trace;
+		private final String category;
+		private final String name;
+		private final long start;
+
+		private Span(final StartupTrace trace, final String category,
+			final String name)
+		{
+			this.trace = trace;
+			this.category = category;
+			this.name = name;
+			start = trace == null ? 0 : System.nanoTime();
+		}
+
+		/** Ends this span, recording it in its trace. */
+		@Override
+		public void close() {
+			if (trace == null) return;
+			final long end = System.nanoTime();
+			final Thread thread = Thread.currentThread();
+			trace.events.add(new Event(category, name, thread.getId(), thread
+				.getName(), start - trace.origin, end - start));
+		}
+	}
+
+	/** A recorded span. */
+	public static final class Event {
+
+		private final String category;
+		private final String name;
+		private final long threadID;
+		private final String threadName;
+		private final long start;
+		private final long duration;
+
+		private Event(final String category, final String name,
+			final long threadID, final String threadName, final long start,
+			final long duration)
+		{
+			this.category = category;
+			this.name = name;
+			this.threadID = threadID;
+			this.threadName = threadName;
+			this.start = start;
+			this.duration = duration;
+		}
+
+		public String getCategory() {
+			return category;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getThreadID() {
+			return threadID;
+		}
+
+		public String getThreadName() {
+			return threadName;
+		}
+
+		/** Gets the start time in nanoseconds since the trace's creation. */
+		public long getStart() {
+			return start;
+		}
+
+		/** Gets the duration in nanoseconds. */
+		public long getDuration() {
+			return duration;
+		}
+
+		@Override
+		public String toString() {
+			return category + ": " + name + " (" + duration / 1000 + " us)";
+		}
+	}
+
+}
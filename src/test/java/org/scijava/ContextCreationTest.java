@@ -43,11 +43,16 @@ import static org.scijava.util.ArrayUtils.array;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.junit.Test;
+import org.scijava.app.StatusService;
+import org.scijava.event.EventService;
+import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.PluginIndex;
 import org.scijava.plugin.PluginInfo;
+import org.scijava.plugin.PluginService;
 import org.scijava.plugin.SciJavaPlugin;
 import org.scijava.service.AbstractService;
 import org.scijava.service.SciJavaService;
@@ -122,6 +127,7 @@ public class ContextCreationTest {
 				org.scijava.ui.dnd.DefaultDragAndDropService.class,
 				org.scijava.welcome.DefaultWelcomeService.class,
 				org.scijava.widget.DefaultWidgetService.class,
+				org.scijava.cache.BoundedCacheService.class,
 				org.scijava.log.StderrLogService.class,
 				org.scijava.platform.DefaultAppEventService.class,
 				org.scijava.cache.DefaultCacheService.class};
@@ -173,6 +179,137 @@ public class ContextCreationTest {
 		assertEquals(2, context.getServiceIndex().size());
 	}
 
+	/**
+	 * Tests that loading services in parallel yields the same services, in the
+	 * same order, as loading them sequentially.
+	 */
+	@Test
+	public void testParallel() {
+		final Context sequential = new Context();
+		final Context parallel = createContext(Context.PARALLEL_PROPERTY,
+			Context::new);
+		final List<Service> expected = sequential.getServiceIndex().getAll();
+		final List<Service> actual = parallel.getServiceIndex().getAll();
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			assertSame(expected.get(i).getClass(), actual.get(i).getClass());
+			assertEquals(expected.get(i).getPriority(), actual.get(i).getPriority(),
+				0);
+		}
+		sequential.dispose();
+		parallel.dispose();
+	}
+
+	/**
+	 * Tests that dependencies are injected when loading services in parallel.
+	 */
+	@Test
+	public void testParallelDependencies() {
+		final Context context = createContext(Context.PARALLEL_PROPERTY,
+			() -> new Context(FooService.class));
+		final FooService fooService = context.getService(FooService.class);
+		final BarService barService = context.getService(BarService.class);
+		assertNotNull(fooService);
+		assertNotNull(barService);
+		assertSame(context, fooService.getContext());
+		assertSame(barService, fooService.barService);
+		assertEquals(2, context.getServiceIndex().size());
+	}
+
+	/**
+	 * Tests that a missing transitive dependency is reported the same way when
+	 * loading services in parallel as when loading them sequentially.
+	 */
+	@Test
+	public void testParallelMissingTransitive() {
+		try {
+			createContext(Context.PARALLEL_PROPERTY, () -> new Context(
+				ServiceRequiringOptionalMissingService.class));
+			fail("Expected IllegalArgumentException");
+		}
+		catch (final IllegalArgumentException exc) {
+			final String expectedMessage =
+				"Invalid service: " +
+					ServiceRequiringOptionalMissingService.class.getName();
+			assertEquals(expectedMessage, exc.getMessage());
+			final String expectedCause =
+				"No compatible service: " + OptionalMissingService.class.getName();
+			assertEquals(expectedCause, exc.getCause().getMessage());
+		}
+	}
+
+	/**
+	 * Tests that services are only created when needed when the context is
+	 * lazy.
+	 */
+	@Test
+	public void testLazy() {
+		final Context context = createContext(Context.LAZY_PROPERTY,
+			() -> createContext(pluginIndex(FooService.class, BarService.class,
+				BaseImpl.class), array(Service.class)));
+		assertTrue(context.isLazy());
+		assertEquals(0, context.getServiceIndex().size());
+		assertEquals(3, context.getPendingServices().size());
+
+		// request a service, which also creates its dependencies
+		final FooService fooService = context.getService(FooService.class);
+		assertNotNull(fooService);
+		assertSame(context, fooService.getContext());
+		final BarService barService = fooService.barService;
+		assertNotNull(barService);
+		assertEquals(2, context.getServiceIndex().size());
+		assertSame(barService, context.getService(BarService.class));
+		assertEquals(Arrays.asList(BaseImpl.class), context.getPendingServices());
+
+		// inject a service, which creates it
+		final BaseUser baseUser = new BaseUser();
+		context.inject(baseUser);
+		assertTrue(baseUser.baseService instanceof BaseImpl);
+		assertTrue(context.getPendingServices().isEmpty());
+		assertEquals(3, context.getServiceIndex().size());
+	}
+
+	/**
+	 * Tests that a lazily created service can wait, during its initialization,
+	 * for another thread which requests a different service.
+	 */
+	@Test
+	public void testLazyHandOff() {
+		final Context context = createContext(Context.LAZY_PROPERTY,
+			() -> createContext(pluginIndex(HandOffService.class, BarService.class),
+				array(Service.class)));
+		final HandOffService handOffService = //
+			context.getService(HandOffService.class);
+		assertNotNull(handOffService);
+		assertSame(context.getService(BarService.class), handOffService.barService);
+	}
+
+	/**
+	 * Tests that a lazy {@link Context} with all available services can create
+	 * the core services on demand, even though they depend on each other (e.g.,
+	 * the {@link LogService} registers its event handlers with the
+	 * {@link EventService}, which in turn needs the {@link LogService}).
+	 */
+	@Test
+	public void testLazyDefault() {
+		final Context context = createContext(Context.LAZY_PROPERTY,
+			() -> new Context());
+		try {
+			assertTrue(context.isLazy());
+			final LogService log = context.getService(LogService.class);
+			assertNotNull(log);
+			final EventService eventService = context.getService(EventService.class);
+			assertNotNull(eventService);
+			assertSame(log, context.getService(LogService.class));
+			assertNotNull(context.getService(ThreadService.class));
+			assertNotNull(context.getService(PluginService.class));
+			assertNotNull(context.getService(StatusService.class));
+		}
+		finally {
+			context.dispose();
+		}
+	}
+
 	/**
 	 * Tests that missing {@link Service}s are handled properly; specifically,
 	 * that {@link IllegalArgumentException} gets thrown when attempting to create
@@ -417,6 +554,22 @@ public class ContextCreationTest {
 		}
 	}
 
+	/**
+	 * Creates a Context while the given boolean system property is set to
+	 * "true".
+	 */
+	private Context createContext(final String property,
+		final Supplier<Context> creator)
+	{
+		System.setProperty(property, "true");
+		try {
+			return creator.get();
+		}
+		finally {
+			System.clearProperty(property);
+		}
+	}
+
 	/**
 	 * Initializes and returns a Context given the provided PluginIndex and array
 	 * of services.
@@ -442,6 +595,28 @@ public class ContextCreationTest {
 
 	// -- Helper classes --
 
+	/**
+	 * A service which obtains a {@link BarService} on another thread during its
+	 * initialization, and waits for it.
+	 */
+	public static class HandOffService extends AbstractService {
+
+		private volatile BarService barService;
+
+		@Override
+		public void initialize() {
+			final Thread thread = new Thread(() -> barService = context().getService(
+				BarService.class));
+			thread.start();
+			try {
+				thread.join(10000);
+			}
+			catch (final InterruptedException exc) {
+				throw new IllegalStateException(exc);
+			}
+		}
+	}
+
 	/** A service which requires a {@link BarService}. */
 	public static class FooService extends AbstractService {
 
@@ -450,6 +625,14 @@ public class ContextCreationTest {
 
 	}
 
+	/** An object which requires a {@link BaseService}. */
+	public static class BaseUser {
+
+		@Parameter
+		private BaseService baseService;
+
+	}
+
 	/** A service that is extended by {@link ExtensionService}. */
 	public static interface BaseService extends Service {
 		// NB: No implementation needed.
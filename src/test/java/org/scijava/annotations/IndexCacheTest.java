@@ -0,0 +1,153 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.annotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.test.TestUtils;
+import org.scijava.util.FileUtils;
+
+/**
+ * Tests {@link IndexCache}.
+ */
+public class IndexCacheTest {
+
+	private File tmpDir;
+	private File cacheDir;
+
+	@Before
+	public void setUp() throws IOException {
+		tmpDir = TestUtils.createTemporaryDirectory("index-cache-");
+		cacheDir = new File(tmpDir, "cache");
+		System.setProperty(IndexCache.CACHE_DIR_PROPERTY, cacheDir.getPath());
+	}
+
+	@After
+	public void tearDown() {
+		System.clearProperty(IndexCache.CACHE_DIR_PROPERTY);
+		FileUtils.deleteRecursively(tmpDir);
+	}
+
+	@Test
+	public void testCachedIndex() {
+		final ClassLoader loader = getClass().getClassLoader();
+		final File cacheFile = new File(cacheDir, Complex.class.getName() + ".cache");
+
+		// first load populates the cache
+		DirectoryIndexerTest.testDefaultAnnotations(DirectoryIndexerTest.readIndex(
+			Complex.class, loader));
+		assertTrue(cacheFile.isFile());
+
+		// second load is served from the cache
+		DirectoryIndexerTest.testDefaultAnnotations(DirectoryIndexerTest.readIndex(
+			Complex.class, loader));
+	}
+
+	@Test
+	public void testStaleEntry() throws IOException {
+		final File classes = new File(tmpDir, "classes");
+		final File index =
+			new File(classes, Index.INDEX_PREFIX + Simple.class.getName());
+		assertTrue(index.getParentFile().mkdirs());
+		final URL url = classes.toURI().toURL();
+
+		writeIndex(index, "Before");
+		assertEquals("Before", readString(url));
+		assertEquals("Before", readString(url));
+
+		// an unchanged time stamp and size means the cached entry is used
+		final long lastModified = index.lastModified();
+		writeIndex(index, "Bogus!");
+		assertTrue(index.setLastModified(lastModified));
+		assertEquals("Before", readString(url));
+
+		// NB: Bump the timestamp, in case the file system's resolution is coarse.
+		writeIndex(index, "After");
+		assertTrue(index.setLastModified(index.lastModified() + 2000));
+		assertEquals("After", readString(url));
+		assertEquals("After", readString(url));
+	}
+
+	@Test
+	public void testCorruptCache() throws IOException {
+		final File classes = new File(tmpDir, "classes");
+		final File index =
+			new File(classes, Index.INDEX_PREFIX + Simple.class.getName());
+		assertTrue(index.getParentFile().mkdirs());
+		final URL url = classes.toURI().toURL();
+
+		writeIndex(index, "Narf");
+		assertEquals("Narf", readString(url));
+
+		// flip a byte in the middle of the cache file
+		final File cacheFile = new File(cacheDir, Simple.class.getName() + ".cache");
+		final byte[] data = FileUtils.readFile(cacheFile);
+		data[data.length / 2] ^= 0x55;
+		FileUtils.writeFile(cacheFile, data);
+
+		assertEquals("Narf", readString(url));
+		assertEquals("Narf", readString(url));
+	}
+
+	// -- Helper methods --
+
+	private void writeIndex(final File index, final String value)
+		throws IOException
+	{
+		final String json = "{\"class\":\"Annotated\",\"values\":{\"string1\":\"" +
+			value + "\"}}";
+		try (final OutputStream out = new FileOutputStream(index)) {
+			out.write(json.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private String readString(final URL directory) {
+		final Map<String, IndexItem<Simple>> map =
+			DirectoryIndexerTest.readIndex(Simple.class, directory);
+		assertEquals(1, map.size());
+		return map.get("Annotated").annotation().string1();
+	}
+
+}
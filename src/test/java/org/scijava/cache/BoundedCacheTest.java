@@ -0,0 +1,214 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.scijava.Context;
+
+/**
+ * Tests {@link BoundedCache} and {@link BoundedCacheService}.
+ */
+public class BoundedCacheTest {
+
+	@Test
+	public void testService() throws ExecutionException {
+		final Context context = new Context(CacheService.class);
+		final CacheService cacheService = context.service(CacheService.class);
+		assertSame(BoundedCacheService.class, cacheService.getClass());
+
+		cacheService.put("a", 1);
+		assertEquals(1, cacheService.get("a"));
+		assertEquals("loaded", cacheService.get("b", () -> "loaded"));
+		assertEquals("loaded", cacheService.get("b"));
+		context.dispose();
+	}
+
+	@Test
+	public void testLRU() {
+		final BoundedCache cache = new BoundedCache(EvictionPolicy.LRU);
+		cache.setMaximumSize(2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("a");
+		cache.put("c", 3);
+		assertEquals(1, cache.get("a"));
+		assertNull(cache.get("b"));
+		assertEquals(3, cache.get("c"));
+		assertEquals(1, cache.stats().getEvictionCount());
+	}
+
+	@Test
+	public void testLFU() {
+		final BoundedCache cache = new BoundedCache(EvictionPolicy.LFU);
+		cache.setMaximumSize(2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.get("a");
+		cache.get("a");
+		cache.get("b");
+		cache.get("b");
+		cache.get("b");
+		cache.put("c", 3);
+		// a was used less frequently than b
+		assertNull(cache.get("a"));
+		assertEquals(2, cache.get("b"));
+		assertEquals(3, cache.get("c"));
+	}
+
+	@Test
+	public void testTinyLFU() {
+		final BoundedCache cache = new BoundedCache(EvictionPolicy.TINY_LFU);
+		cache.setMaximumSize(2);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		for (int i = 0; i < 5; i++) {
+			cache.get("a");
+			cache.get("b");
+		}
+		// a one-off entry is not admitted over frequently used ones
+		cache.put("c", 3);
+		assertNull(cache.get("c"));
+		assertEquals(2, cache.size());
+
+		// a frequently requested entry is admitted
+		for (int i = 0; i < 10; i++) {
+			cache.get("d");
+		}
+		cache.put("d", 4);
+		assertEquals(4, cache.get("d"));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testWeight() {
+		final BoundedCache cache = new BoundedCache();
+		cache.setWeigher((key, value) -> ((String) value).length());
+		cache.setMaximumWeight(10);
+		cache.put("a", "12345");
+		cache.put("b", "1234");
+		assertEquals(9, cache.weight());
+		cache.put("c", "123");
+		assertNull(cache.get("a"));
+		assertEquals(7, cache.weight());
+
+		// entries heavier than the bound are never stored
+		cache.put("d", "12345678901");
+		assertNull(cache.get("d"));
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void testExpiry() throws InterruptedException {
+		final BoundedCache cache = new BoundedCache();
+		cache.setExpireAfterWrite(10, TimeUnit.MILLISECONDS);
+		cache.put("a", 1);
+		assertEquals(1, cache.get("a"));
+		Thread.sleep(20);
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testStats() throws ExecutionException {
+		final BoundedCache cache = new BoundedCache();
+		cache.put("a", 1);
+		cache.get("a");
+		cache.get("b");
+		cache.get("c", () -> 3);
+		try {
+			cache.get("d", () -> {
+				throw new IllegalStateException("failure");
+			});
+			fail("Expected ExecutionException");
+		}
+		catch (final ExecutionException exc) {
+			assertTrue(exc.getCause() instanceof IllegalStateException);
+		}
+		final CacheStats stats = cache.stats();
+		assertEquals(1, stats.getHitCount());
+		assertEquals(3, stats.getMissCount());
+		assertEquals(2, stats.getLoadCount());
+		assertEquals(1, stats.getLoadFailureCount());
+		assertNull(cache.get("d"));
+	}
+
+	@Test
+	public void testSingleFlight() throws Exception {
+		final BoundedCache cache = new BoundedCache();
+		final AtomicInteger loads = new AtomicInteger();
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final List<Future<Object>> results = new ArrayList<>();
+			for (int i = 0; i < 4; i++) {
+				results.add(executor.submit(() -> cache.get("key", () -> {
+					loads.incrementAndGet();
+					started.countDown();
+					release.await();
+					return "value";
+				})));
+			}
+			started.await();
+			// NB: Give the other threads a chance to pile up on the same key.
+			Thread.sleep(50);
+			release.countDown();
+			for (final Future<Object> result : results) {
+				assertEquals("value", result.get());
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.stats().getLoadCount());
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.convert;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.scijava.Context;
+import org.scijava.test.Benchmark;
+import org.scijava.util.ByteArray;
+import org.scijava.util.DoubleArray;
+import org.scijava.util.FloatArray;
+import org.scijava.util.IntArray;
+
+/**
+ * Compares cached {@link ConvertService} converter lookups against a linear
+ * scan over all {@link Converter} plugins, for a mix of requests handled by
+ * {@link NumberConverters} and {@link ArrayConverters}.
+ * <p>
+ * This is not a unit test; run it manually via its {@code main} method.
+ * </p>
+ */
+public class ConvertServiceBenchmark {
+
+	private static final int LOOKUPS = 1000000;
+
+	private static final Object[] SOURCES = { (byte) 1, (short) 2, 3, 4L, 5f,
+		new byte[8], new double[8], new FloatArray(), new IntArray() };
+
+	private static final Type[] DESTS = { long.class, double.class,
+		BigDecimal.class, Double.class, double.class, ByteArray.class,
+		DoubleArray.class, float[].class, int[].class };
+
+	public static void main(final String[] args) throws Exception {
+		final Context context = new Context(ConvertService.class);
+		try {
+			final ConvertService convertService = context.getService(
+				ConvertService.class);
+			Benchmark.run(() -> {
+				run("linear scan", convertService, false);
+				run("cached", convertService, true);
+			});
+		}
+		finally {
+			context.dispose();
+		}
+	}
+
+	// -- Helper methods --
+
+	private static void run(final String name,
+		final ConvertService convertService, final boolean cached)
+		throws Exception
+	{
+		final List<Converter<?, ?>> converters = convertService.getInstances();
+		Benchmark.measure(name, LOOKUPS, "lookup", () -> {
+			long hits = 0;
+			for (int i = 0; i < LOOKUPS; i++) {
+				final int index = i % SOURCES.length;
+				final ConversionRequest request = //
+					new ConversionRequest(SOURCES[index], DESTS[index]);
+				final Converter<?, ?> c = cached ? //
+					convertService.getHandler(request) : scan(converters, request);
+				if (c != null) hits++;
+			}
+			return hits;
+		});
+	}
+
+	private static Converter<?, ?> scan(final List<Converter<?, ?>> converters,
+		final ConversionRequest request)
+	{
+		for (final Converter<?, ?> c : converters) {
+			if (c.supports(request)) return c;
+		}
+		return null;
+	}
+
+}
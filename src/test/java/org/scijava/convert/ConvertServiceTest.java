@@ -63,6 +63,7 @@ import org.scijava.convert.ArrayConverters.LongArrayWrapper;
 import org.scijava.convert.ArrayConverters.ShortArrayUnwrapper;
 import org.scijava.convert.NumberConverters.ByteToLongConverter;
 import org.scijava.convert.NumberConverters.DoubleToBigDecimalConverter;
+import org.scijava.convert.NumberConverters.IntegerToLongConverter;
 import org.scijava.convert.NumberConverters.ShortToFloatConverter;
 import org.scijava.plugin.Plugin;
 import org.scijava.util.BoolArray;
@@ -698,6 +699,48 @@ public class ConvertServiceTest {
 		assertEquals(DefaultConverter.class, w.getClass());
 	}
 
+	/**
+	 * Tests that cached converter lookups agree with the uncached ones, and that
+	 * null sources are not conflated with typed sources.
+	 */
+	@Test
+	public void testCachedConverterMatching() {
+		for (int i = 0; i < 3; i++) {
+			final Converter<?, ?> c = convertService.getHandler(5, long.class);
+			assertEquals(IntegerToLongConverter.class, c.getClass());
+
+			final Converter<?, ?> cc = convertService.getHandler(
+				new ConversionRequest(Integer.class, long.class));
+			assertSame(c, cc);
+
+			final Converter<?, ?> n = convertService.getHandler(
+				new ConversionRequest(null, long.class));
+			assertEquals(NullConverter.class, n.getClass());
+
+			assertEquals(5L, convertService.convert(5, long.class).longValue());
+			assertNull(convertService.convert((Object) null, Long.class));
+		}
+	}
+
+	/**
+	 * Tests that cached converter lookups respect converters which decide based
+	 * on the source object, rather than only on its class.
+	 */
+	@Test
+	public void testCachedObjectBasedMatching() {
+		for (int i = 0; i < 3; i++) {
+			assertEquals(HashWordsConverter.class, //
+				convertService.getHandler("#FOO", Words.class).getClass());
+			assertEquals(DefaultConverter.class, //
+				convertService.getHandler("FOO", Words.class).getClass());
+			assertEquals(HashWordsConverter.class, //
+				convertService.getHandler("#BAR", Words.class).getClass());
+
+			assertEquals(Words.FUBAR, convertService.convert("#FUBAR", Words.class));
+			assertEquals(Words.FUBAR, convertService.convert("FUBAR", Words.class));
+		}
+	}
+
 // -- Helper Methods --
 
 	/**
@@ -881,6 +924,43 @@ public class ConvertServiceTest {
 		}
 	}
 
+	/**
+	 * {@link Converter} which only accepts {@code String}s with a leading
+	 * {@code #}, to test converters which decide based on the source object.
+	 */
+	@Plugin(type = Converter.class, priority = Priority.HIGH)
+	public static class HashWordsConverter extends
+		AbstractConverter<String, Words>
+	{
+
+		@Override
+		public boolean canConvert(final Object src, final Type dest) {
+			return src instanceof String && ((String) src).startsWith("#") &&
+				super.canConvert(src, dest);
+		}
+
+		@Override
+		public boolean canConvert(final Object src, final Class<?> dest) {
+			return canConvert(src, (Type) dest);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T convert(final Object src, final Class<T> dest) {
+			return (T) Words.valueOf(((String) src).substring(1));
+		}
+
+		@Override
+		public Class<Words> getOutputType() {
+			return Words.class;
+		}
+
+		@Override
+		public Class<String> getInputType() {
+			return String.class;
+		}
+	}
+
 	// -- Helper methods --
 
 	/**
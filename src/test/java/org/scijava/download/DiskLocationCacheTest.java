@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.download;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+import org.scijava.test.TestUtils;
+import org.scijava.util.FileUtils;
+
+/**
+ * Tests {@link DiskLocationCache}.
+ */
+public class DiskLocationCacheTest {
+
+	private File cacheDir;
+	private DiskLocationCache cache;
+
+	@Before
+	public void setUp() throws IOException {
+		cacheDir = TestUtils.createTemporaryDirectory("diskLocationCache",
+			getClass());
+		cache = new DiskLocationCache();
+		cache.setBaseDirectory(cacheDir);
+		cache.setFileLocationCachingEnabled(true);
+	}
+
+	@After
+	public void tearDown() {
+		FileUtils.deleteRecursively(cacheDir);
+	}
+
+	@Test
+	public void testKeys() throws IOException {
+		final Location a = source("a");
+		final Location b = source("b");
+		assertEquals(cache.cachedLocation(a), cache.cachedLocation(source("a")));
+		assertNotEquals(cache.cachedLocation(a), cache.cachedLocation(b));
+
+		// Each writer gets a private staging location.
+		final Location staged1 = cache.stagingLocation(a);
+		final Location staged2 = cache.stagingLocation(a);
+		assertNotEquals(staged1, staged2);
+		assertNotEquals(cache.cachedLocation(a), staged1);
+	}
+
+	@Test
+	public void testCommit() throws IOException {
+		final Location src = source("data");
+		final File cached = file(cache.cachedLocation(src));
+		FileUtils.writeFile(cached, new byte[] { 9, 9 });
+		cache.saveChecksum(src, "old");
+
+		final File staged = file(cache.stagingLocation(src));
+		final byte[] data = { 1, 2, 3, 4 };
+		FileUtils.writeFile(staged, data);
+		assertArrayEquals(new byte[] { 9, 9 }, FileUtils.readFile(cached));
+
+		cache.commit(src, new FileLocation(staged));
+		assertFalse(staged.exists());
+		assertArrayEquals(data, FileUtils.readFile(cached));
+		// The checksum of the replaced data must not survive.
+		assertNull(cache.loadChecksum(src));
+
+		cache.saveChecksum(src, "new");
+		assertEquals("new", cache.loadChecksum(src));
+	}
+
+	@Test
+	public void testDiscard() throws IOException {
+		final Location src = source("discard");
+		final File staged = file(cache.stagingLocation(src));
+		FileUtils.writeFile(staged, new byte[10]);
+		cache.discard(src, new FileLocation(staged));
+		assertFalse(staged.exists());
+		assertFalse(file(cache.cachedLocation(src)).exists());
+		assertEquals(1, cache.getStats().getDiscardCount());
+	}
+
+	@Test
+	public void testEviction() throws IOException, InterruptedException {
+		cache.setMaxSize(250);
+		final Location a = source("a");
+		final Location b = source("b");
+		final Location c = source("c");
+
+		put(a, 100);
+		put(b, 100);
+		// Touch a, so that b becomes the least recently accessed entry.
+		cache.accessed(a, true);
+		Thread.sleep(5);
+		put(c, 100);
+
+		assertTrue(file(cache.cachedLocation(a)).exists());
+		assertFalse(file(cache.cachedLocation(b)).exists());
+		assertTrue(file(cache.cachedLocation(c)).exists());
+		assertEquals(200, cache.size());
+		assertEquals(1, cache.getStats().getEvictionCount());
+		assertEquals(100, cache.getStats().getEvictedBytes());
+	}
+
+	@Test
+	public void testStats() throws IOException, InterruptedException {
+		final Location src = source("stats");
+		cache.accessed(src, false);
+		put(src, 10);
+		cache.accessed(src, true);
+		cache.accessed(src, true);
+
+		final DiskLocationCacheStats stats = cache.getStats();
+		assertEquals(2, stats.getHitCount());
+		assertEquals(1, stats.getMissCount());
+		assertEquals(1, stats.getCommitCount());
+		assertEquals(0, stats.getDiscardCount());
+		assertEquals(0, stats.getEvictionCount());
+		assertEquals(10, stats.getCommittedBytes());
+		assertEquals(0, stats.getEvictedBytes());
+	}
+
+	// -- Helper methods --
+
+	private Location source(final String name) {
+		return new FileLocation(new File(cacheDir.getParentFile(), name));
+	}
+
+	private void put(final Location src, final int length) throws IOException,
+		InterruptedException
+	{
+		final File staged = file(cache.stagingLocation(src));
+		FileUtils.writeFile(staged, new byte[length]);
+		cache.commit(src, new FileLocation(staged));
+		// NB: Keep access times of consecutive entries distinct.
+		Thread.sleep(5);
+	}
+
+	private File file(final Location location) {
+		return ((FileLocation) location).getFile();
+	}
+
+}
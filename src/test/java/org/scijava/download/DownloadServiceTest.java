@@ -39,7 +39,12 @@ import static org.junit.Assert.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Date;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
 import org.junit.Before;
@@ -49,10 +54,13 @@ import org.scijava.io.ByteBank;
 import org.scijava.io.location.BytesLocation;
 import org.scijava.io.location.FileLocation;
 import org.scijava.io.location.Location;
+import org.scijava.io.location.URLLocation;
 import org.scijava.test.TestUtils;
 import org.scijava.util.FileUtils;
 import org.scijava.util.MersenneTwisterFast;
 
+import com.sun.net.httpserver.HttpServer;
+
 /**
  * Tests {@link DownloadService}.
  * 
@@ -161,6 +169,173 @@ public class DownloadServiceTest {
 		}
 	}
 
+	@Test
+	public void testChunkedDownload() throws IOException, InterruptedException,
+		ExecutionException
+	{
+		final byte[] data = randomBytes(0xdeadbeef);
+
+		final String prefix = getClass().getName();
+		final File inFile = File.createTempFile(prefix, "testChunkedIn");
+		final File outFile = File.createTempFile(prefix, "testChunkedOut");
+
+		try {
+			FileUtils.writeFile(inFile, data);
+
+			final Location src = new FileLocation(inFile);
+			final Location dest = new FileLocation(outFile);
+
+			final Download download = downloadService.download(src, dest, 4);
+			download.task().waitFor();
+
+			assertArrayEquals(data, FileUtils.readFile(outFile));
+			assertEquals(data.length, download.task().getProgressValue());
+			assertFalse(DownloadJournal.journalFile(outFile).exists());
+		}
+		finally {
+			inFile.delete();
+			outFile.delete();
+		}
+	}
+
+	@Test
+	public void testResumedDownload() throws IOException, InterruptedException,
+		ExecutionException
+	{
+		final byte[] data = randomBytes(0xfeedface);
+
+		final String prefix = getClass().getName();
+		final File inFile = File.createTempFile(prefix, "testResumedIn");
+		final File outFile = File.createTempFile(prefix, "testResumedOut");
+		final File journalFile = DownloadJournal.journalFile(outFile);
+
+		try {
+			FileUtils.writeFile(inFile, data);
+			final Location src = new FileLocation(inFile);
+			final Location dest = new FileLocation(outFile);
+
+			// Simulate an interrupted download: the first half of chunk 0 and all
+			// of chunk 2 were written, marked here with a recognizable value.
+			final DownloadJournal journal = new DownloadJournal(journalFile, src
+				.getURI().toString(), data.length, null, new Date(inFile
+					.lastModified()), 3);
+			final byte[] partial = new byte[data.length];
+			final long half = journal.end(0) / 2;
+			for (long i = 0; i < half; i++) {
+				partial[(int) i] = 42;
+			}
+			for (long i = journal.start(2); i < journal.end(2); i++) {
+				partial[(int) i] = 42;
+			}
+			FileUtils.writeFile(outFile, partial);
+			journal.update(0, half);
+			journal.update(2, journal.end(2) - journal.start(2));
+
+			final Download download = downloadService.download(src, dest, 3);
+			download.task().waitFor();
+
+			// The recorded ranges were not fetched again; the others were.
+			final byte[] result = FileUtils.readFile(outFile);
+			assertEquals(data.length, result.length);
+			for (int i = 0; i < result.length; i++) {
+				final boolean kept = i < half || i >= journal.start(2) && //
+					i < journal.end(2);
+				assertEquals(kept ? 42 : data[i], result[i]);
+			}
+			assertFalse(journalFile.exists());
+		}
+		finally {
+			inFile.delete();
+			outFile.delete();
+			journalFile.delete();
+		}
+	}
+
+	@Test
+	public void testStaleJournal() throws IOException, InterruptedException,
+		ExecutionException
+	{
+		final byte[] data = randomBytes(0xbeefcafe);
+
+		final String prefix = getClass().getName();
+		final File inFile = File.createTempFile(prefix, "testStaleIn");
+		final File outFile = File.createTempFile(prefix, "testStaleOut");
+		final File journalFile = DownloadJournal.journalFile(outFile);
+
+		try {
+			FileUtils.writeFile(inFile, data);
+			final Location src = new FileLocation(inFile);
+			final Location dest = new FileLocation(outFile);
+
+			// A journal for a source of a different length must be ignored.
+			final DownloadJournal journal = new DownloadJournal(journalFile, src
+				.getURI().toString(), data.length + 1, null, null, 2);
+			journal.update(0, 1000);
+			FileUtils.writeFile(outFile, new byte[data.length]);
+
+			final Download download = downloadService.download(src, dest, 2);
+			download.task().waitFor();
+
+			assertArrayEquals(data, FileUtils.readFile(outFile));
+			assertFalse(journalFile.exists());
+		}
+		finally {
+			inFile.delete();
+			outFile.delete();
+			journalFile.delete();
+		}
+	}
+
+	@Test
+	public void testChunkedDownloadWithoutRanges() throws IOException,
+		InterruptedException, ExecutionException
+	{
+		final byte[] data = randomBytes(0xfacefeed);
+
+		// Serve the data from a server which ignores Range headers.
+		final AtomicInteger gets = new AtomicInteger();
+		final HttpServer server = HttpServer.create(new InetSocketAddress(
+			"127.0.0.1", 0), 0);
+		server.createContext("/data", exchange -> {
+			exchange.getResponseHeaders().set("Content-Length", "" + data.length);
+			if ("HEAD".equals(exchange.getRequestMethod())) {
+				exchange.sendResponseHeaders(200, -1);
+				exchange.close();
+				return;
+			}
+			gets.incrementAndGet();
+			exchange.sendResponseHeaders(200, data.length);
+			try (final OutputStream out = exchange.getResponseBody()) {
+				out.write(data);
+			}
+			catch (final IOException exc) {
+				// NB: The client hung up early.
+			}
+		});
+		server.start();
+
+		final String prefix = getClass().getName();
+		final File outFile = File.createTempFile(prefix, "testNoRangesOut");
+
+		try {
+			final URLLocation src = new URLLocation(new URL("http", "127.0.0.1",
+				server.getAddress().getPort(), "/data"));
+			final Location dest = new FileLocation(outFile);
+
+			final Download download = downloadService.download(src, dest, 4);
+			download.task().waitFor();
+
+			assertArrayEquals(data, FileUtils.readFile(outFile));
+			assertFalse(DownloadJournal.journalFile(outFile).exists());
+			// NB: One request to probe for range support, and one to download.
+			assertTrue("Too many requests: " + gets, gets.get() <= 2);
+		}
+		finally {
+			server.stop(0);
+			outFile.delete();
+		}
+	}
+
 	// -- Helper methods --
 
 	private byte[] randomBytes(final long seed) {
@@ -34,15 +34,25 @@ package org.scijava.event;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.bushe.swing.event.EventSubscriber;
+import org.bushe.swing.event.VetoEventListener;
 import org.junit.Test;
 import org.scijava.Context;
+import org.scijava.log.LogService;
 import org.scijava.service.AbstractService;
 import org.scijava.service.event.ServicesLoadedEvent;
+import org.scijava.thread.ThreadService;
 
 /**
  * Verifies that the SciJava event service works as expected.
@@ -97,6 +107,127 @@ public class EventServiceTest {
 		assertTrue(snaeService.isContextCreated());
 	}
 
+	@Test
+	public void testCallingThreadDispatch() {
+		final Context context = new Context(EventService.class);
+		final EventService eventService = context.getService(EventService.class);
+		eventService.setDispatchMode(EventDispatchMode.CALLING_THREAD);
+		assertEquals(EventDispatchMode.CALLING_THREAD, eventService
+			.getDispatchMode());
+
+		final SequenceHandler handler = new SequenceHandler(1);
+		eventService.subscribe(handler);
+		eventService.publish(new SequenceEvent(0));
+		assertEquals(1, handler.threads.size());
+		assertSame(Thread.currentThread(), handler.threads.get(0));
+		context.dispose();
+	}
+
+	@Test
+	public void testAsyncDispatch() throws InterruptedException {
+		final Context context = new Context(EventService.class);
+		final EventService eventService = context.getService(EventService.class);
+		eventService.setDispatchMode(SequenceEvent.class, EventDispatchMode.ASYNC);
+
+		final int count = 1000;
+		final SequenceHandler handler1 = new SequenceHandler(count);
+		final SequenceHandler handler2 = new SequenceHandler(count);
+		eventService.subscribe(handler1);
+		eventService.subscribe(handler2);
+		for (int i = 0; i < count; i++) {
+			eventService.publish(new SequenceEvent(i));
+		}
+		assertTrue(handler1.done.await(10, TimeUnit.SECONDS));
+		assertTrue(handler2.done.await(10, TimeUnit.SECONDS));
+
+		// each subscriber receives the events in publication order
+		for (final SequenceHandler handler : new SequenceHandler[] { handler1,
+			handler2 })
+		{
+			assertEquals(count, handler.sequence.size());
+			for (int i = 0; i < count; i++) {
+				assertEquals(i, (int) handler.sequence.get(i));
+				assertNotSame(Thread.currentThread(), handler.threads.get(i));
+			}
+		}
+
+		// other event types are unaffected
+		assertEquals(EventDispatchMode.DISPATCH_THREAD, eventService
+			.getDispatchMode());
+		context.dispose();
+	}
+
+	@Test
+	public void testAsyncVetoOrdering() throws InterruptedException {
+		final Context context = new Context(ThreadService.class, LogService.class);
+		final DefaultEventBus bus = new DefaultEventBus(context.getService(
+			ThreadService.class), context.getService(LogService.class));
+		bus.setDispatchMode(EventDispatchMode.ASYNC);
+
+		final int count = 100;
+		final List<Object> expected = new ArrayList<>();
+		final List<Object> received1 = new ArrayList<>();
+		final List<Object> received2 = new ArrayList<>();
+		final CountDownLatch done = new CountDownLatch(2 * count);
+		final EventSubscriber<Object> subscriber1 = event -> {
+			synchronized (received1) {
+				received1.add(event);
+			}
+			done.countDown();
+		};
+		final EventSubscriber<Object> subscriber2 = event -> {
+			synchronized (received2) {
+				received2.add(event);
+			}
+			done.countDown();
+		};
+		final VetoEventListener<String> slowVeto = event -> {
+			try {
+				Thread.sleep(2);
+			}
+			catch (final InterruptedException exc) {
+				Thread.currentThread().interrupt();
+			}
+			return false;
+		};
+		bus.subscribeStrongly(Object.class, subscriber1);
+		bus.subscribeStrongly(Object.class, subscriber2);
+		bus.subscribeVetoListenerStrongly(String.class, slowVeto);
+
+		// events with veto listeners stay in order with other events
+		for (int i = 0; i < count; i++) {
+			final Object event = i % 3 == 0 ? "event " + i : i;
+			expected.add(event);
+			bus.publish(event);
+		}
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertEquals(expected, received1);
+		assertEquals(expected, received2);
+
+		// after shutdown, asynchronous events are dropped
+		bus.shutdown();
+		bus.publish(count);
+		bus.publish("last");
+		Thread.sleep(200);
+		assertEquals(count, received1.size());
+		assertEquals(count, received2.size());
+		context.dispose();
+	}
+
+	@Test
+	public void testNonPublicAndFailingHandlers() {
+		final Context context = new Context(EventService.class);
+		final EventService eventService = context.getService(EventService.class);
+		final PrivateHandler handler = new PrivateHandler();
+		eventService.subscribe(handler);
+
+		// NB: A failing handler must not prevent delivery to other handlers.
+		eventService.publish(new MyEvent());
+		eventService.publish(new MyEvent());
+		assertEquals(2, counter);
+		context.dispose();
+	}
+
 	private static void gc() {
 		System.gc();
 		// for some reason, some systems need extra encouragement to collect their garbage
@@ -118,6 +249,46 @@ public class EventServiceTest {
 		}
 	}
 
+	public static class PrivateHandler {
+
+		@EventHandler
+		private void onEvent(final MyEvent e) {
+			e.inc();
+		}
+
+		@EventHandler
+		private void onFailingEvent(@SuppressWarnings("unused") final MyEvent e) {
+			throw new IllegalStateException("Expected failure");
+		}
+	}
+
+	private static class SequenceEvent extends SciJavaEvent {
+
+		private final int index;
+
+		public SequenceEvent(final int index) {
+			this.index = index;
+		}
+	}
+
+	public static class SequenceHandler {
+
+		private final List<Integer> sequence = new ArrayList<>();
+		private final List<Thread> threads = new ArrayList<>();
+		private final CountDownLatch done;
+
+		public SequenceHandler(final int count) {
+			done = new CountDownLatch(count);
+		}
+
+		@EventHandler
+		public synchronized void onEvent(final SequenceEvent e) {
+			sequence.add(e.index);
+			threads.add(Thread.currentThread());
+			done.countDown();
+		}
+	}
+
 	public static class ServiceNeedingAnEventService extends AbstractService {
 
 		private boolean contextCreated;
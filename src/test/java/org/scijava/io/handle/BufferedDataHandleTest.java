@@ -0,0 +1,183 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.Priority;
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.Location;
+import org.scijava.plugin.PluginInfo;
+import org.scijava.plugin.PluginService;
+
+/**
+ * Tests {@link BufferedDataHandle}.
+ */
+public class BufferedDataHandleTest extends DataHandleTest {
+
+	@Override
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	public Class<? extends DataHandle<?>> getExpectedHandleType() {
+		return (Class) BufferedDataHandle.class;
+	}
+
+	@Override
+	public Location createLocation() throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		populateData(out);
+		return new BytesLocation(out.toByteArray());
+	}
+
+	@Override
+	@Test
+	public void testDataHandle() throws IOException {
+		// NB: Small buffers, so that reads and writes straddle buffer boundaries.
+		try (final DataHandle<BytesLocation> handle = buffered(9, 8)) {
+			checkReads(handle);
+			checkWrites(handle);
+		}
+	}
+
+	@Test
+	public void testWriteBehind() throws IOException {
+		final BufferedDataHandle<BytesLocation> handle = buffered(16, 16);
+		final DataHandle<BytesLocation> raw = handle.getHandle();
+
+		handle.seek(2);
+		handle.writeInt(0x01020304);
+		handle.write(5);
+		// pending writes are visible through the buffered handle only
+		assertEquals(BYTES[2], raw.get().getByteBank().getByte(2));
+		handle.seek(0);
+		assertEquals(BYTES[0], handle.readByte());
+		assertEquals(BYTES[1], handle.readByte());
+		assertEquals(0x01020304, handle.readInt());
+		assertEquals(5, handle.read());
+
+		handle.flush();
+		assertEquals(1, raw.get().getByteBank().getByte(2));
+		assertEquals(5, raw.get().getByteBank().getByte(6));
+		handle.close();
+	}
+
+	@Test
+	public void testReadInvalidation() throws IOException {
+		final BufferedDataHandle<BytesLocation> handle = buffered(32, 8);
+		assertEquals(BYTES[0], handle.readByte());
+
+		// overwrite a byte which is already in the read buffer
+		handle.seek(1);
+		handle.write(42);
+		handle.seek(1);
+		assertEquals(42, handle.read());
+		assertEquals(0xff & BYTES[2], handle.read());
+
+		// pending writes extend the length
+		handle.seek(BYTES.length);
+		handle.writeShort(0x0102);
+		assertEquals(BYTES.length + 2, handle.length());
+		handle.seek(BYTES.length);
+		assertEquals(0x0102, handle.readShort());
+		assertEquals(-1, handle.read());
+		handle.close();
+	}
+
+	@Test
+	public void testLittleEndian() throws IOException {
+		final BufferedDataHandle<BytesLocation> handle = buffered(8, 8);
+		handle.setLittleEndian(true);
+		assertTrue(handle.getHandle().isLittleEndian());
+		handle.writeShort(0x0102);
+		handle.seek(0);
+		assertEquals(2, handle.read());
+		assertEquals(1, handle.read());
+		handle.seek(0);
+		assertEquals(0x0102, handle.readShort());
+		handle.close();
+	}
+
+	@Test
+	public void testPrefersBuffering() throws IOException {
+		final Context context = new Context(DataHandleService.class);
+		final PluginInfo<DataHandle<?>> info = new PluginInfo<>(
+			EagerBytesHandle.class, castHandleType());
+		info.setPriority(Priority.HIGH);
+		context.service(PluginService.class).addPlugin(info);
+
+		final DataHandleService dataHandleService = context.service(
+			DataHandleService.class);
+		try (final DataHandle<Location> handle = dataHandleService.create(
+			createLocation()))
+		{
+			assertSame(BufferedDataHandle.class, handle.getClass());
+			final DataHandle<?> raw = ((BufferedDataHandle<?>) handle).getHandle();
+			assertSame(EagerBytesHandle.class, raw.getClass());
+			checkReads(handle);
+		}
+		context.dispose();
+	}
+
+	// -- Helper methods --
+
+	private BufferedDataHandle<BytesLocation> buffered(final int readSize,
+		final int writeSize) throws IOException
+	{
+		final BytesHandle bytesHandle = new BytesHandle();
+		bytesHandle.set((BytesLocation) createLocation());
+		return new BufferedDataHandle<>(bytesHandle, readSize, writeSize);
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Class<DataHandle<?>> castHandleType() {
+		return (Class) DataHandle.class;
+	}
+
+	// -- Helper classes --
+
+	/** A {@link BytesHandle} which opts in to buffering. */
+	public static class EagerBytesHandle extends BytesHandle {
+
+		@Override
+		public boolean prefersBuffering() {
+			return true;
+		}
+	}
+
+}
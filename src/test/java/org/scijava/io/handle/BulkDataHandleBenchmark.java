@@ -0,0 +1,107 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.io.File;
+
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+import org.scijava.test.Benchmark;
+
+/**
+ * Compares the throughput of the bulk primitive methods of {@link DataHandle}
+ * (e.g. {@link DataHandle#readFloats}) against reading and writing one value
+ * at a time, for both {@link FileHandle} and {@link BytesHandle}.
+ * <p>
+ * This is not a unit test; run it manually via its {@code main} method.
+ * </p>
+ */
+public class BulkDataHandleBenchmark {
+
+	private static final int VALUES = 4 * 1024 * 1024; // 16 MB of floats
+
+	public static void main(final String[] args) throws Exception {
+		final File file = File.createTempFile("BulkDataHandleBenchmark", ".bin");
+		file.deleteOnExit();
+
+		Benchmark.run(() -> {
+			final FileHandle fileHandle = new FileHandle();
+			fileHandle.set(new FileLocation(file));
+			run("FileHandle", fileHandle);
+			final BytesHandle bytesHandle = new BytesHandle();
+			bytesHandle.set(new BytesLocation(4 * VALUES));
+			run("BytesHandle", bytesHandle);
+		});
+	}
+
+	// -- Helper methods --
+
+	private static <L extends Location> void run(final String name,
+		final DataHandle<L> handle) throws Exception
+	{
+		handle.setLittleEndian(true);
+		final float[] values = new float[VALUES];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = i;
+		}
+
+		Benchmark.measure(name + " writeFloat", VALUES, "float", () -> {
+			handle.seek(0);
+			for (int i = 0; i < values.length; i++) {
+				handle.writeFloat(values[i]);
+			}
+			return handle.offset();
+		});
+		Benchmark.measure(name + " writeFloats", VALUES, "float", () -> {
+			handle.seek(0);
+			handle.writeFloats(values, 0, values.length);
+			return handle.offset();
+		});
+		Benchmark.measure(name + " readFloat", VALUES, "float", () -> {
+			double sum = 0;
+			handle.seek(0);
+			for (int i = 0; i < values.length; i++) {
+				sum += handle.readFloat();
+			}
+			return sum;
+		});
+		Benchmark.measure(name + " readFloats", VALUES, "float", () -> {
+			handle.seek(0);
+			handle.readFloats(values, 0, values.length);
+			return values[values.length - 1];
+		});
+		handle.close();
+	}
+
+}
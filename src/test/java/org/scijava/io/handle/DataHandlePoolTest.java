@@ -0,0 +1,171 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.FileLocation;
+import org.scijava.io.location.Location;
+import org.scijava.io.nio.DirectByteBank;
+
+/**
+ * Tests {@link DataHandlePool}.
+ */
+public class DataHandlePoolTest {
+
+	private Context context;
+	private DataHandleService dataHandleService;
+
+	@Before
+	public void setUp() {
+		context = new Context(DataHandleService.class);
+		dataHandleService = context.service(DataHandleService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testSameHandlePerLocation() throws IOException {
+		final FileLocation loc = createFile(0);
+		final DataHandle<Location> handle = dataHandleService.getPooled(loc);
+		assertSame(handle, dataHandleService.getPooled(new FileLocation(loc
+			.getFile())));
+
+		// a closed handle is replaced by a new one
+		handle.close();
+		assertNotSame(handle, dataHandleService.getPooled(loc));
+	}
+
+	@Test
+	public void testEvictAndReopen() throws IOException {
+		final DataHandlePool pool = dataHandleService.getHandlePool();
+		pool.setMaxOpen(3);
+
+		final List<DataHandle<Location>> handles = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			final DataHandle<Location> handle = //
+				dataHandleService.getPooled(createFile(i));
+			handle.seek(20);
+			assertEquals(100 + i, handle.readByte());
+			handles.add(handle);
+		}
+		DataHandlePoolStats stats = pool.stats();
+		assertEquals(10, stats.getHandleCount());
+		assertEquals(3, stats.getOpenHandleCount());
+		assertEquals(10, stats.getOpenCount());
+		assertEquals(0, stats.getReopenCount());
+		assertEquals(7, stats.getEvictionCount());
+
+		// evicted handles are reopened at their previous offset
+		for (int i = 0; i < 10; i++) {
+			final DataHandle<Location> handle = handles.get(i);
+			assertEquals(21, handle.offset());
+			assertEquals(i, handle.readByte());
+		}
+		stats = pool.stats();
+		assertEquals(3, stats.getOpenHandleCount());
+		assertEquals(20, stats.getOpenCount());
+		assertEquals(10, stats.getReopenCount());
+
+		// closed handles leave the pool
+		handles.get(9).close();
+		stats = pool.stats();
+		assertEquals(9, stats.getHandleCount());
+		assertEquals(2, stats.getOpenHandleCount());
+	}
+
+	@Test
+	public void testInMemoryNotEvicted() throws IOException {
+		final DataHandlePool pool = dataHandleService.getHandlePool();
+		pool.setMaxOpen(1);
+
+		// NB: Closing a handle over this bank would release its data.
+		final DirectByteBank bank = new DirectByteBank(64, true);
+		final BytesLocation bytesLoc = new BytesLocation(bank);
+		final DataHandle<Location> bytesHandle = dataHandleService.getPooled(
+			bytesLoc);
+		bytesHandle.write(new byte[] { 1, 2, 3 });
+
+		for (int i = 0; i < 3; i++) {
+			final DataHandle<Location> handle = //
+				dataHandleService.getPooled(createFile(i));
+			handle.seek(20);
+			assertEquals(100 + i, handle.readByte());
+		}
+		final DataHandlePoolStats stats = pool.stats();
+		assertEquals(1, stats.getOpenHandleCount());
+		assertEquals(2, stats.getEvictionCount());
+
+		// the in-memory handle kept its data
+		assertEquals(3, bank.size());
+		assertFalse(bank.isReleased());
+		bytesHandle.seek(0);
+		assertEquals(1, bytesHandle.readByte());
+		assertEquals(2, bytesHandle.readByte());
+	}
+
+	// -- Helper methods --
+
+	/** Creates a file of 50 bytes with value {@code i}, except at offset 20. */
+	private FileLocation createFile(final int i) throws IOException {
+		final File file = File.createTempFile("DataHandlePoolTest", ".bin");
+		file.deleteOnExit();
+		final byte[] bytes = new byte[50];
+		Arrays.fill(bytes, (byte) i);
+		bytes[20] = (byte) (100 + i);
+		try (final OutputStream out = new FileOutputStream(file)) {
+			out.write(bytes);
+		}
+		return new FileLocation(file);
+	}
+
+}
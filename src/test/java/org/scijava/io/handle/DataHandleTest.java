@@ -33,10 +33,16 @@
 package org.scijava.io.handle;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Test;
 import org.scijava.Context;
@@ -151,6 +157,63 @@ public abstract class DataHandleTest {
 				handle.readDouble(), 0);
 		}
 
+		// test bulk reads, in both byte orders
+		for (final boolean little : new boolean[] { false, true }) {
+			handle.setLittleEndian(little);
+			final int count = (BYTES.length - 1) / 8;
+
+			final short[] shorts = new short[count + 1];
+			handle.seek(1);
+			handle.readShorts(shorts, 1, count);
+			for (int i = 0; i < count; i++) {
+				assertEquals(msg(i), Bytes.toShort(BYTES, 1 + 2 * i, little),
+					shorts[i + 1]);
+			}
+			assertEquals(1 + 2 * count, handle.offset());
+
+			final int[] ints = new int[count];
+			handle.seek(1);
+			handle.readInts(ints, 0, count);
+			for (int i = 0; i < count; i++) {
+				assertEquals(msg(i), Bytes.toInt(BYTES, 1 + 4 * i, little), ints[i]);
+			}
+
+			final long[] longs = new long[count];
+			handle.seek(1);
+			handle.readLongs(longs, 0, count);
+			for (int i = 0; i < count; i++) {
+				assertEquals(msg(i), Bytes.toLong(BYTES, 1 + 8 * i, little),
+					longs[i]);
+			}
+
+			final float[] floats = new float[count];
+			handle.seek(1);
+			handle.readFloats(floats, 0, count);
+			for (int i = 0; i < count; i++) {
+				assertEquals(msg(i), Bytes.toFloat(BYTES, 1 + 4 * i, little),
+					floats[i], 0);
+			}
+
+			final double[] doubles = new double[count];
+			handle.seek(1);
+			handle.readDoubles(doubles, 0, count);
+			for (int i = 0; i < count; i++) {
+				assertEquals(msg(i), Bytes.toDouble(BYTES, 1 + 8 * i, little),
+					doubles[i], 0);
+			}
+
+			// reading past the end must fail
+			handle.seek(BYTES.length - 7);
+			try {
+				handle.readLongs(longs, 0, 1);
+				fail("Expected EOFException");
+			}
+			catch (final EOFException exc) {
+				// NB: Expected.
+			}
+		}
+		handle.setLittleEndian(false);
+
 		// test readBoolean()
 		handle.seek(0);
 		for (int i = 0; i < BYTES.length; i++) {
@@ -185,6 +248,23 @@ public abstract class DataHandleTest {
 		// test findString(String) - _includes_ the matching terminator!
 		handle.seek(1);
 		assertBytesMatch(1, 11, handle.findString("world").getBytes());
+
+		// test readVectored() - leaves the offset alone!
+		handle.seek(3);
+		final List<ByteRange> ranges = Arrays.asList(new ByteRange(20, 5),
+			new ByteRange(1, 4), new ByteRange(7, 3), new ByteRange(BYTES.length - 2,
+				4));
+		final List<CompletableFuture<ByteBuffer>> results = //
+			handle.readVectored(ranges, ByteBuffer::allocate);
+		assertEquals(3, handle.offset());
+		for (int i = 0; i < 3; i++) {
+			final ByteBuffer result = results.get(i).join();
+			final byte[] b = new byte[result.remaining()];
+			result.get(b);
+			assertBytesMatch((int) ranges.get(i).getOffset(), ranges.get(i)
+				.getLength(), b);
+		}
+		assertTrue(results.get(3).isCompletedExceptionally());
 	}
 
 	protected <L extends Location> void checkWrites(final DataHandle<L> handle)
@@ -206,6 +286,30 @@ public abstract class DataHandleTest {
 		for (int i = 0; i < copy.length; i++) {
 			assertEquals(msg(i), 0xff & copy[i], handle.read());
 		}
+		// test bulk writes, in both byte orders
+		for (final boolean little : new boolean[] { false, true }) {
+			handle.setLittleEndian(little);
+			final int[] ints = { 0x01020304, -2, Integer.MIN_VALUE };
+			handle.seek(5);
+			handle.writeInts(ints, 0, ints.length);
+			assertEquals(5 + 4 * ints.length, handle.offset());
+			final byte[] b = new byte[4 * ints.length];
+			handle.seek(5);
+			handle.readFully(b);
+			for (int i = 0; i < ints.length; i++) {
+				assertEquals(msg(i), ints[i], Bytes.toInt(b, 4 * i, little));
+			}
+
+			final double[] doubles = { Math.PI, -0.0, Double.NaN };
+			handle.seek(2);
+			handle.writeDoubles(doubles, 1, 2);
+			final double[] result = new double[3];
+			handle.seek(2);
+			handle.readDoubles(result, 1, 2);
+			assertEquals(doubles[1], result[1], 0);
+			assertEquals(doubles[2], result[2], 0);
+		}
+		handle.setLittleEndian(false);
 	}
 
 	// -- Internal methods --
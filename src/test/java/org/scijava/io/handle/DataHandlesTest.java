@@ -32,8 +32,11 @@
 
 package org.scijava.io.handle;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 
+import java.io.File;
 import java.io.IOException;
 
 import org.junit.After;
@@ -42,10 +45,12 @@ import org.junit.Test;
 import org.scijava.Context;
 import org.scijava.event.EventService;
 import org.scijava.io.location.BytesLocation;
+import org.scijava.io.location.FileLocation;
 import org.scijava.io.location.Location;
 import org.scijava.task.DefaultTask;
 import org.scijava.task.Task;
 import org.scijava.thread.ThreadService;
+import org.scijava.util.FileUtils;
 import org.scijava.util.MersenneTwisterFast;
 
 /**
@@ -132,6 +137,43 @@ public class DataHandlesTest {
 		}
 	}
 
+	@Test
+	public void testChannelCopy() throws IOException {
+		final int offset = 100, sliceSize = 50_000;
+		final File in = File.createTempFile("DataHandlesTest", "in");
+		final File out = File.createTempFile("DataHandlesTest", "out");
+		try (DataHandle<Location> src = handles.create(new FileLocation(in));
+				final DataHandle<Location> dest = handles.create(
+					new FileLocation(out)))
+		{
+			FileUtils.writeFile(in, data);
+			assertNotNull(src.channel());
+			assertNotNull(dest.channel());
+
+			// Both handles expose channels, so the bytes bypass the heap.
+			src.seek(offset);
+			final Task t = new DefaultTask(threadService, eventService);
+			assertEquals(sliceSize, DataHandles.copy(src, dest, sliceSize, t));
+			assertEquals(sliceSize, t.getProgressValue());
+			assertEquals(offset + sliceSize, src.offset());
+			assertEquals(sliceSize, dest.offset());
+
+			final byte[] expected = new byte[sliceSize];
+			System.arraycopy(data, offset, expected, 0, sliceSize);
+			assertHandleEquals(expected, dest);
+
+			// Without a length, the copy runs to the end of the input.
+			dest.seek(0);
+			src.seek(0);
+			assertEquals(TEST_SIZE, DataHandles.copy(src, dest));
+			assertArrayEquals(data, FileUtils.readFile(out));
+		}
+		finally {
+			in.delete();
+			out.delete();
+		}
+	}
+
 	private void assertHandleEquals(final byte[] expected,
 		final DataHandle<Location> handle) throws IOException
 	{
@@ -35,10 +35,17 @@ package org.scijava.io.handle;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 import org.scijava.Context;
@@ -90,6 +97,46 @@ public class FileHandleTest extends DataHandleTest {
 		assertTrue(nonExistentFile.delete());
 	}
 
+	@Test
+	public void testPositionalReads() throws Exception {
+		final FileHandle handle = new FileHandle();
+		handle.set((FileLocation) createLocation());
+		handle.seek(5);
+
+		// many threads read concurrently, without moving the offset
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		final List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < 16; t++) {
+			final int start = t % (BYTES.length - 8);
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 100; i++) {
+					final byte[] b = new byte[8];
+					handle.readFully(start, b, 0, b.length);
+					assertBytesMatch(start, b.length, b);
+				}
+				return null;
+			}));
+		}
+		for (final Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+		assertEquals(5, handle.offset());
+
+		// reads near and past the end of the file
+		final byte[] b = new byte[10];
+		assertEquals(3, handle.read(BYTES.length - 3, b, 0, b.length));
+		assertEquals(-1, handle.read(BYTES.length, b, 0, b.length));
+		try {
+			handle.readFully(BYTES.length - 3, b, 0, b.length);
+			fail("Expected EOFException");
+		}
+		catch (final EOFException exc) {
+			// NB: Expected.
+		}
+		handle.close();
+	}
+
 	@Test
 	public void testNotCreatedByClose() throws IOException {
 		final Context ctx = new Context();
@@ -0,0 +1,402 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.io.location.Location;
+import org.scijava.io.location.URLLocation;
+import org.scijava.thread.ThreadService;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests {@link HTTPHandle}, against a local HTTP server.
+ */
+public class HTTPHandleTest extends DataHandleTest {
+
+	private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+
+	private static final long LAST_MODIFIED = 1500000000000L;
+
+	private HttpServer server;
+
+	/** Content served under {@code /data}. */
+	private volatile byte[] content = BYTES;
+
+	/** ETag of {@link #content}. */
+	private volatile String etag = "\"v1\"";
+
+	/** Whether the server honors {@code Range} headers. */
+	private volatile boolean rangesSupported = true;
+
+	/** Whether the server answers {@code HEAD} requests. */
+	private volatile boolean headSupported = true;
+
+	/** Content to serve instead, with a new ETag, after the next GET request. */
+	private volatile byte[] update;
+
+	/** Number of GET requests served. */
+	private volatile int gets;
+
+	@Before
+	public void startServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/data", this::serve);
+		server.start();
+	}
+
+	@After
+	public void stopServer() {
+		server.stop(0);
+	}
+
+	@Override
+	public Class<? extends DataHandle<?>> getExpectedHandleType() {
+		return HTTPHandle.class;
+	}
+
+	@Override
+	public Location createLocation() throws IOException {
+		return location("/data");
+	}
+
+	@Override
+	protected <L extends Location> void checkWrites(final DataHandle<L> handle)
+		throws IOException
+	{
+		assertFalse(handle.isWritable());
+		try {
+			handle.write(1);
+			fail("Expected IOException");
+		}
+		catch (final IOException exc) {
+			// NB: Expected.
+		}
+	}
+
+	@Test
+	public void testMetadata() throws IOException {
+		final HTTPHandle handle = handle();
+		assertTrue(handle.exists());
+		assertEquals(BYTES.length, handle.length());
+		assertEquals(etag, handle.checksum());
+		assertEquals(LAST_MODIFIED, handle.lastModified().getTime());
+		handle.close();
+
+		final HTTPHandle missing = new HTTPHandle();
+		missing.set(location("/missing"));
+		assertFalse(missing.exists());
+		assertNull(missing.checksum());
+		missing.close();
+	}
+
+	@Test
+	public void testMetadataWithoutHead() throws IOException {
+		headSupported = false;
+		final HTTPHandle handle = handle();
+		assertTrue(handle.exists());
+		assertEquals(BYTES.length, handle.length());
+		assertEquals(etag, handle.checksum());
+		assertEquals(LAST_MODIFIED, handle.lastModified().getTime());
+		assertTrue(handle.isRandomAccess());
+		assertRange(0, readAll(handle));
+		handle.close();
+
+		rangesSupported = false;
+		final HTTPHandle unranged = handle();
+		assertTrue(unranged.exists());
+		assertEquals(BYTES.length, unranged.length());
+		assertFalse(unranged.isRandomAccess());
+		assertRange(0, readAll(unranged));
+		unranged.close();
+	}
+
+	@Test
+	public void testBlockCache() throws IOException {
+		content = randomBytes(1000);
+		final HTTPHandle handle = handle();
+		handle.setBlockSize(100);
+		handle.setMaxBlocks(3);
+
+		// random access across block boundaries
+		final byte[] b = new byte[250];
+		handle.seek(150);
+		handle.readFully(b);
+		assertRange(150, b);
+		assertEquals(3, handle.getBlockRequests());
+
+		// re-reading cached blocks requires no further requests
+		handle.seek(210);
+		assertEquals(content[210], handle.readByte());
+		handle.seek(360);
+		handle.readFully(new byte[30]);
+		assertEquals(3, handle.getBlockRequests());
+
+		// reading a new block evicts the least recently used one (block 1)
+		handle.seek(950);
+		assertEquals(content[950], handle.readByte());
+		assertEquals(4, handle.getBlockRequests());
+		handle.seek(150);
+		assertEquals(content[150], handle.readByte());
+		assertEquals(5, handle.getBlockRequests());
+		assertEquals(gets, handle.getBlockRequests());
+
+		// reading at the end of the resource
+		handle.seek(990);
+		assertEquals(10, handle.read(new byte[20], 0, 20));
+		assertEquals(-1, handle.read());
+		handle.close();
+	}
+
+	@Test
+	public void testNoRangeSupport() throws IOException {
+		content = randomBytes(1000);
+		rangesSupported = false;
+		final HTTPHandle handle = handle();
+		handle.setBlockSize(128);
+		final byte[] b = new byte[300];
+		handle.seek(500);
+		handle.readFully(b);
+		assertRange(500, b);
+		handle.close();
+	}
+
+	@Test
+	public void testRandomAccess() throws IOException {
+		content = randomBytes(1000);
+		final HTTPHandle ranged = handle();
+		assertTrue(ranged.isRandomAccess());
+		ranged.close();
+
+		rangesSupported = false;
+		final HTTPHandle unranged = handle();
+		assertFalse(unranged.isRandomAccess());
+		unranged.close();
+	}
+
+	@Test
+	public void testNoRangeSupportSequential() throws IOException {
+		content = randomBytes(1000);
+		rangesSupported = false;
+		final HTTPHandle handle = handle();
+		handle.setBlockSize(128);
+		final int before = gets;
+		final byte[] b = new byte[1000];
+		handle.readFully(b);
+		assertRange(0, b);
+		// NB: All blocks are read from a single full download.
+		assertEquals(before + 1, gets);
+		handle.close();
+	}
+
+	@Test
+	public void testModifiedResource() throws IOException {
+		content = randomBytes(500);
+		final HTTPHandle handle = handle();
+		handle.setBlockSize(100);
+		handle.seek(50);
+		assertEquals(content[50], handle.readByte());
+
+		// replace the resource; the next fetch notices the ETag change
+		etag = "\"v2\"";
+		content = randomBytes(500);
+		handle.seek(250);
+		assertEquals(content[250], handle.readByte());
+		assertEquals(etag, handle.checksum());
+
+		// previously cached blocks were discarded
+		handle.seek(50);
+		assertEquals(content[50], handle.readByte());
+		handle.close();
+	}
+
+	@Test
+	public void testReadVectored() throws IOException {
+		content = randomBytes(1000);
+		final Context context = new Context(ThreadService.class);
+		final HTTPHandle handle = handle();
+		handle.setContext(context);
+		handle.setBlockSize(100);
+		handle.seek(10);
+
+		// missing blocks are fetched in parallel, once each
+		final List<ByteRange> ranges = Arrays.asList(new ByteRange(420, 100),
+			new ByteRange(50, 30), new ByteRange(900, 50), new ByteRange(60, 5));
+		final List<CompletableFuture<ByteBuffer>> results = //
+			handle.readVectored(ranges, ByteBuffer::allocate);
+		assertEquals(10, handle.offset());
+		assertEquals(4, handle.getBlockRequests());
+		for (int i = 0; i < ranges.size(); i++) {
+			final ByteBuffer result = results.get(i).join();
+			final byte[] b = new byte[result.remaining()];
+			result.get(b);
+			assertRange((int) ranges.get(i).getOffset(), b);
+		}
+
+		// the fetched blocks were cached
+		handle.seek(430);
+		assertEquals(content[430], handle.readByte());
+		assertEquals(4, handle.getBlockRequests());
+		handle.close();
+		context.dispose();
+	}
+
+	@Test
+	public void testModifiedDuringReadVectored() throws IOException {
+		content = randomBytes(1000);
+		final Context context = new Context(ThreadService.class);
+		final HTTPHandle handle = handle();
+		handle.setContext(context);
+		handle.setBlockSize(100);
+		handle.length();
+
+		// the resource changes after the first of the parallel block requests
+		update = randomBytes(2000);
+		final List<ByteRange> ranges = Arrays.asList(new ByteRange(0, 100),
+			new ByteRange(300, 100), new ByteRange(600, 100));
+		final List<CompletableFuture<ByteBuffer>> results = //
+			handle.readVectored(ranges, ByteBuffer::allocate);
+		assertEquals("\"v2\"", handle.checksum());
+		for (int i = 0; i < ranges.size(); i++) {
+			final ByteBuffer result = results.get(i).join();
+			final byte[] b = new byte[result.remaining()];
+			result.get(b);
+			assertRange((int) ranges.get(i).getOffset(), b);
+		}
+		handle.close();
+		context.dispose();
+	}
+
+	// -- Helper methods --
+
+	private URLLocation location(final String path) throws IOException {
+		final URL url = new URL("http", "127.0.0.1", server.getAddress()
+			.getPort(), path);
+		final URLLocation loc = new URLLocation(url);
+		loc.setTimeout(5000);
+		return loc;
+	}
+
+	private HTTPHandle handle() throws IOException {
+		final HTTPHandle handle = new HTTPHandle();
+		handle.set(location("/data"));
+		return handle;
+	}
+
+	private byte[] readAll(final DataHandle<?> handle) throws IOException {
+		final byte[] b = new byte[(int) handle.length()];
+		handle.readFully(b);
+		return b;
+	}
+
+	private byte[] randomBytes(final int length) {
+		final byte[] b = new byte[length];
+		new Random(length + etag.hashCode()).nextBytes(b);
+		return b;
+	}
+
+	private void assertRange(final int offset, final byte[] b) {
+		final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		expected.write(content, offset, b.length);
+		assertArrayEquals(expected.toByteArray(), b);
+	}
+
+	/** Serves {@link #content}, honoring {@code Range} and {@code If-Range}. */
+	private void serve(final HttpExchange exchange) throws IOException {
+		final byte[] data = content;
+		exchange.getResponseHeaders().set("ETag", etag);
+		exchange.getResponseHeaders().set("Last-Modified",
+			"Fri, 14 Jul 2017 02:40:00 GMT");
+		if ("HEAD".equals(exchange.getRequestMethod())) {
+			if (!headSupported) {
+				exchange.sendResponseHeaders(405, -1);
+				exchange.close();
+				return;
+			}
+			exchange.getResponseHeaders().set("Content-Length", "" + data.length);
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+			return;
+		}
+		gets++;
+		int start = 0, end = data.length - 1, status = 200;
+		final String range = exchange.getRequestHeaders().getFirst("Range");
+		final String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+		final Matcher m = range == null ? null : RANGE.matcher(range);
+		if (rangesSupported && m != null && m.matches() && (ifRange == null ||
+			ifRange.equals(etag)))
+		{
+			start = Integer.parseInt(m.group(1));
+			end = Math.min(Integer.parseInt(m.group(2)), data.length - 1);
+			status = 206;
+			exchange.getResponseHeaders().set("Content-Range", "bytes " + start +
+				"-" + end + "/" + data.length);
+		}
+		final int length = end - start + 1;
+		exchange.sendResponseHeaders(status, length);
+		try (final OutputStream out = exchange.getResponseBody()) {
+			out.write(data, start, length);
+		}
+		final byte[] next = update;
+		if (next != null) {
+			update = null;
+			content = next;
+			etag = "\"v2\"";
+		}
+	}
+
+}
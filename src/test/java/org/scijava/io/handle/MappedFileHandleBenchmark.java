@@ -0,0 +1,98 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.handle;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.Random;
+
+import org.scijava.io.location.FileLocation;
+import org.scijava.test.Benchmark;
+
+/**
+ * Compares the throughput of {@link MappedFileHandle} against
+ * {@link FileHandle} for sequential and random-access primitive reads.
+ * <p>
+ * This is not a unit test; run it manually via its {@code main} method.
+ * </p>
+ */
+public class MappedFileHandleBenchmark {
+
+	private static final int FILE_SIZE = 16 * 1024 * 1024; // 16 MB
+	private static final int RANDOM_READS = 1024 * 1024;
+
+	public static void main(final String[] args) throws Exception {
+		final File file = File.createTempFile("MappedFileHandleBenchmark", ".bin");
+		file.deleteOnExit();
+		try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+			raf.setLength(FILE_SIZE);
+		}
+
+		Benchmark.run(() -> {
+			run("FileHandle", new FileHandle(), file, false);
+			run("MappedFileHandle", new MappedFileHandle(), file, true);
+		});
+	}
+
+	// -- Helper methods --
+
+	private static void run(final String name,
+		final DataHandle<FileLocation> handle, final File file,
+		final boolean mapped) throws Exception
+	{
+		final FileLocation loc = new FileLocation(file);
+		loc.setMemoryMapped(mapped);
+		handle.set(loc);
+
+		final int ints = FILE_SIZE / 4;
+		Benchmark.measure(name + " sequential readInt", ints, "read", () -> {
+			long sum = 0;
+			for (int i = 0; i < ints; i++) {
+				sum += handle.readInt();
+			}
+			return sum;
+		});
+
+		final Random r = new Random(0xdeadbeef);
+		Benchmark.measure(name + " random readLong", RANDOM_READS, "read", () -> {
+			long sum = 0;
+			for (int i = 0; i < RANDOM_READS; i++) {
+				handle.seek(r.nextInt(FILE_SIZE - 8));
+				sum += handle.readLong();
+			}
+			return sum;
+		});
+		handle.close();
+	}
+
+}
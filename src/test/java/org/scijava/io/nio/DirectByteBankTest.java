@@ -0,0 +1,115 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.scijava.io.ByteBank;
+import org.scijava.io.ByteBankTest;
+import org.scijava.io.handle.BytesHandle;
+import org.scijava.io.location.BytesLocation;
+
+/**
+ * Tests {@link DirectByteBank}.
+ *
+ * @see ByteBankTest
+ */
+public class DirectByteBankTest extends ByteBankTest {
+
+	private static final int PAGE_SIZE = 64;
+
+	@Override
+	public ByteBank createByteBank() {
+		return new DirectByteBank(PAGE_SIZE, false);
+	}
+
+	@Test
+	public void testAllocatedBytes() {
+		final DirectByteBank bank = new DirectByteBank(PAGE_SIZE, false);
+		final long total = DirectByteBank.getTotalAllocatedBytes();
+		assertEquals(0, bank.getAllocatedBytes());
+
+		bank.setBytes(0, new byte[PAGE_SIZE + 1], 0, PAGE_SIZE + 1);
+		assertEquals(2 * PAGE_SIZE, bank.getAllocatedBytes());
+		assertEquals(total + 2 * PAGE_SIZE, DirectByteBank.getTotalAllocatedBytes());
+
+		bank.clear();
+		assertEquals(0, bank.getAllocatedBytes());
+		assertEquals(total, DirectByteBank.getTotalAllocatedBytes());
+	}
+
+	@Test
+	public void testRelease() {
+		final DirectByteBank bank = new DirectByteBank(PAGE_SIZE, false);
+		bank.setBytes(0, new byte[3 * PAGE_SIZE], 0, 3 * PAGE_SIZE);
+		assertFalse(bank.isReleased());
+		assertFalse(bank.isReadOnly());
+
+		bank.release();
+		assertTrue(bank.isReleased());
+		assertTrue(bank.isReadOnly());
+		assertEquals(0, bank.size());
+		assertEquals(0, bank.getAllocatedBytes());
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testWriteAfterRelease() {
+		final DirectByteBank bank = new DirectByteBank(PAGE_SIZE, false);
+		bank.release();
+		bank.setByte(0, (byte) 1);
+	}
+
+	@Test
+	public void testReleaseOnHandleClose() {
+		final DirectByteBank owned = new DirectByteBank(PAGE_SIZE, true);
+		closeHandle(owned);
+		assertTrue(owned.isReleased());
+
+		final DirectByteBank shared = new DirectByteBank(PAGE_SIZE, false);
+		closeHandle(shared);
+		assertFalse(shared.isReleased());
+		assertEquals(1, shared.size());
+	}
+
+	// -- Helper methods --
+
+	private void closeHandle(final DirectByteBank bank) {
+		final BytesHandle handle = new BytesHandle();
+		handle.set(new BytesLocation(bank));
+		bank.setByte(0, (byte) 42);
+		handle.close();
+	}
+}
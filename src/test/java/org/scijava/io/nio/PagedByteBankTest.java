@@ -0,0 +1,110 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.io.nio;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.scijava.io.ByteBank;
+import org.scijava.io.ByteBankTest;
+
+/**
+ * Tests {@link PagedByteBank}.
+ *
+ * @see ByteBankTest
+ */
+@RunWith(Parameterized.class)
+public class PagedByteBankTest extends ByteBankTest {
+
+	private static final int PAGE_SIZE = 64;
+
+	@Parameter
+	public Function<Integer, ByteBuffer> supplier;
+
+	@Parameters
+	public static Object[] params() {
+		final Function<Integer, ByteBuffer> alloc = ByteBuffer::allocate;
+		final Function<Integer, ByteBuffer> allocDirect =
+			ByteBuffer::allocateDirect;
+		return new Function[] { alloc, allocDirect };
+	}
+
+	@Override
+	public ByteBank createByteBank() {
+		// NB: Use a tiny page size, so that the tests cross page boundaries.
+		return new PagedByteBank(supplier, PAGE_SIZE);
+	}
+
+	@Test
+	public void testMaxBufferSize() {
+		assertTrue(new PagedByteBank().getMaxBufferSize() > Integer.MAX_VALUE);
+	}
+
+	@Test
+	public void testSetGetAcrossPages() {
+		final ByteBank bank = createByteBank();
+		final byte[] data = new byte[10 * PAGE_SIZE + 7];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (i * 31);
+		}
+		bank.setBytes(0, data, 0, data.length);
+		assertEquals(data.length, bank.size());
+		assertArrayEquals(data, bank.toByteArray());
+
+		// overwrite a range straddling several pages
+		final byte[] patch = new byte[3 * PAGE_SIZE];
+		bank.setBytes(PAGE_SIZE - 5, patch, 0, patch.length);
+		assertEquals(data.length, bank.size());
+		System.arraycopy(patch, 0, data, PAGE_SIZE - 5, patch.length);
+
+		final byte[] actual = new byte[data.length - 3];
+		assertEquals(actual.length, bank.getBytes(3, actual));
+		for (int i = 0; i < actual.length; i++) {
+			assertEquals(data[i + 3], actual[i]);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidPageSize() {
+		new PagedByteBank(100);
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link AsyncLogSink}.
+ */
+public class AsyncLogSinkTest {
+
+	private final LogSource source = LogSource.newRoot();
+
+	@Test
+	public void testOrderedDelivery() throws InterruptedException {
+		final List<String> received = Collections.synchronizedList(
+			new ArrayList<>());
+		final List<Thread> threads = Collections.synchronizedList(
+			new ArrayList<>());
+		final AsyncLogSink sink = new AsyncLogSink(message -> {
+			received.add(message.text());
+			threads.add(Thread.currentThread());
+		}, 16, LogOverflowPolicy.BLOCK, LogLevel.WARN);
+
+		// NB: The buffer is much smaller than the message count, so the logging
+		// thread has to block repeatedly.
+		for (int i = 0; i < 1000; i++) {
+			sink.messageLogged(new LogMessage(source, LogLevel.INFO, i));
+		}
+		sink.flush();
+		assertEquals(1000, received.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals("" + i, received.get(i));
+		}
+		assertTrue(threads.stream().noneMatch(t -> t == Thread.currentThread()));
+		assertEquals(0, sink.droppedCount());
+		sink.close();
+	}
+
+	@Test
+	public void testConcurrentProducers() throws InterruptedException {
+		final List<String> received = Collections.synchronizedList(
+			new ArrayList<>());
+		final AsyncLogSink sink = new AsyncLogSink(message -> received.add(message
+			.text()), 64, LogOverflowPolicy.BLOCK, LogLevel.WARN);
+		final Thread[] producers = new Thread[4];
+		for (int p = 0; p < producers.length; p++) {
+			final int id = p;
+			producers[p] = new Thread(() -> {
+				for (int i = 0; i < 500; i++) {
+					sink.messageLogged(new LogMessage(source, LogLevel.INFO, id + ":" +
+						i));
+				}
+			});
+			producers[p].start();
+		}
+		for (final Thread producer : producers) {
+			producer.join();
+		}
+		sink.close();
+		assertEquals(2000, received.size());
+
+		// messages of each producer arrive in order
+		for (int p = 0; p < producers.length; p++) {
+			final String prefix = p + ":";
+			int next = 0;
+			for (final String text : received) {
+				if (!text.startsWith(prefix)) continue;
+				assertEquals(prefix + next++, text);
+			}
+			assertEquals(500, next);
+		}
+	}
+
+	@Test
+	public void testDropPolicy() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<LogMessage> received = Collections.synchronizedList(
+			new ArrayList<>());
+		final AsyncLogSink sink = new AsyncLogSink(message -> {
+			started.countDown();
+			await(release);
+			received.add(message);
+		}, 4, LogOverflowPolicy.DROP, LogLevel.WARN);
+
+		// occupy the drain thread, then fill the buffer
+		sink.messageLogged(new LogMessage(source, LogLevel.INFO, "first"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		for (int i = 0; i < 4; i++) {
+			sink.messageLogged(new LogMessage(source, LogLevel.INFO, i));
+		}
+		sink.messageLogged(new LogMessage(source, LogLevel.ERROR, "lost"));
+		sink.messageLogged(new LogMessage(source, LogLevel.DEBUG, "lost"));
+		sink.messageLogged(new LogMessage(source, LogLevel.DEBUG, "lost"));
+
+		assertEquals(3, sink.droppedCount());
+		assertEquals(1, sink.droppedCount(LogLevel.ERROR));
+		assertEquals(2, sink.droppedCount(LogLevel.DEBUG));
+		assertEquals(0, sink.droppedCount(LogLevel.INFO));
+
+		release.countDown();
+		sink.close();
+		assertEquals(5, received.size());
+	}
+
+	@Test
+	public void testDropBelowLevelPolicy() throws InterruptedException {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<LogMessage> received = Collections.synchronizedList(
+			new ArrayList<>());
+		final AsyncLogSink sink = new AsyncLogSink(message -> {
+			started.countDown();
+			await(release);
+			received.add(message);
+		}, 2, LogOverflowPolicy.DROP_BELOW_LEVEL, LogLevel.WARN);
+
+		sink.messageLogged(new LogMessage(source, LogLevel.INFO, "first"));
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		sink.messageLogged(new LogMessage(source, LogLevel.INFO, "a"));
+		sink.messageLogged(new LogMessage(source, LogLevel.INFO, "b"));
+
+		// buffer is full: verbose messages are dropped...
+		sink.messageLogged(new LogMessage(source, LogLevel.INFO, "lost"));
+		sink.messageLogged(new LogMessage(source, LogLevel.DEBUG, "lost"));
+		assertEquals(2, sink.droppedCount());
+
+		// ...while errors wait for room
+		final Thread errorLogger = new Thread(() -> sink.messageLogged(
+			new LogMessage(source, LogLevel.ERROR, "kept")));
+		errorLogger.start();
+		errorLogger.join(100);
+		assertTrue(errorLogger.isAlive());
+
+		release.countDown();
+		errorLogger.join();
+		sink.close();
+		assertEquals(2, sink.droppedCount());
+		assertEquals(4, received.size());
+		assertEquals("kept", received.get(3).text());
+	}
+
+	@Test
+	public void testAsyncLogService() {
+		final Properties properties = new Properties();
+		properties.setProperty(LogService.LOG_ASYNC_PROPERTY, "drop-below-level");
+		final TestLogService log = new TestLogService(properties);
+		final TestLogListener listener = new TestLogListener();
+		log.addLogListener(listener);
+
+		final AsyncLogSink sink = log.getAsyncSink();
+		assertNotNull(sink);
+		assertEquals(LogOverflowPolicy.DROP_BELOW_LEVEL, sink.policy());
+
+		log.warn("Hello");
+		log.subLogger("sub").error("World");
+		sink.flush();
+		assertEquals(2, log.messages.size());
+		assertTrue(listener.hasLogged(m -> m.text().equals("World")));
+
+		log.dispose();
+		assertNull(log.getAsyncSink());
+		log.warn("Sync");
+		assertEquals(3, log.messages.size());
+	}
+
+	// -- Helper methods --
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (final InterruptedException exc) {
+			throw new IllegalStateException(exc);
+		}
+	}
+
+	// -- Helper classes --
+
+	private static class TestLogService extends AbstractLogService {
+
+		private final List<String> messages = Collections.synchronizedList(
+			new ArrayList<>());
+
+		public TestLogService(final Properties properties) {
+			super(properties);
+		}
+
+		@Override
+		protected void messageLogged(final LogMessage message) {
+			messages.add(message.text());
+		}
+	}
+
+}
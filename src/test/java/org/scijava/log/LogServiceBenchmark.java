@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.log;
+
+import org.scijava.test.Benchmark;
+
+/**
+ * Measures the cost of filtered-out log calls when a per-class log level is
+ * configured, which requires {@link AbstractLogService#getLevel()} to
+ * determine the calling class. The former approach of scanning a full stack
+ * trace is included as a baseline.
+ * <p>
+ * This is not a unit test; run it manually via its {@code main} method.
+ * </p>
+ */
+public class LogServiceBenchmark {
+
+	private static final int CALLS = 1000000;
+
+	public static void main(final String[] args) throws Exception {
+		final LogService log = new AbstractLogService() {
+
+			@Override
+			protected void messageLogged(final LogMessage message) {
+				System.out.println(message);
+			}
+		};
+		log.setLevel(LogLevel.INFO);
+		log.setLevel("org.scijava.nonexistent", LogLevel.TRACE);
+
+		Benchmark.run(() -> {
+			Benchmark.measure("stack trace baseline", CALLS, "call", () -> {
+				int sum = 0;
+				for (int c = 0; c < CALLS; c++) {
+					sum += stackTraceCallingClass().getName().length();
+				}
+				return sum;
+			});
+			Benchmark.measure("log.debug (filtered)", CALLS, "call", () -> {
+				for (int c = 0; c < CALLS; c++) {
+					log.debug("filtered out");
+				}
+				return 0;
+			});
+		});
+	}
+
+	// -- Helper methods --
+
+	/** The calling class lookup as formerly done by {@link CallingClassUtils}. */
+	private static Class<?> stackTraceCallingClass() {
+		try {
+			StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+			for (int i = 1; i < stackTrace.length - 1; i++) {
+				Class<?> clazz = Class.forName(stackTrace[i].getClassName());
+				if (!clazz.isAnnotationPresent(IgnoreAsCallingClass.class))
+					return clazz;
+			}
+		}
+		catch (ClassNotFoundException ignore) {}
+		throw new IllegalStateException();
+	}
+
+}
@@ -147,6 +147,24 @@ public class LogServiceTest {
 		assertEquals(LogLevel.ERROR, level);
 	}
 
+	@Test
+	public void testClassLogLevelChanges() {
+		final TestableLogService log = new TestableLogService();
+		log.setLevel(LogLevel.DEBUG);
+		log.setLevel(Dummy.class.getName(), LogLevel.ERROR);
+		assertEquals(LogLevel.ERROR, Dummy.getLevel(log));
+		assertEquals(LogLevel.DEBUG, log.getLevel());
+
+		// changed levels must not be masked by previously resolved ones
+		log.setLevel(Dummy.class.getName(), LogLevel.TRACE);
+		assertEquals(LogLevel.TRACE, Dummy.getLevel(log));
+		log.setLevel(getClass().getPackage().getName(), LogLevel.WARN);
+		assertEquals(LogLevel.TRACE, Dummy.getLevel(log));
+		assertEquals(LogLevel.WARN, log.getLevel());
+		log.setLevel(LogLevel.INFO);
+		assertEquals(LogLevel.WARN, log.getLevel());
+	}
+
 	@Test
 	public void testClassLogLevelViaProperties() {
 		Properties properties = new Properties();
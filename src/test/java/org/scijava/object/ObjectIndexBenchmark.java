@@ -0,0 +1,127 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.object;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.scijava.test.Benchmark;
+
+/**
+ * Measures the throughput of concurrent {@link ObjectIndex#get(Class)} calls,
+ * with and without a writer adding objects to the index at the same time.
+ * <p>
+ * This is not a unit test; run it manually via its {@code main} method.
+ * </p>
+ */
+public class ObjectIndexBenchmark {
+
+	private static final int OBJECTS = 1000;
+	private static final int MILLIS = 1000;
+
+	private static final Class<?>[] TYPES = { Integer.class, Number.class,
+		Comparable.class, Object.class, String.class, CharSequence.class };
+
+	public static void main(final String[] args) throws Exception {
+		final int cores = Runtime.getRuntime().availableProcessors();
+		Benchmark.run(() -> {
+			for (int threads = 1; threads <= cores; threads *= 2) {
+				run(threads, false);
+				run(threads, true);
+			}
+		});
+	}
+
+	// -- Helper methods --
+
+	private static void run(final int threads, final boolean writer)
+		throws InterruptedException
+	{
+		final ObjectIndex<Object> index = new ObjectIndex<>(Object.class);
+		final List<Object> objects = new ArrayList<>();
+		for (int i = 0; i < OBJECTS; i++) {
+			objects.add(i % 2 == 0 ? (Object) i : "" + i);
+		}
+		index.addAll(objects);
+
+		final LongAdder reads = new LongAdder();
+		final CountDownLatch start = new CountDownLatch(1);
+		final long[] end = new long[1];
+		final List<Thread> workers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			workers.add(new Thread(() -> {
+				await(start);
+				long count = 0, sum = 0;
+				while (System.nanoTime() < end[0]) {
+					for (final Class<?> type : TYPES) {
+						sum += index.get(type).size();
+					}
+					count += TYPES.length;
+				}
+				reads.add(count + (sum < 0 ? 1 : 0));
+			}));
+		}
+		if (writer) {
+			workers.add(new Thread(() -> {
+				await(start);
+				int i = OBJECTS;
+				while (System.nanoTime() < end[0]) {
+					index.add(i++);
+				}
+			}));
+		}
+		for (final Thread worker : workers) {
+			worker.start();
+		}
+		end[0] = System.nanoTime() + MILLIS * 1000000L;
+		start.countDown();
+		for (final Thread worker : workers) {
+			worker.join();
+		}
+
+		Benchmark.report(threads + " reader(s)" + (writer ? " + writer" : ""), //
+			reads.sum(), "get(type) call", MILLIS * 1000000L, index.size());
+	}
+
+	private static void await(final CountDownLatch latch) {
+		try {
+			latch.await();
+		}
+		catch (final InterruptedException exc) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -37,8 +37,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -223,4 +225,74 @@ public class ObjectIndexTest {
 		assertArrayEquals(expected, actual);
 	}
 
+	@Test
+	public void testSnapshot() {
+		final ObjectIndex<Object> objectIndex =
+			new ObjectIndex<>(Object.class);
+		final Object o1 = new Integer(5);
+		final Object o2 = new Integer(3);
+		objectIndex.add(o1);
+		final List<Object> before = objectIndex.get(Integer.class);
+		try {
+			before.add(o2);
+			fail("Snapshot is modifiable");
+		}
+		catch (final UnsupportedOperationException exc) {
+			// NB: Expected.
+		}
+		objectIndex.add(o2);
+		assertEquals(Arrays.asList(o1), before);
+		assertEquals(Arrays.asList(o1, o2), objectIndex.get(Integer.class));
+		assertTrue(objectIndex.get(String.class).isEmpty());
+	}
+
+	@Test
+	public void testAddLater() {
+		final ObjectIndex<Object> objectIndex =
+			new ObjectIndex<>(Object.class);
+		final Object o1 = new Integer(5);
+		final Object o2 = new Float(2.5f);
+		objectIndex.add(o1);
+		objectIndex.addLater(() -> Arrays.asList(o2));
+		assertEquals(Arrays.asList(o1, o2), objectIndex.getAll());
+		assertEquals(Arrays.asList(o2), objectIndex.get(Float.class));
+	}
+
+	@Test
+	public void testRetrieveListOutsideModify() {
+		final ObjectIndex<Object> objectIndex =
+			new ObjectIndex<Object>(Object.class)
+			{
+
+				@Override
+				public boolean add(final Object o) {
+					return retrieveList(Integer.class).add(o);
+				}
+			};
+		try {
+			objectIndex.add(new Integer(5));
+			fail("Type list is modifiable outside of modify()");
+		}
+		catch (final IllegalStateException exc) {
+			assertTrue(exc.getMessage().contains("modify"));
+		}
+		assertTrue(objectIndex.get(Integer.class).isEmpty());
+	}
+
+	@Test
+	public void testRetrieveListWithinModify() {
+		final ObjectIndex<Object> objectIndex =
+			new ObjectIndex<Object>(Object.class)
+			{
+
+				@Override
+				public boolean add(final Object o) {
+					return modify(() -> retrieveList(Integer.class).add(o));
+				}
+			};
+		final Object o = new Integer(5);
+		assertTrue(objectIndex.add(o));
+		assertEquals(Arrays.asList(o), objectIndex.get(Integer.class));
+	}
+
 }
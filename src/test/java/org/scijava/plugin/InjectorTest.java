@@ -0,0 +1,277 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.plugin;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.annotations.AnnotationProcessor;
+import org.scijava.log.LogService;
+import org.scijava.log.StderrLogService;
+import org.scijava.test.TestUtils;
+import org.scijava.util.FileUtils;
+import org.scijava.util.Types;
+
+/**
+ * Tests {@link Injector}.
+ */
+public class InjectorTest {
+
+	private File tmpDir;
+
+	@Before
+	public void setUp() throws IOException {
+		tmpDir = TestUtils.createTemporaryDirectory("injector-");
+	}
+
+	@After
+	public void tearDown() {
+		FileUtils.deleteRecursively(tmpDir);
+	}
+
+	/** Tests the reflective injector of a class without a generated one. */
+	@Test
+	public void testReflective() throws Exception {
+		final Injector<Reflective> injector = Injector.of(Reflective.class);
+		assertFalse(injector.isGenerated());
+		assertSame(injector, Injector.of(Reflective.class));
+
+		final Reflective reflective = injector.newInstance();
+		final List<ParameterField> fields = injector.getParameterFields();
+		assertFields(fields, "context", "log");
+		assertTrue(fields.get(0).isRequired());
+		assertFalse(fields.get(1).isRequired());
+		assertSame(LogService.class, fields.get(1).getType());
+
+		final Context context = new Context(true);
+		fields.get(0).set(reflective, context);
+		assertSame(context, reflective.context);
+		assertSame(context, fields.get(0).get(reflective));
+		assertNull(fields.get(1).get(reflective));
+		context.dispose();
+	}
+
+	/**
+	 * Tests the injector generated by the {@link AnnotationProcessor}, which
+	 * accesses fields directly where possible, and reflectively otherwise.
+	 */
+	@Test
+	public void testGenerated() throws Exception {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assumeNotNull(compiler);
+
+		final File src = new File(tmpDir, "src");
+		final File classes = new File(tmpDir, "classes");
+		assertTrue(new File(src, "gen").mkdirs());
+		assertTrue(classes.mkdirs());
+		write(new File(src, "gen/Base.java"), //
+			"package gen;", //
+			"public class Base {", //
+			"  @org.scijava.plugin.Parameter protected org.scijava.Context context;", //
+			"}");
+		write(new File(src, "gen/Generated.java"), //
+			"package gen;", //
+			"import org.scijava.log.LogService;", //
+			"import org.scijava.plugin.*;", //
+			"@Plugin(type = SciJavaPlugin.class)", //
+			"public class Generated extends Base implements SciJavaPlugin {", //
+			"  @Parameter LogService log;", //
+			"  @Parameter(required = false) private LogService hidden;", //
+			"  @Parameter int count;", //
+			"  public LogService hidden() { return hidden; }", //
+			"}");
+
+		final String classPath = FileUtils.urlToFile(Types.location(
+			Plugin.class)).getPath();
+		final int result = compiler.run(null, null, null, "-classpath", classPath,
+			"-processor", AnnotationProcessor.class.getName(), "-d", classes
+				.getPath(), new File(src, "gen/Base.java").getPath(), new File(src,
+					"gen/Generated.java").getPath());
+		assertEquals(0, result);
+		assertTrue(new File(classes, "gen/Generated" + Injector.SUFFIX +
+			".class").exists());
+		assertFalse(new File(classes, "gen/Base" + Injector.SUFFIX + ".class")
+			.exists());
+
+		try (final URLClassLoader loader = new URLClassLoader(new URL[] { classes
+			.toURI().toURL() }, getClass().getClassLoader()))
+		{
+			final Class<?> c = loader.loadClass("gen.Generated");
+			final Injector<?> injector = Injector.of(c);
+			assertTrue(injector.isGenerated());
+			assertSame(c, injector.getType());
+
+			final Object instance = injector.newInstance();
+			assertSame(c, instance.getClass());
+
+			final List<ParameterField> fields = injector.getParameterFields();
+			assertFields(fields, "context", "log", "hidden", "count");
+			assertEquals(Arrays.asList(true, true, false, true), required(fields));
+			assertSame(Context.class, fields.get(0).getType());
+			assertSame(LogService.class, fields.get(1).getType());
+			assertSame(int.class, fields.get(3).getType());
+
+			final Context context = new Context(true);
+			fields.get(0).set(instance, context);
+			assertSame(context, fields.get(0).get(instance));
+			final LogService log = new StderrLogService();
+			fields.get(1).set(instance, log);
+			assertSame(log, fields.get(1).get(instance));
+			fields.get(2).set(instance, log);
+			assertSame(log, c.getMethod("hidden").invoke(instance));
+			assertEquals(0, fields.get(3).get(instance));
+			context.dispose();
+		}
+	}
+
+	/**
+	 * Tests that a generated injector picks up {@link Parameter} fields added to
+	 * a superclass after the plugin was compiled.
+	 */
+	@Test
+	public void testGeneratedInheritance() throws Exception {
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assumeNotNull(compiler);
+
+		final File src = new File(tmpDir, "src");
+		final File classes = new File(tmpDir, "classes");
+		assertTrue(new File(src, "gen").mkdirs());
+		assertTrue(classes.mkdirs());
+		final File base = new File(src, "gen/Base.java");
+		write(base, //
+			"package gen;", //
+			"public abstract class Base {", //
+			"  @org.scijava.plugin.Parameter protected org.scijava.Context context;", //
+			"}");
+		final File sub = new File(src, "gen/Sub.java");
+		write(sub, //
+			"package gen;", //
+			"import org.scijava.plugin.*;", //
+			"@Plugin(type = SciJavaPlugin.class)", //
+			"public class Sub extends Base implements SciJavaPlugin {", //
+			"  @Parameter org.scijava.log.LogService log;", //
+			"}");
+
+		final String classPath = FileUtils.urlToFile(Types.location(
+			Plugin.class)).getPath();
+		assertEquals(0, compiler.run(null, null, null, "-classpath", classPath,
+			"-processor", AnnotationProcessor.class.getName(), "-d", classes
+				.getPath(), base.getPath(), sub.getPath()));
+
+		// a newer version of the superclass gains a parameter
+		write(base, //
+			"package gen;", //
+			"public abstract class Base {", //
+			"  @org.scijava.plugin.Parameter protected org.scijava.Context context;", //
+			"  @org.scijava.plugin.Parameter protected org.scijava.thread.ThreadService threadService;", //
+			"}");
+		assertEquals(0, compiler.run(null, null, null, "-classpath", classPath +
+			File.pathSeparator + classes.getPath(), "-proc:none", "-d", classes
+				.getPath(), base.getPath()));
+
+		try (final URLClassLoader loader = new URLClassLoader(new URL[] { classes
+			.toURI().toURL() }, getClass().getClassLoader()))
+		{
+			final Injector<?> injector = Injector.of(loader.loadClass("gen.Sub"));
+			assertTrue(injector.isGenerated());
+			assertFields(injector.getParameterFields(), "context", "threadService",
+				"log");
+		}
+	}
+
+	// -- Helper methods --
+
+	private static void write(final File file, final String... lines)
+		throws IOException
+	{
+		Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+	}
+
+	private static void assertFields(final List<ParameterField> fields,
+		final String... names)
+	{
+		final List<String> actual = new ArrayList<>();
+		for (final ParameterField f : fields) {
+			actual.add(f.getName());
+		}
+		assertEquals(Arrays.asList(names), actual);
+	}
+
+	private static List<Boolean> required(final List<ParameterField> fields) {
+		final List<Boolean> required = new ArrayList<>();
+		for (final ParameterField f : fields) {
+			required.add(f.isRequired());
+		}
+		return required;
+	}
+
+	// -- Helper classes --
+
+	/** A class whose superclass also has a {@link Parameter} field. */
+	public static class Reflective extends ReflectiveBase {
+
+		@Parameter(required = false)
+		private LogService log;
+
+	}
+
+	/** A class with a {@link Parameter} field. */
+	public static class ReflectiveBase {
+
+		@Parameter
+		protected Context context;
+
+	}
+
+}
@@ -32,13 +32,19 @@
 package org.scijava.task;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.scijava.Context;
+import org.scijava.event.EventHandler;
+import org.scijava.event.EventService;
+import org.scijava.task.event.TaskEvent;
+import org.scijava.thread.ThreadService;
 
 /**
  * Tests {@link TaskService}.
@@ -51,7 +57,7 @@ public class TaskServiceTest {
 
 	@Before
 	public void setUp() {
-		final Context ctx = new Context(TaskService.class);
+		final Context ctx = new Context(TaskService.class, EventService.class);
 		taskService = ctx.service(TaskService.class);
 	}
 
@@ -73,4 +79,86 @@ public class TaskServiceTest {
 		task.waitFor();
 		assertEquals(100, result[0]);
 	}
+
+	@Test
+	public void testTaskWithoutEvents() throws InterruptedException,
+		ExecutionException
+	{
+		final ThreadService threadService = //
+			taskService.context().service(ThreadService.class);
+		final Task task = new DefaultTask(threadService, null);
+		task.run(() -> {
+			task.setStatusMessage("Hello");
+			task.setProgressValue(5);
+		});
+		task.waitFor();
+		assertEquals("Hello", task.getStatusMessage());
+		assertEquals(5, task.getProgressValue());
+	}
+
+	@Test
+	public void testEventCoalescing() throws InterruptedException,
+		ExecutionException
+	{
+		taskService.setEventInterval(1, TimeUnit.HOURS);
+		final TaskEventCounter counter = new TaskEventCounter();
+		taskService.context().service(EventService.class).subscribe(counter);
+
+		final int max = 100000;
+		final Task task = taskService.createTask("progress");
+		task.run(() -> {
+			task.setProgressMaximum(max);
+			for (int i = 1; i <= max; i++) {
+				task.setProgressValue(i);
+			}
+		});
+		task.waitFor();
+
+		// first update and final state only
+		assertEquals(2, counter.count);
+		assertEquals(max, counter.lastValue);
+	}
+
+	@Test
+	public void testTrailingEvent() throws InterruptedException,
+		ExecutionException
+	{
+		taskService.setEventInterval(50, TimeUnit.MILLISECONDS);
+		final TaskEventCounter counter = new TaskEventCounter();
+		taskService.context().service(EventService.class).subscribe(counter);
+
+		final Task task = taskService.createTask("status");
+		task.run(() -> {
+			for (int i = 0; i < 1000; i++) {
+				task.setStatusMessage("Step " + i);
+			}
+		});
+		task.waitFor();
+
+		// the latest state is delivered at the end of the interval
+		final long deadline = System.currentTimeMillis() + 5000;
+		while (!"Step 999".equals(counter.lastStatus) && //
+			System.currentTimeMillis() < deadline)
+		{
+			Thread.sleep(10);
+		}
+		assertEquals("Step 999", counter.lastStatus);
+		assertTrue(counter.count < 1000);
+	}
+
+	// -- Helper classes --
+
+	public static class TaskEventCounter {
+
+		private volatile int count;
+		private volatile long lastValue;
+		private volatile String lastStatus;
+
+		@EventHandler
+		public void onEvent(final TaskEvent evt) {
+			count++;
+			lastValue = evt.getTask().getProgressValue();
+			lastStatus = evt.getTask().getStatusMessage();
+		}
+	}
 }
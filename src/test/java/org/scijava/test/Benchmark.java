@@ -0,0 +1,103 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.test;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A minimal harness for the {@code main}-method benchmarks among the tests.
+ * <p>
+ * A benchmark {@link #run runs} its rounds several times, so that later
+ * iterations show the steady state once the JIT compiler has warmed up, and
+ * {@link #measure measures} each case of a round. Each case returns a value
+ * derived from its work, which is printed along with the timing so that the
+ * work cannot be optimized away.
+ * </p>
+ */
+public final class Benchmark {
+
+	/** Number of times each round is run. */
+	public static final int ITERATIONS = 3;
+
+	private Benchmark() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/** A round of a benchmark, comprising one or more measured cases. */
+	public interface Round {
+
+		void run() throws Exception;
+	}
+
+	/** Runs the given round {@link #ITERATIONS} times. */
+	public static void run(final Round round) throws Exception {
+		for (int i = 0; i < ITERATIONS; i++) {
+			System.out.println("-- Iteration #" + (i + 1) + " --");
+			round.run();
+		}
+	}
+
+	/**
+	 * Times the given case, and reports its result.
+	 *
+	 * @param name The name of the case.
+	 * @param ops The number of operations the case performs.
+	 * @param unit The name of a single operation, e.g. "call".
+	 * @param task The work to time, returning a value derived from its work.
+	 */
+	public static void measure(final String name, final long ops,
+		final String unit, final Callable<?> task) throws Exception
+	{
+		final long start = System.nanoTime();
+		final Object check = task.call();
+		report(name, ops, unit, System.nanoTime() - start, check);
+	}
+
+	/**
+	 * Reports the result of a case timed by the caller.
+	 *
+	 * @param name The name of the case.
+	 * @param ops The number of operations the case performed.
+	 * @param unit The name of a single operation, e.g. "call".
+	 * @param elapsed The time taken, in nanoseconds.
+	 * @param check A value derived from the work done.
+	 */
+	public static void report(final String name, final long ops,
+		final String unit, final long elapsed, final Object check)
+	{
+		System.out.println(name + ": " + ops + " " + unit + "s = " + elapsed /
+			1000000 + " ms (" + elapsed / Math.max(ops, 1) + " ns/" + unit + ") [" +
+			check + "]");
+	}
+
+}
@@ -0,0 +1,186 @@
+/*
+ * #%L
+ * SciJava Common shared library for SciJava software.
+ * %%
+ * Copyright (C) 2009 - 2017 Board of Regents of the University of
+ * Wisconsin-Madison, Broad Institute of MIT and Harvard, Max Planck
+ * Institute of Molecular Cell Biology and Genetics, University of
+ * Konstanz, and KNIME GmbH.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.log.LogService;
+import org.scijava.test.TestUtils;
+import org.scijava.thread.ThreadService;
+import org.scijava.util.StartupTrace.Event;
+import org.scijava.util.StartupTrace.Span;
+
+/**
+ * Tests {@link StartupTrace}.
+ */
+public class StartupTraceTest {
+
+	@After
+	public void tearDown() {
+		StartupTrace.setActive(null);
+		System.clearProperty(Context.TRACE_PROPERTY);
+	}
+
+	@Test
+	public void testInactive() {
+		assertNull(StartupTrace.getActive());
+		final StartupTrace trace = new StartupTrace();
+		try (final Span span = StartupTrace.trace("test", "inactive")) {
+			// NB: Nothing to record.
+		}
+		assertTrue(trace.getEvents().isEmpty());
+	}
+
+	@Test
+	public void testSpans() throws IOException {
+		final StartupTrace trace = new StartupTrace();
+		StartupTrace.setActive(trace);
+		assertSame(trace, StartupTrace.getActive());
+		try (final Span outer = StartupTrace.trace("test", "outer")) {
+			try (final Span inner = StartupTrace.trace("test", "\"inner\"")) {
+				// NB: Nothing to do.
+			}
+		}
+		StartupTrace.setActive(null);
+		try (final Span span = StartupTrace.trace("test", "ignored")) {
+			// NB: Not recorded, since the trace is no longer active.
+		}
+
+		final List<Event> events = trace.getEvents();
+		assertEquals(2, events.size());
+		final Event inner = events.get(0);
+		final Event outer = events.get(1);
+		assertEquals("\"inner\"", inner.getName());
+		assertEquals("outer", outer.getName());
+		assertEquals("test", outer.getCategory());
+		assertEquals(Thread.currentThread().getId(), outer.getThreadID());
+		assertTrue(outer.getStart() <= inner.getStart());
+		assertTrue(outer.getStart() + outer.getDuration() >= inner.getStart() +
+			inner.getDuration());
+
+		final StringBuilder json = new StringBuilder();
+		trace.writeJSON(json);
+		final String s = json.toString();
+		assertTrue(s.startsWith("{\"traceEvents\":["));
+		assertTrue(s.contains("\"name\":\"thread_name\",\"ph\":\"M\""));
+		assertTrue(s.contains("{\"name\":\"outer\",\"cat\":\"test\",\"ph\":\"X\""));
+		assertTrue(s.contains("{\"name\":\"\\\"inner\\\"\",\"cat\":\"test\""));
+	}
+
+	@Test
+	public void testThreadConfinement() throws InterruptedException {
+		final StartupTrace trace = new StartupTrace();
+		StartupTrace.setActive(trace);
+		final Thread unrelated = new Thread(() -> {
+			assertNull(StartupTrace.getActive());
+			try (final Span span = StartupTrace.trace("test", "unrelated")) {
+				// NB: Not recorded, since no trace is active on this thread.
+			}
+		});
+		final Thread bound = new Thread(StartupTrace.bind(() -> {
+			try (final Span span = StartupTrace.trace("test", "bound")) {
+				// NB: Recorded, since the task was bound to the trace.
+			}
+		}));
+		unrelated.start();
+		bound.start();
+		unrelated.join();
+		bound.join();
+		StartupTrace.setActive(null);
+
+		final List<Event> events = trace.getEvents();
+		assertEquals(1, events.size());
+		assertEquals("bound", events.get(0).getName());
+		assertEquals(bound.getId(), events.get(0).getThreadID());
+	}
+
+	@Test
+	public void testContext() throws IOException {
+		final File dir = TestUtils.createTemporaryDirectory("startup-trace-");
+		final File file = new File(dir, "trace.json");
+		System.setProperty(Context.TRACE_PROPERTY, file.getPath());
+		final Context context = new Context(LogService.class);
+		assertNull(StartupTrace.getActive());
+		assertTrue(file.exists());
+
+		final String json = new String(Files.readAllBytes(file.toPath()),
+			StandardCharsets.UTF_8);
+		assertTrue(json.contains("\"name\":\"Context\",\"cat\":\"context\""));
+		assertTrue(json.contains("\"name\":\"Plugin discovery\""));
+		assertTrue(json.contains("\"cat\":\"index\""));
+		assertTrue(json.contains("\"name\":\"initialize\",\"cat\":\"service\""));
+		final String logService = context.getService(LogService.class).getClass()
+			.getName();
+		assertTrue(json.contains("\"name\":\"" + logService + "\""));
+		context.dispose();
+		FileUtils.deleteRecursively(dir);
+	}
+
+	@Test
+	public void testParallelContext() throws IOException {
+		final File dir = TestUtils.createTemporaryDirectory("startup-trace-");
+		final File file = new File(dir, "trace.json");
+		System.setProperty(Context.TRACE_PROPERTY, file.getPath());
+		System.setProperty(Context.PARALLEL_PROPERTY, "true");
+		final Context context;
+		try {
+			context = new Context(LogService.class, ThreadService.class);
+		}
+		finally {
+			System.clearProperty(Context.PARALLEL_PROPERTY);
+		}
+
+		// NB: The phases are named the same as when loading sequentially.
+		final String json = new String(Files.readAllBytes(file.toPath()),
+			StandardCharsets.UTF_8);
+		assertTrue(json.contains(
+			"\"name\":\"registerEventHandlers\",\"cat\":\"service\""));
+		assertFalse(json.contains("\"name\":\"registerEventHandlers "));
+		context.dispose();
+		FileUtils.deleteRecursively(dir);
+	}
+
+}